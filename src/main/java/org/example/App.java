@@ -1,19 +1,29 @@
 package org.example;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.example.entity.Customer;
+import org.example.entity.EndPoint;
 import org.example.entity.google.CalendarEvent;
-import org.example.entity.google.DistanceGoogleMatrix;
-import org.example.entity.zoho.contacts.ZohoContactRequest;
-import org.example.entity.zoho.contacts.ZohoContactResponse;
-import org.example.entity.zoho.estimate.LineItem;
-import org.example.entity.zoho.estimate.ZohoEstimateRequest;
-import org.example.entity.zoho.estimate.ZohoEstimateResponse;
-import org.example.processor.GoogleEventParser;
+import org.example.pipeline.EventPipeline;
+import org.example.processor.*;
+import org.example.service.AccessTokenProvider;
+import org.example.service.EventDeduplicationStore;
 import org.example.service.OAuthTokenRefresher;
+import org.example.service.aws.DynamoDbBatchWriter;
 import org.example.service.aws.DynamoDbEventDeduplicationService;
+import org.example.service.aws.EventFingerprintSet;
+import org.example.service.dedup.MappedEventDeduplicationStore;
+import org.example.service.google.ChangedEvents;
+import org.example.service.google.FileSyncTokenStore;
 import org.example.service.google.GoogleCalendarService;
 import org.example.service.google.GoogleRouteService;
+import org.example.service.ratelimit.RateGovernor;
+import org.example.service.ratelimit.RateLimit;
+import org.example.service.route.CachingRouteService;
+import org.example.service.route.DayRoute;
+import org.example.service.route.RouteCacheStore;
+import org.example.service.route.RoutePlanner;
+import org.example.service.route.Visit;
+import org.example.service.zoho.ZohoContactIndex;
 import org.example.service.zoho.ZohoContactService;
 import org.example.service.zoho.ZohoEstimateService;
 import org.example.utils.*;
@@ -22,11 +32,20 @@ import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 import java.io.InputStream;
 import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Clock;
 import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 // сходить в базу данных и проверить обработан ли event
 // обратиться в google map и посчитать расстояние от работы до клиента и обратно
@@ -37,10 +56,46 @@ import java.util.Optional;
 
 public class App {
     private static final Logger logger = org.slf4j.LoggerFactory.getLogger(App.class);
-    public static final String ITEM_ID = "5971371000000098023";
-    public static final double KM_TO_MILES_COEFFICIENT = 0.000621371;
     public static final String TABLE_NAME = "ProcessedGoogleCalendarEvents_ZohoIntegration";
     public static final int TTL_DAYS = 30;
+    public static final String PROCESSING_MODE_PROPERTY = "app.processing.mode";
+    public static final String PROCESSING_MODE_CONCURRENT = "concurrent";
+    public static final String PROCESSING_MODE_PIPELINE = "pipeline";
+    public static final String PIPELINE_QUEUE_CAPACITY_PROPERTY = "app.pipeline.queue.capacity";
+    public static final String JOURNAL_PATH_PROPERTY = "app.journal.path";
+    public static final String DEFAULT_JOURNAL_PATH = "journal/stage-checkpoints.journal";
+    public static final String CALENDAR_IDS_PROPERTY = "app.calendar.ids";
+    public static final String CALENDAR_IDS_SELECTED = "selected";
+    public static final String CALENDAR_QUERY_PROPERTY = "app.calendar.query";
+    public static final String CALENDAR_SYNC_PROPERTY = "app.calendar.sync";
+    public static final String CALENDAR_SYNC_INCREMENTAL = "incremental";
+    public static final String SYNC_TOKEN_PATH_PROPERTY = "app.calendar.sync.token.path";
+    public static final String DEFAULT_SYNC_TOKEN_PATH = "journal/calendar-sync-tokens.properties";
+    public static final String ROUTE_CACHE_PATH_PROPERTY = "app.route.cache.path";
+    public static final String DEFAULT_ROUTE_CACHE_PATH = "journal/route-cache.jsonl";
+    public static final String ROUTE_CACHE_SIZE_PROPERTY = "app.route.cache.size";
+    public static final String ROUTE_CACHE_TTL_DAYS_PROPERTY = "app.route.cache.ttl.days";
+    public static final String ROUTE_PLAN_PROPERTY = "app.route.plan";
+    public static final String CONTACT_INDEX_PATH_PROPERTY = "app.zoho.contacts.index.path";
+    public static final String DEFAULT_CONTACT_INDEX_PATH = "journal/zoho-contacts.json";
+    public static final String MAPS_CONCURRENCY_PROPERTY = "app.concurrency.maps";
+    public static final String ZOHO_CONCURRENCY_PROPERTY = "app.concurrency.zoho";
+    public static final String DYNAMODB_CONCURRENCY_PROPERTY = "app.concurrency.dynamodb";
+    public static final String DEDUP_WARMUP_PROPERTY = "app.dedup.warmup";
+    public static final String DEDUP_BATCH_DELAY_MS_PROPERTY = "app.dedup.batch.delay.ms";
+    public static final String DEDUP_STORE_PROPERTY = "app.dedup.store";
+    public static final String DEDUP_STORE_LOCAL = "local";
+    public static final String DEDUP_LOCAL_PATH_PROPERTY = "app.dedup.local.path";
+    public static final String DEFAULT_DEDUP_LOCAL_PATH = "journal/processed-events.dedup";
+    public static final String ZOHO_RATE_PER_MINUTE_PROPERTY = "app.rate.zoho.per.minute";
+    public static final String CALENDAR_RATE_QPS_PROPERTY = "app.rate.calendar.qps";
+    public static final String MAPS_RATE_QPS_PROPERTY = "app.rate.maps.qps";
+    // binds whole Distance Matrix and contact responses instead of the fields the app reads, for debugging
+    public static final String JSON_FULL_BINDING_PROPERTY = "app.json.full.binding";
+    // Zoho Invoice allows 100 requests per minute per organisation
+    public static final int DEFAULT_ZOHO_RATE_PER_MINUTE = 100;
+    public static final int DEFAULT_CALENDAR_RATE_QPS = 10;
+    public static final int DEFAULT_MAPS_RATE_QPS = 10;
     private static String testDepartureAddress = "55 E Michigan St, Indianapolis, IN 46204, USA";
 
     public static void main(String[] args) throws Exception {
@@ -49,37 +104,103 @@ public class App {
                 .version(HttpClient.Version.HTTP_2)
                 .connectTimeout(Duration.ofSeconds(10))
                 .build();
-        CredentialsRetriever credentialsReader = new CredentialsFileRetrieverImpl();
+        // token refreshes do not wait for the credentials store
+        WriteBehindCredentialsRetriever credentialsReader = new WriteBehindCredentialsRetriever(
+                new CredentialsFileRetrieverImpl(), JsonUtils.OBJECT_MAPPER);
+        Runtime.getRuntime().addShutdownHook(new Thread(credentialsReader::close, "credentials-flush"));
         OAuthTokenRefresher oAuthTokenRefresher = new OAuthTokenRefresher(httpClient, JsonUtils.OBJECT_MAPPER);
         TokenManager tokenManager = new TokenManager(credentialsReader, oAuthTokenRefresher);
 
 
         ObjectMapper objectMapper = JsonUtils.OBJECT_MAPPER;
+        RateGovernor rateGovernor = new RateGovernor(Map.of(
+                EndPoint.ZOHO_INVOICE, RateLimit.perMinute(Integer.getInteger(ZOHO_RATE_PER_MINUTE_PROPERTY, DEFAULT_ZOHO_RATE_PER_MINUTE)),
+                EndPoint.GOOGLE_CALENDAR, RateLimit.perSecond(Integer.getInteger(CALENDAR_RATE_QPS_PROPERTY, DEFAULT_CALENDAR_RATE_QPS)),
+                EndPoint.GOOGLE_DISTANCE_MATRIX, RateLimit.perSecond(Integer.getInteger(MAPS_RATE_QPS_PROPERTY, DEFAULT_MAPS_RATE_QPS))));
 
-        String googleToken = tokenManager.getGoogleCalendarAccessToken();
-        GoogleCalendarService googleCalendarService = new GoogleCalendarService(googleToken, httpClient, objectMapper);
+        GoogleCalendarService googleCalendarService = new GoogleCalendarService(
+                tokenManager.googleCalendarTokenProvider(), httpClient, objectMapper, rateGovernor);
+        googleCalendarService.setSearchQuery(System.getProperty(CALENDAR_QUERY_PROPERTY));
 
 
         String googleMapsApiKey = tokenManager.getGoogleMapAPIKey();
-        GoogleRouteService googleRouteService = new GoogleRouteService(googleMapsApiKey, httpClient, objectMapper);
+        GoogleRouteService googleRouteService = new GoogleRouteService(googleMapsApiKey, httpClient, objectMapper, rateGovernor);
+        googleRouteService.setFullBinding(Boolean.getBoolean(JSON_FULL_BINDING_PROPERTY));
+        Duration routeCacheTtl = Duration.ofDays(Integer.getInteger(ROUTE_CACHE_TTL_DAYS_PROPERTY, (int) CachingRouteService.DEFAULT_TTL.toDays()));
+        RouteCacheStore routeCacheStore = new RouteCacheStore(
+                Path.of(System.getProperty(ROUTE_CACHE_PATH_PROPERTY, DEFAULT_ROUTE_CACHE_PATH)), objectMapper, routeCacheTtl, Clock.systemUTC());
+        CachingRouteService routeService = new CachingRouteService(googleRouteService, routeCacheStore,
+                Integer.getInteger(ROUTE_CACHE_SIZE_PROPERTY, CachingRouteService.DEFAULT_MAX_ENTRIES), routeCacheTtl, Clock.systemUTC());
         GoogleEventParser googleEventParser = new GoogleEventParser();
 
         String organisationId = tokenManager.getZOHOInvoiceOrganisationId();
-        String zohoAccessToken = tokenManager.getZOHOInvoiceAccessToken();
-        ZohoContactService zohoContactService = new ZohoContactService(zohoAccessToken, httpClient, objectMapper);
-        ZohoEstimateService zohoEstimateService = new ZohoEstimateService(zohoAccessToken, httpClient, objectMapper);
+        AccessTokenProvider zohoTokenProvider = tokenManager.zohoInvoiceTokenProvider();
+        ZohoContactService zohoContactService = new ZohoContactService(zohoTokenProvider, httpClient, objectMapper, rateGovernor);
+        zohoContactService.setFullBinding(Boolean.getBoolean(JSON_FULL_BINDING_PROPERTY));
+        ZohoEstimateService zohoEstimateService = new ZohoEstimateService(zohoTokenProvider, httpClient, objectMapper, rateGovernor);
+        ZohoContactIndex zohoContactIndex = new ZohoContactIndex(
+                Path.of(System.getProperty(CONTACT_INDEX_PATH_PROPERTY, DEFAULT_CONTACT_INDEX_PATH)), objectMapper);
+        try {
+            zohoContactIndex.refresh(zohoContactService, organisationId);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to refresh the Zoho contact index, using {} known contacts: {}", zohoContactIndex.size(), e.getMessage());
+        }
 
-        DynamoDbClient dynamoDbClient = DynamoDbClient.create();
-        DynamoDbEventDeduplicationService dynamoDbEventDeduplicationService = new DynamoDbEventDeduplicationService(
-                dynamoDbClient, TABLE_NAME, TTL_DAYS // TTL in days
-        );
+        String processingMode = System.getProperty(PROCESSING_MODE_PROPERTY, "");
+        boolean sequential = !PROCESSING_MODE_CONCURRENT.equalsIgnoreCase(processingMode)
+                && !PROCESSING_MODE_PIPELINE.equalsIgnoreCase(processingMode);
+        // a local store replaces DynamoDB for single-node installs and runs without AWS
+        boolean localDedup = DEDUP_STORE_LOCAL.equalsIgnoreCase(System.getProperty(DEDUP_STORE_PROPERTY, ""));
+        DynamoDbClient dynamoDbClient = null;
+        DynamoDbBatchWriter dedupBatchWriter = null;
+        MappedEventDeduplicationStore localDedupStore = null;
+        EventDeduplicationStore deduplicationStore;
+        if (localDedup) {
+            localDedupStore = MappedEventDeduplicationStore.open(
+                    Path.of(System.getProperty(DEDUP_LOCAL_PATH_PROPERTY, DEFAULT_DEDUP_LOCAL_PATH)), TTL_DAYS, Clock.systemUTC());
+            deduplicationStore = localDedupStore;
+        } else {
+            dynamoDbClient = DynamoDbClient.create();
+            // concurrent workers share BatchWriteItem calls; a sequential run would only wait for the batch delay
+            dedupBatchWriter = sequential ? null : new DynamoDbBatchWriter(dynamoDbClient, TABLE_NAME,
+                    "event_id", DynamoDbBatchWriter.MAX_BATCH_SIZE,
+                    Duration.ofMillis(Long.getLong(DEDUP_BATCH_DELAY_MS_PROPERTY, DynamoDbBatchWriter.DEFAULT_MAX_DELAY.toMillis())));
+            DynamoDbEventDeduplicationService dynamoDbEventDeduplicationService = new DynamoDbEventDeduplicationService(
+                    dynamoDbClient, TABLE_NAME, TTL_DAYS, // TTL in days
+                    new EventFingerprintSet(Clock.systemUTC()), dedupBatchWriter
+            );
+            if (Boolean.getBoolean(DEDUP_WARMUP_PROPERTY)) {
+                try {
+                    dynamoDbEventDeduplicationService.warmUp();
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to load the processed events, checking them in DynamoDB: {}", e.getMessage());
+                }
+            }
+            deduplicationStore = dynamoDbEventDeduplicationService;
+        }
 
         // main logic
         // Получаем события за три дня начиная с сегодняшнего дня
         String startDate = UTCTimeConverter.getUTCDateTimeNow();
         logger.info("Get all events with Start date: {}", startDate);
         String endDate = UTCTimeConverter.getUTCDateTimeWithOffset(3, ChronoUnit.DAYS);
-        List<CalendarEvent> events = googleCalendarService.getEventsByDate(startDate, endDate);
+        boolean incrementalSync = CALENDAR_SYNC_INCREMENTAL.equalsIgnoreCase(System.getProperty(CALENDAR_SYNC_PROPERTY, ""));
+        List<String> calendarIds = resolveCalendarIds(googleCalendarService);
+        // the pipeline pulls the date range page by page while it processes, instead of loading it up front
+        boolean streamEvents = PROCESSING_MODE_PIPELINE.equalsIgnoreCase(processingMode) && !incrementalSync
+                && calendarIds.isEmpty();
+        List<CalendarEvent> events = List.of();
+        ChangedEvents changedEvents = null;
+        if (incrementalSync) {
+            FileSyncTokenStore syncTokenStore = new FileSyncTokenStore(
+                    Path.of(System.getProperty(SYNC_TOKEN_PATH_PROPERTY, DEFAULT_SYNC_TOKEN_PATH)));
+            changedEvents = googleCalendarService.getChangedEvents(syncTokenStore, startDate);
+            events = changedEvents.events();
+        } else if (!calendarIds.isEmpty()) {
+            events = googleCalendarService.getEventsFromCalendars(calendarIds, startDate, endDate);
+        } else if (!streamEvents) {
+            events = googleCalendarService.getEventsByDate(startDate, endDate);
+        }
         // Print the events as optional
         for (CalendarEvent event : events) {
             System.out.println(event.getId());
@@ -87,57 +208,141 @@ public class App {
             System.out.println("------------------------------");
         }
         // retrieving all customers and saving to Zoho
-        for (CalendarEvent event : events) {
-            // Check if the event is already processed
-            if (dynamoDbEventDeduplicationService.isEventProcessed(event.getId())) {
-                logger.info("Event {} has already been processed, skipping...", event.getId());
-                continue; // Skip already processed events
+        BackendLimiter limiter = sequential
+                ? BackendLimiter.sequential()
+                : new BackendLimiter(Map.of(
+                Backend.GOOGLE_MAPS, Integer.getInteger(MAPS_CONCURRENCY_PROPERTY, BackendLimiter.DEFAULT_LIMIT),
+                Backend.ZOHO, Integer.getInteger(ZOHO_CONCURRENCY_PROPERTY, BackendLimiter.DEFAULT_LIMIT),
+                Backend.DYNAMODB, Integer.getInteger(DYNAMODB_CONCURRENCY_PROPERTY, BackendLimiter.DEFAULT_LIMIT)));
+        StageJournal stageJournal = StageJournal.open(Path.of(System.getProperty(JOURNAL_PATH_PROPERTY, DEFAULT_JOURNAL_PATH)));
+        EventProcessor eventProcessor = new EventProcessor(deduplicationStore, googleEventParser,
+                routeService, zohoContactService, zohoEstimateService, organisationId, testDepartureAddress, limiter,
+                stageJournal, zohoContactIndex);
+        // one BatchGetItem per 100 events instead of one GetItem per event, before any step that skips processed events
+        eventProcessor.prefetchProcessed(events);
+        if (Boolean.getBoolean(ROUTE_PLAN_PROPERTY)) {
+            // one Distance Matrix request per day; the planned round trips replace the one-way routes below
+            eventProcessor.useRoundTrips(planDayRoutes(new RoutePlanner(googleRouteService), googleEventParser, eventProcessor, events));
+        }
+        // one batched Distance Matrix request per 25 pending customers instead of one per event
+        eventProcessor.prefetchRoutes(events);
+        RunSummary summary;
+        if (PROCESSING_MODE_PIPELINE.equalsIgnoreCase(processingMode)) {
+            int queueCapacity = Integer.getInteger(PIPELINE_QUEUE_CAPACITY_PROPERTY, EventPipeline.DEFAULT_QUEUE_CAPACITY);
+            EventPipeline pipeline = EventPipeline.standard(eventProcessor, limiter, queueCapacity);
+            if (streamEvents) {
+                try (Stream<CalendarEvent> eventStream = googleCalendarService.streamEventsByDate(startDate, endDate)) {
+                    summary = pipeline.run(eventStream::iterator);
+                }
+            } else {
+                summary = pipeline.run(events);
+            }
+        } else if (!sequential) {
+            summary = new ConcurrentEventProcessor(eventProcessor, limiter).processAll(events);
+        } else {
+            summary = new RunSummary();
+            for (CalendarEvent event : events) {
+                summary.record(eventProcessor.process(event));
+            }
+            summary.finish();
+            logger.info("Sequential run finished: {}", summary);
+        }
+        for (EventProcessingResult failure : summary.getFailures()) {
+            logger.warn("Event {} failed with status {}: {}", failure.eventId(), failure.status(), failure.message());
+        }
+        if (changedEvents != null) {
+            // the next incremental sync returns the failed events again only if the token stays where it was
+            if (summary.getFailures().isEmpty()) {
+                changedEvents.commit();
+            } else {
+                logger.warn("Keeping the previous calendar sync token, {} events failed", summary.getFailures().size());
             }
+        }
+        logger.info("Route cache: {}", routeService.getStats());
+        logger.info("HTTP transport: {}", HttpTransport.stats());
+        routeCacheStore.close();
+        stageJournal.close();
+        if (dedupBatchWriter != null) {
+            dedupBatchWriter.close();
+        }
+        if (localDedupStore != null) {
+            localDedupStore.close();
+        }
+        if (dynamoDbClient != null) {
+            dynamoDbClient.close();
+        }
+        credentialsReader.close();
+    }
 
-            Optional<Customer> optionalCustomer = googleEventParser.retrieveCustomer(event, "#");
-            if (optionalCustomer.isPresent()) {
-                Customer customer = optionalCustomer.get();
-                logger.info("Customer found: {}", customer);
-                try {
-                    Optional<DistanceGoogleMatrix> distanceGoogleMatrix = googleRouteService.getRouteEstimate(testDepartureAddress, customer.getAddress());
-                    if (distanceGoogleMatrix.isPresent()) {
-                        String distanceText = distanceGoogleMatrix.get().getRows()[0].getElements()[0].getDistance().getText();
-                        int distanceInMeters = distanceGoogleMatrix.get().getRows()[0].getElements()[0].getDistance().getValue();
-                        double distanceInMiles = (distanceInMeters * KM_TO_MILES_COEFFICIENT); // Convert meters to miles
-                        String durationText = distanceGoogleMatrix.get().getRows()[0].getElements()[0].getDuration().getText();
-                        logger.debug("Distance from {} to {}: {} meters, duration: {} seconds", testDepartureAddress, customer.getAddress(), distanceText, durationText);
-                        String note = String.format("Distance to customer: %s km, %.2f miles, duration: %s", distanceText, distanceInMiles, durationText);
-                        customer.setNote(note);
-                    } else {
-                        logger.warn("No distance data found for customer: {} {}", customer.getFirstName(), customer.getSecondName());
-                    }
-                    ZohoContactRequest zohoContactRequest = EntityMatcher.createContactRequest(customer);
-                    ZohoContactResponse zohoContactResponse = zohoContactService.addNewContact(zohoContactRequest, organisationId);
-                    if (zohoContactResponse.getCode() == 0) {
-                        logger.info("Customer {} successfully added to Zoho", customer);
-                        dynamoDbEventDeduplicationService.markEventProcessed(event.getId());
-                        // Optionally, create an estimate for the customer
-                        LineItem service = new LineItem();
-                        service.setItemId(ITEM_ID); // Example item ID
-                        service.setRate(70.00); // Example rate
-                        service.setQuantity(1); // Example quantity
-                        ZohoEstimateRequest estimateRequest = EntityMatcher.createEstimateRequest(String.valueOf(zohoContactResponse.getContact().getContactId()), List.of(service));
-                        ZohoEstimateResponse zohoEstimateResponse = zohoEstimateService.createEstimate(estimateRequest, organisationId);
-                        if (zohoEstimateResponse.getCode() == 0) {
-                            logger.info("Estimate for customer {} created successfully: {}", customer, zohoEstimateResponse.getEstimate().getEstimateId());
-                        } else {
-                            logger.error("Failed to create estimate for customer {}: {}", customer, zohoEstimateResponse.getMessage());
+    /**
+     * Reads the calendars to fetch from {@value #CALENDAR_IDS_PROPERTY}: a comma-separated list of calendar ids, or
+     * {@value #CALENDAR_IDS_SELECTED} for all calendars selected in the Google Calendar UI.
+     *
+     * @return the calendar ids, empty to fetch the primary calendar only.
+     */
+    private static List<String> resolveCalendarIds(GoogleCalendarService googleCalendarService) throws Exception {
+        String calendarIds = System.getProperty(CALENDAR_IDS_PROPERTY, "").trim();
+        if (calendarIds.isEmpty()) {
+            return List.of();
+        }
+        if (CALENDAR_IDS_SELECTED.equalsIgnoreCase(calendarIds)) {
+            List<String> selected = googleCalendarService.getSelectedCalendarIds();
+            logger.info("Fetching events from {} selected calendars", selected.size());
+            return selected;
+        }
+        return Arrays.stream(calendarIds.split(","))
+                .map(String::trim)
+                .filter(id -> !id.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Plans and logs the round trip of every appointment and the multi-stop route of every day, one matrix request
+     * per day. Days whose appointments were all processed in earlier runs are not planned; the other days are planned
+     * with all their appointments, as the technicians drive to all of them.
+     *
+     * @return The planned day routes, empty if planning failed.
+     */
+    private static Collection<DayRoute> planDayRoutes(RoutePlanner routePlanner, GoogleEventParser googleEventParser,
+                                                      EventProcessor eventProcessor, List<CalendarEvent> events) {
+        List<Visit> visits = new ArrayList<>();
+        Set<LocalDate> pendingDays = new HashSet<>();
+        for (CalendarEvent event : events) {
+            if (event.getStart() == null || event.getStart().getDateTime() == null) {
+                continue;
+            }
+            OffsetDateTime start = OffsetDateTime.parse(event.getStart().getDateTime());
+            googleEventParser.retrieveCustomer(event, EventProcessor.CUSTOMER_DELIMITER)
+                    .filter(customer -> customer.getAddress() != null && !customer.getAddress().isBlank())
+                    .ifPresent(customer -> {
+                        visits.add(new Visit(event.getId(), customer.getAddress(), start));
+                        if (eventProcessor.isPending(event.getId())) {
+                            pendingDays.add(start.toLocalDate());
                         }
-                    } else {
-                        logger.error("Failed to add customer {} to Zoho: {}", customer, zohoContactResponse.getMessage());
-                    }
-                } catch (Exception e) {
-                    logger.error("Failed to add customer {} to Zoho: {}", customer, e.getMessage());
+                    });
+        }
+        visits.removeIf(visit -> !pendingDays.contains(visit.start().toLocalDate()));
+        if (visits.isEmpty()) {
+            return List.of();
+        }
+        try {
+            Collection<DayRoute> dayRoutes = routePlanner.planDays(testDepartureAddress, visits).values();
+            for (DayRoute dayRoute : dayRoutes) {
+                logger.info("Day route {}", dayRoute);
+                for (DayRoute.RoundTrip roundTrip : dayRoute.roundTrips()) {
+                    logger.info("  {} {}: round trip {} miles", roundTrip.visit().start().toLocalTime(),
+                            roundTrip.visit().address(), String.format("%.2f", roundTrip.totalMiles()));
                 }
             }
+            return dayRoutes;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("Failed to plan day routes: {}", e.getMessage());
         }
-        dynamoDbClient.close();
+        return List.of();
     }
+
     private static String loadOfficeAddress(String filePath, ObjectMapper objectMapper) {
         InputStream inputStream = App.class.getResourceAsStream(filePath);
         if (inputStream == null) {
@@ -0,0 +1,175 @@
+package org.example;
+
+import org.example.exception.TokenRefreshException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free cache of one OAuth access token.
+ * <p>
+ * Readers get the token from an immutable volatile {@link Snapshot} without locking. Once the token enters the
+ * refresh-ahead window before its expiry, the first reader starts a refresh on the background executor and every
+ * reader keeps getting the current token meanwhile. Only when the token is already unusable do readers wait, and all
+ * of them wait for the same refresh. A refresh is only started for the token the caller saw: if another refresh has
+ * replaced it meanwhile, the caller gets the new token instead of starting a further refresh.
+ */
+final class RefreshAheadToken {
+    private static final Logger logger = LoggerFactory.getLogger(RefreshAheadToken.class);
+    static final Duration BACKGROUND_RETRY_DELAY = Duration.ofSeconds(30);
+
+    /**
+     * Fetches a new token; called on the refresh executor only.
+     */
+    @FunctionalInterface
+    interface Refresher {
+        Snapshot refresh() throws IOException, InterruptedException;
+    }
+
+    /**
+     * An access token and the time it expires.
+     */
+    record Snapshot(String accessToken, Instant expiry) {
+
+        boolean isUsableAt(Instant now, Duration expiryMargin) {
+            return accessToken != null && expiry != null && now.isBefore(expiry.minus(expiryMargin));
+        }
+    }
+
+    private final String api;
+    private final Refresher refresher;
+    private final Executor executor;
+    private final Clock clock;
+    private final Duration refreshAhead;
+    private final Duration expiryMargin;
+    private final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+    private volatile Snapshot snapshot;
+    private volatile Instant backgroundRetryAfter = Instant.MIN;
+
+    /**
+     * @param api          The API name, for logging.
+     * @param initial      The token loaded from the credentials.
+     * @param refresher    Fetches a new token.
+     * @param executor     Runs the refreshes.
+     * @param clock        The clock the expiry is compared with.
+     * @param refreshAhead How long before the expiry the background refresh starts.
+     * @param expiryMargin How long before the expiry the token is no longer handed out.
+     */
+    RefreshAheadToken(String api, Snapshot initial, Refresher refresher, Executor executor, Clock clock,
+                      Duration refreshAhead, Duration expiryMargin) {
+        this.api = api;
+        this.snapshot = initial;
+        this.refresher = refresher;
+        this.executor = executor;
+        this.clock = clock;
+        this.refreshAhead = refreshAhead;
+        this.expiryMargin = expiryMargin;
+    }
+
+    /**
+     * @return A usable access token; blocks only if the cached token is no longer usable.
+     */
+    String get() throws IOException, InterruptedException {
+        Snapshot current = snapshot;
+        Instant now = clock.instant();
+        if (current.isUsableAt(now, expiryMargin)) {
+            if (!now.isBefore(current.expiry().minus(refreshAhead)) && !now.isBefore(backgroundRetryAfter)) {
+                startRefresh(current.accessToken());
+            }
+            return current.accessToken();
+        }
+        return await(startRefresh(current.accessToken())).accessToken();
+    }
+
+    /**
+     * Refreshes the token even though it is not expired, because the API rejected it.
+     * Joins a refresh that is already running, and returns the current token without a refresh if it is no longer the
+     * rejected one, so a burst of 401s for the same token refreshes it once.
+     *
+     * @param rejectedToken The token the API rejected.
+     * @return The new access token.
+     */
+    String refresh(String rejectedToken) throws IOException, InterruptedException {
+        return await(startRefresh(rejectedToken)).accessToken();
+    }
+
+    /**
+     * Like {@link #refresh(String)}, without blocking the caller: the future completes on the refresh executor.
+     *
+     * @param rejectedToken The token the API rejected.
+     * @return The new access token, or the failure of the refresh.
+     */
+    CompletableFuture<String> refreshAsync(String rejectedToken) {
+        return startRefresh(rejectedToken).thenApply(Snapshot::accessToken);
+    }
+
+    Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @param staleToken The token the caller wants replaced.
+     * @return the running refresh, a new one, or the current snapshot if it already replaced the stale token.
+     */
+    private CompletableFuture<Snapshot> startRefresh(String staleToken) {
+        while (true) {
+            CompletableFuture<Snapshot> running = inFlight.get();
+            if (running != null) {
+                return running;
+            }
+            // the snapshot is written before the finished refresh is cleared, so it is current here
+            Snapshot current = snapshot;
+            if (!Objects.equals(current.accessToken(), staleToken) && current.isUsableAt(clock.instant(), expiryMargin)) {
+                return CompletableFuture.completedFuture(current);
+            }
+            CompletableFuture<Snapshot> started = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, started)) {
+                executor.execute(() -> runRefresh(started));
+                return started;
+            }
+        }
+    }
+
+    private void runRefresh(CompletableFuture<Snapshot> started) {
+        try {
+            Snapshot refreshed = refresher.refresh();
+            snapshot = refreshed;
+            logger.info("{} access token refreshed, expires at {}", api, refreshed.expiry());
+            inFlight.compareAndSet(started, null);
+            started.complete(refreshed);
+        } catch (Throwable e) {
+            logger.error("Failed to refresh the {} access token: {}", api, e.getMessage());
+            // a failed refresh ahead of expiry is retried later, not by every reader
+            backgroundRetryAfter = clock.instant().plus(BACKGROUND_RETRY_DELAY);
+            inFlight.compareAndSet(started, null);
+            started.completeExceptionally(e);
+        }
+    }
+
+    private Snapshot await(CompletableFuture<Snapshot> refresh) throws IOException, InterruptedException {
+        try {
+            return refresh.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof InterruptedException) {
+                throw new TokenRefreshException("The " + api + " token refresh was interrupted", cause);
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new TokenRefreshException("Failed to refresh the " + api + " access token", cause);
+        }
+    }
+}
@@ -4,13 +4,22 @@ import org.example.entity.AccessToken;
 import org.example.entity.AppCredentials;
 import org.example.entity.EndPoint;
 import org.example.exception.CredentialsRetrieverException;
+import org.example.exception.TokenRefreshException;
+import org.example.service.AccessTokenProvider;
 import org.example.service.OAuthTokenRefresher;
 import org.example.utils.CredentialsRetriever;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.time.Instant;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 
 /**
  * GoogleTokenManager is a class that manages the OAuth2 access token for Google APIs.
@@ -26,12 +35,49 @@ public class TokenManager {
     private final CredentialsRetriever credentialsRetriever;
     private final OAuthTokenRefresher oAuthTokenRefresher;
     private static final Logger logger = LoggerFactory.getLogger(TokenManager.class);
+    /**
+     * Tokens are refreshed in the background this long before they expire.
+     */
+    public static final Duration REFRESH_AHEAD = Duration.ofMinutes(5);
+    /**
+     * Tokens closer than this to their expiry are not handed out any more.
+     */
+    public static final Duration EXPIRY_MARGIN = Duration.ofSeconds(60);
+    private final RefreshAheadToken calendarToken;
+    private final RefreshAheadToken zohoToken;
 
 
     public TokenManager(CredentialsRetriever credentialsRetriever, OAuthTokenRefresher oAuthTokenRefresher) {
+        this(credentialsRetriever, oAuthTokenRefresher, refreshExecutor(), Clock.systemUTC());
+    }
+
+    /**
+     * @param refreshExecutor Runs the token refreshes; a single thread keeps the credential updates serial.
+     * @param clock           The clock the token expiry is compared with.
+     */
+    TokenManager(CredentialsRetriever credentialsRetriever, OAuthTokenRefresher oAuthTokenRefresher,
+                 Executor refreshExecutor, Clock clock) {
         this.credentialsRetriever = credentialsRetriever;
         this.oAuthTokenRefresher = oAuthTokenRefresher;
         credentials = credentialsLoad();
+        AppCredentials.CalendarCredentials calendarCredentials = credentials.getCalendarCredentials();
+        calendarToken = new RefreshAheadToken("Google Calendar",
+                calendarCredentials == null ? new RefreshAheadToken.Snapshot(null, null)
+                        : new RefreshAheadToken.Snapshot(calendarCredentials.getAccessToken(), calendarCredentials.getAccessTokenExpiry()),
+                this::refreshCalendarToken, refreshExecutor, clock, REFRESH_AHEAD, EXPIRY_MARGIN);
+        AppCredentials.ZohoCredentials zohoCredentials = credentials.getZohoCredentials();
+        zohoToken = new RefreshAheadToken("Zoho Invoice",
+                zohoCredentials == null ? new RefreshAheadToken.Snapshot(null, null)
+                        : new RefreshAheadToken.Snapshot(zohoCredentials.getAccessToken(), zohoCredentials.getAccessTokenExpiry()),
+                this::refreshZohoToken, refreshExecutor, clock, REFRESH_AHEAD, EXPIRY_MARGIN);
+    }
+
+    private static Executor refreshExecutor() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     /**
@@ -67,47 +113,143 @@ public class TokenManager {
     }
 
     /**
-     * Get the new access token. If the current access token is expired or about to expire,
-     * it refreshes the token using the refresh token.
+     * Get the Google Calendar access token from the cache without locking. The token is refreshed in the background
+     * ahead of its expiry; callers only wait if it is already expired.
+     *
+     * @return The Google Calendar access token.
      */
-    public synchronized String getGoogleCalendarAccessToken() throws IOException, InterruptedException {
-        Instant now = Instant.now();
-        if (now.isAfter(credentials.getCalendarCredentials().getAccessTokenExpiry().minusSeconds(60))) {
-            AccessToken accessToken = oAuthTokenRefresher.refreshOAuthAccessToken(
-                    credentials.getCalendarCredentials().getClientId(),
-                    credentials.getCalendarCredentials().getClientSecret(),
-                    credentials.getCalendarCredentials().getRefreshToken(),
-                    EndPoint.GOOGLE_TOKEN_REFRESH.getUrl()
-            );
-            credentials.getCalendarCredentials().setAccessToken(accessToken.accessToken());
-            credentials.getCalendarCredentials().setAccessTokenExpiry(accessToken.expiresAt());
-            credentialsRetriever.updateCredentials(credentials);
-        }
-        return credentials.getCalendarCredentials().getAccessToken();
+    public String getGoogleCalendarAccessToken() throws IOException, InterruptedException {
+        return calendarToken.get();
     }
 
+    /**
+     * Refreshes the Google Calendar access token even if it is not expired, because the API rejected it.
+     * If the token was already replaced since, the current token is returned without a refresh.
+     *
+     * @param rejectedToken The token the API rejected.
+     * @return The new access token.
+     */
+    public String refreshGoogleCalendarAccessToken(String rejectedToken) throws IOException, InterruptedException {
+        return calendarToken.refresh(rejectedToken);
+    }
 
     /**
-     * Get the Zoho Invoice access token. If the current access token is expired or about to expire,
-     * it refreshes the token using the refresh token.
+     * Get the Zoho Invoice access token from the cache without locking. The token is refreshed in the background
+     * ahead of its expiry; callers only wait if it is already expired.
      *
      * @return The Zoho Invoice access token.
      * @throws CredentialsRetrieverException If there is an error retrieving the credentials.
      */
     public String getZOHOInvoiceAccessToken() throws IOException, InterruptedException {
-        Instant now = Instant.now();
-        if (now.isAfter(credentials.getZohoCredentials().getAccessTokenExpiry().minusSeconds(60))) {
-            AccessToken accessToken = oAuthTokenRefresher.refreshOAuthAccessToken(
-                    credentials.getZohoCredentials().getClientId(),
-                    credentials.getZohoCredentials().getClientSecret(),
-                    credentials.getZohoCredentials().getRefreshToken(),
-                    EndPoint.ZOHO_TOKEN_REFRESH.getUrl()
-            );
-            credentials.getZohoCredentials().setAccessToken(accessToken.accessToken());
-            credentials.getZohoCredentials().setAccessTokenExpiry(accessToken.expiresAt());
-            credentialsRetriever.updateCredentials(credentials);
+        return zohoToken.get();
+    }
+
+    /**
+     * Refreshes the Zoho Invoice access token even if it is not expired, because the API rejected it.
+     * If the token was already replaced since, the current token is returned without a refresh.
+     *
+     * @param rejectedToken The token the API rejected.
+     * @return The new access token.
+     */
+    public String refreshZOHOInvoiceAccessToken(String rejectedToken) throws IOException, InterruptedException {
+        return zohoToken.refresh(rejectedToken);
+    }
+
+    // runs on the refresh executor only, so the credentials are never updated concurrently
+    private RefreshAheadToken.Snapshot refreshCalendarToken() throws IOException, InterruptedException {
+        AppCredentials.CalendarCredentials calendarCredentials = credentials.getCalendarCredentials();
+        AccessToken accessToken = oAuthTokenRefresher.refreshOAuthAccessToken(
+                calendarCredentials.getClientId(),
+                calendarCredentials.getClientSecret(),
+                calendarCredentials.getRefreshToken(),
+                EndPoint.GOOGLE_TOKEN_REFRESH.getUrl()
+        );
+        calendarCredentials.setAccessToken(accessToken.accessToken());
+        calendarCredentials.setAccessTokenExpiry(accessToken.expiresAt());
+        credentialsRetriever.updateCredentials(credentials);
+        return new RefreshAheadToken.Snapshot(accessToken.accessToken(), accessToken.expiresAt());
+    }
+
+    private RefreshAheadToken.Snapshot refreshZohoToken() throws IOException, InterruptedException {
+        AppCredentials.ZohoCredentials zohoCredentials = credentials.getZohoCredentials();
+        AccessToken accessToken = oAuthTokenRefresher.refreshOAuthAccessToken(
+                zohoCredentials.getClientId(),
+                zohoCredentials.getClientSecret(),
+                zohoCredentials.getRefreshToken(),
+                EndPoint.ZOHO_TOKEN_REFRESH.getUrl()
+        );
+        zohoCredentials.setAccessToken(accessToken.accessToken());
+        zohoCredentials.setAccessTokenExpiry(accessToken.expiresAt());
+        credentialsRetriever.updateCredentials(credentials);
+        return new RefreshAheadToken.Snapshot(accessToken.accessToken(), accessToken.expiresAt());
+    }
+
+    /**
+     * @return a token provider for the Google Calendar API backed by this manager.
+     */
+    public AccessTokenProvider googleCalendarTokenProvider() {
+        return tokenProvider("Google Calendar", this::getGoogleCalendarAccessToken, this::refreshGoogleCalendarAccessToken,
+                calendarToken::refreshAsync);
+    }
+
+    /**
+     * @return a token provider for the Zoho Invoice API backed by this manager.
+     */
+    public AccessTokenProvider zohoInvoiceTokenProvider() {
+        return tokenProvider("Zoho Invoice", this::getZOHOInvoiceAccessToken, this::refreshZOHOInvoiceAccessToken,
+                zohoToken::refreshAsync);
+    }
+
+    private static AccessTokenProvider tokenProvider(String api, TokenCall current, RefreshCall refresh,
+                                                     Function<String, CompletableFuture<String>> refreshAsync) {
+        return new AccessTokenProvider() {
+            @Override
+            public String getAccessToken() {
+                return call(api, current);
+            }
+
+            @Override
+            public Optional<String> refreshAccessToken(String rejectedToken) {
+                logger.info("Refreshing the {} access token", api);
+                return Optional.of(call(api, () -> refresh.refresh(rejectedToken)));
+            }
+
+            @Override
+            public CompletableFuture<Optional<String>> refreshAccessTokenAsync(String rejectedToken) {
+                logger.info("Refreshing the {} access token", api);
+                return refreshAsync.apply(rejectedToken).handle((token, error) -> {
+                    if (error == null) {
+                        return Optional.of(token);
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    if (cause instanceof TokenRefreshException tokenRefreshException) {
+                        throw tokenRefreshException;
+                    }
+                    throw new TokenRefreshException("Failed to refresh the " + api + " access token", cause);
+                });
+            }
+        };
+    }
+
+    private static String call(String api, TokenCall tokenCall) {
+        try {
+            return tokenCall.get();
+        } catch (IOException e) {
+            throw new TokenRefreshException("Failed to refresh the " + api + " access token", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TokenRefreshException("Interrupted while refreshing the " + api + " access token", e);
         }
-        return credentials.getZohoCredentials().getAccessToken();
+    }
+
+    @FunctionalInterface
+    private interface TokenCall {
+        String get() throws IOException, InterruptedException;
+    }
+
+    @FunctionalInterface
+    private interface RefreshCall {
+        String refresh(String rejectedToken) throws IOException, InterruptedException;
     }
 
     /**
@@ -6,6 +6,7 @@ public enum EndPoint {
     GOOGLE_TOKEN_REFRESH("https://oauth2.googleapis.com/token"),
     GOOGLE_SHEETS("https://sheets.googleapis.com/v4/spreadsheets/"),
     GOOGLE_CALENDAR("https://www.googleapis.com/calendar/v3/"),
+    GOOGLE_DISTANCE_MATRIX("https://maps.googleapis.com/maps/api/distancematrix/json"),
     GOOGLE_CONTACTS("https://people.googleapis.com/v1/"),
     GOOGLE_GMAIL("https://gmail.googleapis.com/gmail/v1/"),
     GOOGLE_AUTH("https://www.googleapis.com/auth/"),
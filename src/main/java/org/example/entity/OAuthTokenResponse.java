@@ -0,0 +1,15 @@
+package org.example.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * The body of a successful OAuth token refresh; it becomes an {@link AccessToken} once the expiry is resolved.
+ *
+ * @param accessToken The new access token.
+ * @param expiresIn   The lifetime of the token in seconds.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record OAuthTokenResponse(@JsonProperty("access_token") String accessToken,
+                                 @JsonProperty("expires_in") Long expiresIn) {
+}
@@ -1,6 +1,7 @@
 package org.example.entity.google;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -30,6 +31,8 @@ public class CalendarEvent {
     private Organizer organizer;
     private EventDateTime start;
     private EventDateTime end;
+    // the bean name of getICalUID() would be "icalUID"
+    @JsonProperty("iCalUID")
     private String iCalUID;
     private int sequence;
     private List<Attendee> attendees;
@@ -74,6 +77,8 @@ public class CalendarEvent {
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class EventDateTime {
         private String dateTime;
+        // set instead of dateTime for all-day events
+        private String date;
         private String timeZone;
     }
 
@@ -1,4 +1,33 @@
 package org.example.entity.google;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Represents an entry of the user's calendar list.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class GoogleCalendar {
+    private String kind;
+    private String etag;
+    private String id;
+    private String summary;
+    private String description;
+    private String timeZone;
+    private String accessRole;
+    private boolean primary;
+    // shown in the Google Calendar UI
+    private boolean selected;
+    private boolean hidden;
+    private boolean deleted;
+
+    @Override
+    public String toString() {
+        return "GoogleCalendar{id=" + id + ", summary=" + summary + ", selected=" + selected + '}';
+    }
 }
@@ -29,6 +29,10 @@ public class ZohoContact {
     private String contactName;
     @JsonProperty("company_name")
     private String companyName;
+    // primary contact person details, returned by the contact list
+    private String email;
+    private String phone;
+    private String mobile;
     @JsonProperty("has_transaction")
     private Boolean hasTransaction;
     @JsonProperty("contact_type")
@@ -0,0 +1,40 @@
+package org.example.entity.zoho.contacts;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Represents one page of the Zoho contact list.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ZohoContactListResponse {
+    private int code;
+    private String message;
+    private List<ZohoContact> contacts;
+    @JsonProperty("page_context")
+    private PageContext pageContext;
+
+    public boolean hasMorePage() {
+        return pageContext != null && pageContext.isHasMorePage();
+    }
+
+    @NoArgsConstructor
+    @Getter
+    @Setter
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class PageContext {
+        private int page;
+        @JsonProperty("per_page")
+        private int perPage;
+        @JsonProperty("has_more_page")
+        private boolean hasMorePage;
+    }
+}
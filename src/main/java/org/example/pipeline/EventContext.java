@@ -0,0 +1,41 @@
+package org.example.pipeline;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.example.entity.Customer;
+import org.example.entity.google.CalendarEvent;
+import org.example.processor.EventProcessingResult;
+
+/**
+ * Carries a single calendar event and the outputs of the stages it has passed through.
+ * A context is handled by one stage worker at a time, so it needs no synchronization;
+ * the blocking queues between stages publish its state safely.
+ */
+@Getter
+@Setter
+public class EventContext {
+    private final CalendarEvent event;
+    private Customer customer;
+    private Long contactId;
+    private String estimateId;
+    private EventProcessingResult result;
+
+    public EventContext(CalendarEvent event) {
+        this.event = event;
+    }
+
+    public String getEventId() {
+        return event.getId();
+    }
+
+    /**
+     * Stops the event at the current stage with the given status.
+     */
+    public void finish(EventProcessingResult.Status status, String message) {
+        this.result = new EventProcessingResult(getEventId(), status, message);
+    }
+
+    public boolean isFinished() {
+        return result != null;
+    }
+}
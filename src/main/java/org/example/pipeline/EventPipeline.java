@@ -0,0 +1,202 @@
+package org.example.pipeline;
+
+import org.example.entity.Customer;
+import org.example.entity.google.CalendarEvent;
+import org.example.entity.zoho.contacts.ZohoContactResponse;
+import org.example.entity.zoho.estimate.ZohoEstimateResponse;
+import org.example.processor.Backend;
+import org.example.processor.BackendLimiter;
+import org.example.processor.EventProcessingResult;
+import org.example.processor.EventProcessor;
+import org.example.processor.RunSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Staged event processing pipeline.
+ * <p>
+ * The calendar fetch feeds the first stage, and every stage hands its events to the next one through a bounded queue.
+ * Each stage has its own worker pool sized for its backend, so the slowest backend sets the pace and pushes back on
+ * the stages before it. {@link #getStageStats()} shows queue depth and service time per stage to find that backend.
+ * <p>
+ * A pipeline instance runs once.
+ */
+public class EventPipeline {
+    private static final Logger logger = LoggerFactory.getLogger(EventPipeline.class);
+    public static final String FETCH_STAGE = "calendar-fetch";
+    public static final String DEDUP_STAGE = "dedup";
+    public static final String PARSE_STAGE = "parse";
+    public static final String ROUTE_STAGE = "route";
+    public static final String CONTACT_STAGE = "zoho-contact";
+    public static final String ESTIMATE_STAGE = "zoho-estimate";
+    public static final int DEFAULT_QUEUE_CAPACITY = 32;
+
+    private final List<PipelineStage> stages;
+    private final LongAdder fetched = new LongAdder();
+    private final LongAdder fetchNanos = new LongAdder();
+
+    private EventPipeline(List<PipelineStage> stages) {
+        this.stages = stages;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builds the standard pipeline: dedup, parse, route, Zoho contact and Zoho estimate.
+     * Stage worker counts follow the backend limits, so the pipeline never has more calls in flight than the limiter allows.
+     *
+     * @param processor     Provides the work of every stage.
+     * @param limiter       The per-backend limits.
+     * @param queueCapacity The capacity of the queue in front of every stage.
+     * @return A new pipeline, ready to run.
+     */
+    public static EventPipeline standard(EventProcessor processor, BackendLimiter limiter, int queueCapacity) {
+        int zohoWorkers = limiter.getLimit(Backend.ZOHO);
+        return builder()
+                .queueCapacity(queueCapacity)
+                .stage(DEDUP_STAGE, limiter.getLimit(Backend.DYNAMODB), context -> {
+                    if (processor.isAlreadyProcessed(context.getEventId())) {
+                        context.finish(EventProcessingResult.Status.ALREADY_PROCESSED, null);
+                    }
+                })
+                .stage(PARSE_STAGE, 1, context -> {
+                    Optional<Customer> customer = processor.retrieveCustomer(context.getEvent());
+                    if (customer.isPresent()) {
+                        context.setCustomer(customer.get());
+                    } else {
+                        context.finish(EventProcessingResult.Status.NO_CUSTOMER, null);
+                    }
+                })
+                .stage(ROUTE_STAGE, limiter.getLimit(Backend.GOOGLE_MAPS),
+                        context -> processor.addRouteNote(context.getEventId(), context.getCustomer()))
+                .stage(CONTACT_STAGE, zohoWorkers, context -> {
+                    ZohoContactResponse response = processor.createContact(context.getEventId(), context.getCustomer());
+                    if (response.getCode() != 0) {
+                        context.finish(EventProcessingResult.Status.CONTACT_FAILED, response.getMessage());
+                        return;
+                    }
+                    context.setContactId(response.getContact().getContactId());
+                    processor.markProcessed(context.getEventId());
+                })
+                .stage(ESTIMATE_STAGE, zohoWorkers, context -> {
+                    ZohoEstimateResponse response = processor.createEstimate(context.getEventId(), context.getCustomer(), context.getContactId());
+                    if (response.getCode() != 0) {
+                        context.finish(EventProcessingResult.Status.ESTIMATE_FAILED, response.getMessage());
+                        return;
+                    }
+                    context.setEstimateId(response.getEstimate().getEstimateId());
+                    context.finish(EventProcessingResult.Status.COMPLETED, context.getEstimateId());
+                })
+                .build();
+    }
+
+    /**
+     * Pushes every event from the source through the stages and waits until all of them have left the pipeline.
+     * The source is iterated lazily on the calling thread, so a paginated calendar source is fetched only as fast as
+     * the first stage accepts events.
+     *
+     * @param source The calendar events to process.
+     * @return The summary of the run.
+     * @throws InterruptedException If the calling thread is interrupted.
+     */
+    public RunSummary run(Iterable<CalendarEvent> source) throws InterruptedException {
+        RunSummary summary = new RunSummary();
+        CountDownLatch drained = new CountDownLatch(1);
+        for (int i = 0; i < stages.size(); i++) {
+            PipelineStage next = i + 1 < stages.size() ? stages.get(i + 1) : null;
+            stages.get(i).start(
+                    context -> {
+                        if (next == null || context.isFinished()) {
+                            summary.record(resultOf(context));
+                        } else {
+                            next.submit(context);
+                        }
+                    },
+                    next == null ? drained::countDown : () -> closeStage(next));
+        }
+        PipelineStage first = stages.get(0);
+        try {
+            Iterator<CalendarEvent> iterator = source.iterator();
+            while (true) {
+                long start = System.nanoTime();
+                if (!iterator.hasNext()) {
+                    break;
+                }
+                CalendarEvent event = iterator.next();
+                fetchNanos.add(System.nanoTime() - start);
+                fetched.increment();
+                first.submit(new EventContext(event));
+            }
+        } finally {
+            first.close();
+        }
+        drained.await();
+        summary.finish();
+        logger.info("Pipeline run finished: {}", summary);
+        getStageStats().forEach(stats -> logger.info("Stage {}", stats));
+        return summary;
+    }
+
+    /**
+     * @return statistics of the calendar fetch followed by every stage, in pipeline order.
+     */
+    public List<StageStats> getStageStats() {
+        List<StageStats> result = new ArrayList<>(stages.size() + 1);
+        long count = fetched.sum();
+        result.add(new StageStats(FETCH_STAGE, 1, 0, 0, count, count == 0 ? 0 : fetchNanos.sum() / 1_000_000.0 / count));
+        for (PipelineStage stage : stages) {
+            result.add(stage.getStats());
+        }
+        return result;
+    }
+
+    private static EventProcessingResult resultOf(EventContext context) {
+        if (context.isFinished()) {
+            return context.getResult();
+        }
+        return new EventProcessingResult(context.getEventId(), EventProcessingResult.Status.COMPLETED, context.getEstimateId());
+    }
+
+    private static void closeStage(PipelineStage stage) {
+        try {
+            stage.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while closing stage {}", stage.getName());
+        }
+    }
+
+    public static class Builder {
+        private final List<PipelineStage> stages = new ArrayList<>();
+        private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+        /**
+         * Sets the capacity of the queue in front of stages added after this call.
+         */
+        public Builder queueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        public Builder stage(String name, int workers, StageHandler handler) {
+            stages.add(new PipelineStage(name, workers, queueCapacity, handler));
+            return this;
+        }
+
+        public EventPipeline build() {
+            if (stages.isEmpty()) {
+                throw new IllegalStateException("Pipeline needs at least one stage");
+            }
+            return new EventPipeline(List.copyOf(stages));
+        }
+    }
+}
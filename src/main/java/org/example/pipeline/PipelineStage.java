@@ -0,0 +1,135 @@
+package org.example.pipeline;
+
+import org.example.processor.EventProcessingResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A pipeline stage: a bounded input queue drained by a dedicated pool of workers.
+ * {@link #submit} blocks while the queue is full, so a slow stage pushes back on the stages before it
+ * instead of letting work pile up in memory.
+ */
+class PipelineStage {
+    private static final Logger logger = LoggerFactory.getLogger(PipelineStage.class);
+    /**
+     * Marks the end of the input. Workers pass it on to each other and the last one to stop closes the downstream.
+     */
+    private static final EventContext END_OF_INPUT = new EventContext(null);
+
+    private final String name;
+    private final int workers;
+    private final StageHandler handler;
+    private final BlockingQueue<EventContext> queue;
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder serviceNanos = new LongAdder();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private final AtomicInteger runningWorkers = new AtomicInteger();
+    private final AtomicInteger threadIndex = new AtomicInteger();
+    private ExecutorService executor;
+
+    PipelineStage(String name, int workers, int queueCapacity, StageHandler handler) {
+        if (workers < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Stage " + name + " needs at least one worker and a positive queue capacity");
+        }
+        this.name = name;
+        this.workers = workers;
+        this.handler = handler;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Receives contexts leaving a stage. May block to apply backpressure.
+     */
+    @FunctionalInterface
+    interface Downstream {
+        void accept(EventContext context) throws InterruptedException;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Starts the workers.
+     *
+     * @param downstream Receives every context once this stage is done with it.
+     * @param onDrained  Called once, after the end of input has been reached and all workers have stopped.
+     */
+    void start(Downstream downstream, Runnable onDrained) {
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "pipeline-" + name + "-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        runningWorkers.set(workers);
+        for (int i = 0; i < workers; i++) {
+            executor.execute(() -> work(downstream, onDrained));
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * Puts a context into the input queue, waiting while the queue is full.
+     */
+    void submit(EventContext context) throws InterruptedException {
+        queue.put(context);
+        maxQueueDepth.accumulateAndGet(queue.size(), Math::max);
+    }
+
+    /**
+     * Signals that no more contexts will be submitted.
+     */
+    void close() throws InterruptedException {
+        queue.put(END_OF_INPUT);
+    }
+
+    StageStats getStats() {
+        long count = processed.sum();
+        double averageMillis = count == 0 ? 0 : serviceNanos.sum() / 1_000_000.0 / count;
+        return new StageStats(name, workers, queue.size(), maxQueueDepth.get(), count, averageMillis);
+    }
+
+    private void work(Downstream downstream, Runnable onDrained) {
+        try {
+            while (true) {
+                EventContext context = queue.take();
+                if (context == END_OF_INPUT) {
+                    queue.put(END_OF_INPUT); // let the other workers see it too
+                    break;
+                }
+                long start = System.nanoTime();
+                try {
+                    handler.handle(context);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    context.finish(EventProcessingResult.Status.FAILED, "Interrupted in stage " + name);
+                } catch (Exception e) {
+                    logger.error("Stage {} failed for event {}: {}", name, context.getEventId(), e.getMessage());
+                    context.finish(EventProcessingResult.Status.FAILED, e.getMessage());
+                } finally {
+                    serviceNanos.add(System.nanoTime() - start);
+                    processed.increment();
+                }
+                downstream.accept(context);
+                if (Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Stage {} worker interrupted", name);
+        } finally {
+            if (runningWorkers.decrementAndGet() == 0) {
+                queue.remove(END_OF_INPUT);
+                onDrained.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.pipeline;
+
+/**
+ * The work a pipeline stage does for a single event.
+ * A handler either updates the context and lets it move on, or calls {@link EventContext#finish} to stop it.
+ * Exceptions finish the event as failed.
+ */
+@FunctionalInterface
+public interface StageHandler {
+    void handle(EventContext context) throws Exception;
+}
@@ -0,0 +1,21 @@
+package org.example.pipeline;
+
+/**
+ * Point-in-time statistics of a pipeline stage.
+ *
+ * @param stage              The stage name.
+ * @param workers            The number of worker threads of the stage.
+ * @param queueDepth         The number of events currently waiting in the stage input queue.
+ * @param maxQueueDepth      The largest queue depth observed so far.
+ * @param processed          The number of events handled by the stage.
+ * @param averageServiceMillis Average time a worker spent on one event, in milliseconds.
+ */
+public record StageStats(String stage, int workers, int queueDepth, int maxQueueDepth, long processed,
+                         double averageServiceMillis) {
+
+    @Override
+    public String toString() {
+        return String.format("%s[workers=%d, queue=%d, maxQueue=%d, processed=%d, avgService=%.1f ms]",
+                stage, workers, queueDepth, maxQueueDepth, processed, averageServiceMillis);
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.processor;
+
+/**
+ * External backends touched while processing a calendar event.
+ * Used as a key for per-backend concurrency limits.
+ */
+public enum Backend {
+    GOOGLE_MAPS,
+    ZOHO,
+    DYNAMODB
+}
@@ -0,0 +1,69 @@
+package org.example.processor;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Caps the number of in-flight calls per backend.
+ * Each backend gets its own fair semaphore, so a slow Zoho does not block Google Maps or DynamoDB callers.
+ */
+public class BackendLimiter {
+    public static final int DEFAULT_LIMIT = 8;
+    private final Map<Backend, Semaphore> permits = new EnumMap<>(Backend.class);
+    private final Map<Backend, Integer> limits = new EnumMap<>(Backend.class);
+
+    /**
+     * Creates a limiter with the given per-backend limits.
+     * Backends missing from the map get {@link #DEFAULT_LIMIT}.
+     *
+     * @param limits maximum number of concurrent calls per backend
+     */
+    public BackendLimiter(Map<Backend, Integer> limits) {
+        for (Backend backend : Backend.values()) {
+            int limit = limits.getOrDefault(backend, DEFAULT_LIMIT);
+            if (limit < 1) {
+                throw new IllegalArgumentException("Concurrency limit for " + backend + " must be positive: " + limit);
+            }
+            this.limits.put(backend, limit);
+            this.permits.put(backend, new Semaphore(limit, true));
+        }
+    }
+
+    /**
+     * Creates a limiter that allows a single call per backend, i.e. sequential processing.
+     */
+    public static BackendLimiter sequential() {
+        return new BackendLimiter(Map.of(Backend.GOOGLE_MAPS, 1, Backend.ZOHO, 1, Backend.DYNAMODB, 1));
+    }
+
+    /**
+     * Runs the call once a permit for the backend is available.
+     *
+     * @param backend The backend the call goes to.
+     * @param call    The blocking call.
+     * @return The result of the call.
+     * @throws Exception Whatever the call throws; InterruptedException if interrupted while waiting.
+     */
+    public <T> T call(Backend backend, Callable<T> call) throws Exception {
+        Semaphore semaphore = permits.get(backend);
+        semaphore.acquire();
+        try {
+            return call.call();
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    public int getLimit(Backend backend) {
+        return limits.get(backend);
+    }
+
+    /**
+     * @return the sum of all backend limits, the most events that can make progress at the same time.
+     */
+    public int getTotalLimit() {
+        return limits.values().stream().mapToInt(Integer::intValue).sum();
+    }
+}
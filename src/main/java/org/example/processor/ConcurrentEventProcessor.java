@@ -0,0 +1,80 @@
+package org.example.processor;
+
+import org.example.entity.google.CalendarEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs {@link EventProcessor} for many events at once.
+ * Each event gets its own task; the number of calls in flight per backend is capped by the shared {@link BackendLimiter},
+ * so throughput follows I/O concurrency instead of the number of events.
+ * <p>
+ * On JDK 21+ the tasks run on virtual threads. On older runtimes a fixed pool sized to the sum of the backend limits is used,
+ * which is the most events that can hold a backend permit at the same time.
+ */
+public class ConcurrentEventProcessor {
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrentEventProcessor.class);
+    private final EventProcessor eventProcessor;
+    private final BackendLimiter limiter;
+
+    public ConcurrentEventProcessor(EventProcessor eventProcessor, BackendLimiter limiter) {
+        this.eventProcessor = eventProcessor;
+        this.limiter = limiter;
+    }
+
+    /**
+     * Processes all events concurrently and waits for them to finish.
+     *
+     * @param events The events to process.
+     * @return The summary of the run.
+     * @throws InterruptedException If the calling thread is interrupted while waiting.
+     */
+    public RunSummary processAll(List<CalendarEvent> events) throws InterruptedException {
+        RunSummary summary = new RunSummary();
+        ExecutorService executor = newEventExecutor(limiter.getTotalLimit());
+        try {
+            List<Future<EventProcessingResult>> futures = new ArrayList<>(events.size());
+            for (CalendarEvent event : events) {
+                futures.add(executor.submit(() -> eventProcessor.process(event)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    summary.record(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    // EventProcessor reports failures in the result, so this is an unexpected error
+                    String eventId = events.get(i).getId();
+                    logger.error("Unexpected error while processing event {}: {}", eventId, e.getCause().getMessage());
+                    summary.record(new EventProcessingResult(eventId, EventProcessingResult.Status.FAILED, e.getCause().getMessage()));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+            summary.finish();
+        }
+        logger.info("Concurrent run finished: {}", summary);
+        return summary;
+    }
+
+    /**
+     * Creates a virtual-thread-per-task executor when the runtime supports it, a fixed pool otherwise.
+     */
+    static ExecutorService newEventExecutor(int fallbackThreads) {
+        try {
+            return (ExecutorService) MethodHandles.publicLookup()
+                    .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class))
+                    .invoke();
+        } catch (Throwable e) {
+            logger.debug("Virtual threads are not available, using a pool of {} platform threads", fallbackThreads);
+            return Executors.newFixedThreadPool(fallbackThreads);
+        }
+    }
+}
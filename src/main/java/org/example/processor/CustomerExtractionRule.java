@@ -0,0 +1,80 @@
+package org.example.processor;
+
+import org.example.entity.google.CalendarEvent;
+
+import java.util.List;
+
+/**
+ * Declares how a booking source writes the customer into a calendar event, e.g. a summary starting with "#", or a
+ * Calendly description starting with "Event Name".
+ * <p>
+ * An event matches the rule if its {@code trigger} field starts with the {@code prefix}. The customer is then taken
+ * from the event: the first and second name are the words {@code nameWord} and {@code nameWord + 1} of the
+ * {@code nameField}, the phone is the first phone number in the {@code phoneField}, the email is the address of the
+ * guest at {@code guestIndex} unless that guest is the organizer, and the address is the {@code addressField}.
+ *
+ * @param name         Names the booking source in the logs.
+ * @param trigger      The field that identifies the booking source.
+ * @param prefix       The prefix of the trigger field, null for the delimiter given to
+ *                     {@link GoogleEventParser#retrieveCustomer}.
+ * @param nameField    The field holding the customer name.
+ * @param nameWord     The position of the first name among the words of the name field, starting with 0.
+ * @param phoneField   The field to search for a phone number, null for none.
+ * @param guestIndex   The position of the customer among the guests, {@link #NO_GUEST} for none.
+ * @param addressField The field holding the address, null for none.
+ */
+public record CustomerExtractionRule(String name, EventField trigger, String prefix, EventField nameField, int nameWord,
+                                     EventField phoneField, int guestIndex, EventField addressField) {
+    public static final int NO_GUEST = -1;
+    private static final String CALENDLY_DESCRIPTION_PREFIX = "Event Name";
+
+    public CustomerExtractionRule {
+        if (name == null || trigger == null || nameField == null) {
+            throw new IllegalArgumentException("Extraction rule needs a name, a trigger and a name field: " + name);
+        }
+        if (nameWord < 0 || guestIndex < NO_GUEST) {
+            throw new IllegalArgumentException("Extraction rule " + name + " has a negative position");
+        }
+    }
+
+    /**
+     * Events entered by hand: "# First Second 812-929-2381" in the summary, the address in the location.
+     */
+    public static CustomerExtractionRule manualEntry() {
+        return new CustomerExtractionRule("manual entry", EventField.SUMMARY, null, EventField.SUMMARY, 1,
+                EventField.SUMMARY, NO_GUEST, EventField.LOCATION);
+    }
+
+    /**
+     * Events booked through Calendly: the customer name in the summary, the answers with the phone in the
+     * description, and the customer as the second guest.
+     */
+    public static CustomerExtractionRule calendly() {
+        return new CustomerExtractionRule("calendly", EventField.DESCRIPTION, CALENDLY_DESCRIPTION_PREFIX,
+                EventField.SUMMARY, 0, EventField.DESCRIPTION, 1, EventField.LOCATION);
+    }
+
+    /**
+     * @return the rules of the manual entry and Calendly formats, in this order.
+     */
+    public static List<CustomerExtractionRule> defaults() {
+        return List.of(manualEntry(), calendly());
+    }
+
+    /**
+     * The text fields of an event the rules read.
+     */
+    public enum EventField {
+        SUMMARY,
+        DESCRIPTION,
+        LOCATION;
+
+        String of(CalendarEvent event) {
+            return switch (this) {
+                case SUMMARY -> event.getSummary();
+                case DESCRIPTION -> event.getDescription();
+                case LOCATION -> event.getLocation();
+            };
+        }
+    }
+}
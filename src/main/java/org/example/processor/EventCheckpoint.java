@@ -0,0 +1,33 @@
+package org.example.processor;
+
+/**
+ * Completed stages of a single event and their outputs, as recovered from the {@link StageJournal}.
+ *
+ * @param routeNote       The route note stored on the customer; empty when the route had no data, null if not done.
+ * @param contactId       The Zoho contact id, null if the contact stage is not done.
+ * @param markedProcessed Whether the event has been marked processed in the deduplication table.
+ * @param estimateId      The Zoho estimate id, null if the estimate stage is not done.
+ */
+public record EventCheckpoint(String routeNote, Long contactId, boolean markedProcessed, String estimateId) {
+    public static final EventCheckpoint EMPTY = new EventCheckpoint(null, null, false, null);
+
+    public boolean isEmpty() {
+        return routeNote == null && contactId == null && !markedProcessed && estimateId == null;
+    }
+
+    public boolean isComplete() {
+        return estimateId != null;
+    }
+
+    /**
+     * @return a copy of this checkpoint with the stage marked as done.
+     */
+    public EventCheckpoint with(ProcessingStage stage, String value) {
+        return switch (stage) {
+            case ROUTE -> new EventCheckpoint(value == null ? "" : value, contactId, markedProcessed, estimateId);
+            case CONTACT -> new EventCheckpoint(routeNote, Long.valueOf(value), markedProcessed, estimateId);
+            case MARKED_PROCESSED -> new EventCheckpoint(routeNote, contactId, true, estimateId);
+            case ESTIMATE -> new EventCheckpoint(routeNote, contactId, markedProcessed, value);
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.processor;
+
+/**
+ * Outcome of processing a single calendar event.
+ *
+ * @param eventId The Google Calendar event id.
+ * @param status  The final status of the event.
+ * @param message A human-readable detail: estimate id on success, error message on failure.
+ */
+public record EventProcessingResult(String eventId, Status status, String message) {
+
+    public enum Status {
+        COMPLETED,
+        ALREADY_PROCESSED,
+        NO_CUSTOMER,
+        CONTACT_FAILED,
+        ESTIMATE_FAILED,
+        FAILED
+    }
+
+    public boolean isFailure() {
+        return status == Status.CONTACT_FAILED || status == Status.ESTIMATE_FAILED || status == Status.FAILED;
+    }
+
+    public static EventProcessingResult of(String eventId, Status status) {
+        return new EventProcessingResult(eventId, status, null);
+    }
+}
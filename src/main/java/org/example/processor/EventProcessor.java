@@ -0,0 +1,457 @@
+package org.example.processor;
+
+import org.example.entity.Customer;
+import org.example.entity.google.CalendarEvent;
+import org.example.entity.google.DistanceGoogleMatrix;
+import org.example.entity.google.RouteMatrixElement;
+import org.example.entity.zoho.contacts.ZohoContact;
+import org.example.entity.zoho.contacts.ZohoContactRequest;
+import org.example.entity.zoho.contacts.ZohoContactResponse;
+import org.example.entity.zoho.estimate.LineItem;
+import org.example.entity.zoho.estimate.ZohoEstimateRequest;
+import org.example.entity.zoho.estimate.ZohoEstimateResponse;
+import org.example.service.EventDeduplicationStore;
+import org.example.service.RouteService;
+import org.example.service.route.DayRoute;
+import org.example.service.route.RouteLeg;
+import org.example.service.zoho.ZohoContactIndex;
+import org.example.service.zoho.ZohoContactService;
+import org.example.service.zoho.ZohoEstimateService;
+import org.example.utils.EntityMatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Processes a single calendar event: deduplication check, customer extraction, route estimate,
+ * Zoho contact and estimate creation. Every backend call goes through the {@link BackendLimiter},
+ * so one instance can be shared by any number of concurrent workers.
+ * <p>
+ * When a {@link StageJournal} is configured, every completed stage is recorded with its output, and a rerun resumes
+ * an event at its first incomplete stage without repeating the Maps or Zoho calls that already succeeded.
+ */
+public class EventProcessor {
+    private static final Logger logger = LoggerFactory.getLogger(EventProcessor.class);
+    public static final String ITEM_ID = "5971371000000098023";
+    public static final double KM_TO_MILES_COEFFICIENT = 0.000621371;
+    public static final String CUSTOMER_DELIMITER = "#";
+    public static final int CONTACT_EXISTS_CODE = 3062;
+
+    private final EventDeduplicationStore deduplicationService;
+    private final GoogleEventParser googleEventParser;
+    private final RouteService routeService;
+    private final ZohoContactService zohoContactService;
+    private final ZohoEstimateService zohoEstimateService;
+    private final String organisationId;
+    private final String departureAddress;
+    private final BackendLimiter limiter;
+    private final StageJournal journal;
+    private final ZohoContactIndex contactIndex;
+    private final Map<String, RouteMatrixElement> prefetchedRoutes = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> prefetchedProcessed = new ConcurrentHashMap<>();
+    private final Map<String, DayRoute.RoundTrip> plannedRoundTrips = new ConcurrentHashMap<>();
+
+    public EventProcessor(EventDeduplicationStore deduplicationService,
+                          GoogleEventParser googleEventParser,
+                          RouteService routeService,
+                          ZohoContactService zohoContactService,
+                          ZohoEstimateService zohoEstimateService,
+                          String organisationId,
+                          String departureAddress,
+                          BackendLimiter limiter) {
+        this(deduplicationService, googleEventParser, routeService, zohoContactService, zohoEstimateService,
+                organisationId, departureAddress, limiter, null);
+    }
+
+    public EventProcessor(EventDeduplicationStore deduplicationService,
+                          GoogleEventParser googleEventParser,
+                          RouteService routeService,
+                          ZohoContactService zohoContactService,
+                          ZohoEstimateService zohoEstimateService,
+                          String organisationId,
+                          String departureAddress,
+                          BackendLimiter limiter,
+                          StageJournal journal) {
+        this(deduplicationService, googleEventParser, routeService, zohoContactService, zohoEstimateService,
+                organisationId, departureAddress, limiter, journal, null);
+    }
+
+    public EventProcessor(EventDeduplicationStore deduplicationService,
+                          GoogleEventParser googleEventParser,
+                          RouteService routeService,
+                          ZohoContactService zohoContactService,
+                          ZohoEstimateService zohoEstimateService,
+                          String organisationId,
+                          String departureAddress,
+                          BackendLimiter limiter,
+                          StageJournal journal,
+                          ZohoContactIndex contactIndex) {
+        this.deduplicationService = deduplicationService;
+        this.googleEventParser = googleEventParser;
+        this.routeService = routeService;
+        this.zohoContactService = zohoContactService;
+        this.zohoEstimateService = zohoEstimateService;
+        this.organisationId = organisationId;
+        this.departureAddress = departureAddress;
+        this.limiter = limiter;
+        this.journal = journal;
+        this.contactIndex = contactIndex;
+    }
+
+    /**
+     * Processes the event end to end. Never throws: any failure is reported in the result.
+     *
+     * @param event The calendar event to process.
+     * @return The outcome of processing.
+     */
+    public EventProcessingResult process(CalendarEvent event) {
+        String eventId = event.getId();
+        Customer customer = null;
+        try {
+            if (isAlreadyProcessed(eventId)) {
+                return EventProcessingResult.of(eventId, EventProcessingResult.Status.ALREADY_PROCESSED);
+            }
+            Optional<Customer> optionalCustomer = retrieveCustomer(event);
+            if (optionalCustomer.isEmpty()) {
+                return EventProcessingResult.of(eventId, EventProcessingResult.Status.NO_CUSTOMER);
+            }
+            customer = optionalCustomer.get();
+            addRouteNote(eventId, customer);
+
+            ZohoContactResponse zohoContactResponse = createContact(eventId, customer);
+            if (zohoContactResponse.getCode() != 0) {
+                return new EventProcessingResult(eventId, EventProcessingResult.Status.CONTACT_FAILED, zohoContactResponse.getMessage());
+            }
+            markProcessed(eventId);
+
+            ZohoEstimateResponse zohoEstimateResponse = createEstimate(eventId, customer, zohoContactResponse.getContact().getContactId());
+            if (zohoEstimateResponse.getCode() != 0) {
+                return new EventProcessingResult(eventId, EventProcessingResult.Status.ESTIMATE_FAILED, zohoEstimateResponse.getMessage());
+            }
+            return new EventProcessingResult(eventId, EventProcessingResult.Status.COMPLETED, zohoEstimateResponse.getEstimate().getEstimateId());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new EventProcessingResult(eventId, EventProcessingResult.Status.FAILED, "Interrupted");
+        } catch (Exception e) {
+            logger.error("Failed to process event {} for customer {}: {}", eventId, customer, e.getMessage());
+            return new EventProcessingResult(eventId, EventProcessingResult.Status.FAILED, e.getMessage());
+        }
+    }
+
+    /**
+     * Keeps the planned round trips of the appointments, so that {@link #addRouteNote} writes the outbound and inbound
+     * legs of the day plan instead of requesting the one-way route. Round trips with a leg that was not found are
+     * ignored and their events fall back to the one-way route.
+     *
+     * @param dayRoutes The day routes of the run, as planned by the {@link org.example.service.route.RoutePlanner}.
+     */
+    public void useRoundTrips(Collection<DayRoute> dayRoutes) {
+        for (DayRoute dayRoute : dayRoutes) {
+            for (DayRoute.RoundTrip roundTrip : dayRoute.roundTrips()) {
+                if (roundTrip.outbound().found() && roundTrip.inbound().found()) {
+                    plannedRoundTrips.put(roundTrip.visit().eventId(), roundTrip);
+                }
+            }
+        }
+        logger.info("Using {} planned round trips for route notes", plannedRoundTrips.size());
+    }
+
+    /**
+     * Checks the deduplication table for all events of a run that are not in the stage journal, in one bulk lookup.
+     * The result is kept for {@link #prefetchRoutes} and the following {@link #isAlreadyProcessed}, so it should run
+     * before any other step of the run. Never throws: on failure every event is looked up on its own as before.
+     *
+     * @param events The calendar events of the run.
+     */
+    public void prefetchProcessed(List<CalendarEvent> events) {
+        List<String> unjournaledIds = new ArrayList<>();
+        for (CalendarEvent event : events) {
+            if (checkpointOf(event.getId()).isEmpty() && !prefetchedProcessed.containsKey(event.getId())) {
+                unjournaledIds.add(event.getId());
+            }
+        }
+        if (unjournaledIds.isEmpty()) {
+            return;
+        }
+        try {
+            Set<String> processedIds = limiter.call(Backend.DYNAMODB,
+                    () -> deduplicationService.findProcessedEvents(unjournaledIds));
+            unjournaledIds.forEach(eventId -> prefetchedProcessed.put(eventId, processedIds.contains(eventId)));
+            logger.info("{} of {} unjournaled events are already processed", processedIds.size(), unjournaledIds.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while checking processed events");
+        } catch (Exception e) {
+            logger.warn("Failed to check {} events in bulk, falling back to one lookup per event: {}", unjournaledIds.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Requests the routes of all pending events of a run with batched Distance Matrix calls, so that
+     * {@link #addRouteNote} finds them without a request of its own. Events that {@link #prefetchProcessed} found
+     * processed, or that have a journaled route or a planned round trip, are left out.
+     * Never throws: on failure the routes are requested per event as before.
+     *
+     * @param events The calendar events of the run.
+     */
+    public void prefetchRoutes(List<CalendarEvent> events) {
+        List<String> addresses = new ArrayList<>();
+        try {
+            for (CalendarEvent event : events) {
+                if (checkpointOf(event.getId()).routeNote() != null || plannedRoundTrips.containsKey(event.getId())
+                        || Boolean.TRUE.equals(prefetchedProcessed.get(event.getId()))) {
+                    continue;
+                }
+                googleEventParser.retrieveCustomer(event, CUSTOMER_DELIMITER)
+                        .map(Customer::getAddress)
+                        .filter(address -> !address.isBlank())
+                        .ifPresent(addresses::add);
+            }
+            if (addresses.isEmpty()) {
+                return;
+            }
+            Map<String, RouteMatrixElement> routes = limiter.call(Backend.GOOGLE_MAPS,
+                    () -> routeService.getRouteEstimates(departureAddress, addresses));
+            prefetchedRoutes.putAll(routes);
+            logger.info("Prefetched routes for {} of {} pending customer addresses", routes.size(), addresses.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while prefetching routes");
+        } catch (Exception e) {
+            logger.warn("Failed to prefetch routes for {} addresses, falling back to one request per event: {}", addresses.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Tells from what is known without a request whether the event still needs work: events complete in the stage
+     * journal, or found processed by {@link #prefetchProcessed}, do not.
+     *
+     * @param eventId The calendar event id.
+     * @return false if the event is known to be processed.
+     */
+    public boolean isPending(String eventId) {
+        EventCheckpoint checkpoint = checkpointOf(eventId);
+        return !checkpoint.isComplete() && !(checkpoint.isEmpty() && Boolean.TRUE.equals(prefetchedProcessed.get(eventId)));
+    }
+
+    /**
+     * Checks whether the event has already been processed.
+     * A journaled event is resumed when incomplete, even if the deduplication table already has it.
+     *
+     * @param eventId The calendar event id.
+     * @return true if the event has already been processed.
+     */
+    public boolean isAlreadyProcessed(String eventId) throws Exception {
+        EventCheckpoint checkpoint = checkpointOf(eventId);
+        if (checkpoint.isComplete()) {
+            logger.info("Event {} is complete in the stage journal, skipping...", eventId);
+            return true;
+        }
+        if (!checkpoint.isEmpty()) {
+            logger.info("Resuming event {} from the stage journal: {}", eventId, checkpoint);
+            return false;
+        }
+        Boolean prefetched = prefetchedProcessed.remove(eventId);
+        boolean processed = prefetched != null
+                ? prefetched
+                : limiter.call(Backend.DYNAMODB, () -> deduplicationService.isEventProcessed(eventId));
+        if (processed) {
+            logger.info("Event {} has already been processed, skipping...", eventId);
+        }
+        return processed;
+    }
+
+    /**
+     * Extracts the customer from the event summary or description.
+     *
+     * @param event The calendar event.
+     * @return The customer, or empty if the event is not a customer appointment.
+     */
+    public Optional<Customer> retrieveCustomer(CalendarEvent event) {
+        Optional<Customer> customer = googleEventParser.retrieveCustomer(event, CUSTOMER_DELIMITER);
+        customer.ifPresent(c -> logger.info("Customer found: {}", c));
+        return customer;
+    }
+
+    /**
+     * Requests the route from the office to the customer and stores the distance and duration in the customer note.
+     * A round trip given to {@link #useRoundTrips} is written with both legs, and a route found by
+     * {@link #prefetchRoutes} is used, without a request.
+     *
+     * @param eventId  The calendar event id.
+     * @param customer The customer to update.
+     */
+    public void addRouteNote(String eventId, Customer customer) throws Exception {
+        String journaledNote = checkpointOf(eventId).routeNote();
+        if (journaledNote != null) {
+            customer.setNote(journaledNote.isEmpty() ? null : journaledNote);
+            return;
+        }
+        DayRoute.RoundTrip roundTrip = plannedRoundTrips.get(eventId);
+        if (roundTrip != null) {
+            customer.setNote(roundTripNote(roundTrip));
+            checkpoint(eventId, ProcessingStage.ROUTE, customer.getNote());
+            return;
+        }
+        RouteMatrixElement element = customer.getAddress() == null ? null : prefetchedRoutes.get(customer.getAddress());
+        if (element == null) {
+            Optional<DistanceGoogleMatrix> distanceGoogleMatrix = limiter.call(Backend.GOOGLE_MAPS,
+                    () -> routeService.getRouteEstimate(departureAddress, customer.getAddress()));
+            if (distanceGoogleMatrix.isEmpty()) {
+                logger.warn("No distance data found for customer: {} {}", customer.getFirstName(), customer.getSecondName());
+                checkpoint(eventId, ProcessingStage.ROUTE, null);
+                return;
+            }
+            element = distanceGoogleMatrix.get().getRows()[0].getElements()[0];
+        }
+        String distanceText = element.getDistance().getText();
+        int distanceInMeters = element.getDistance().getValue();
+        double distanceInMiles = (distanceInMeters * KM_TO_MILES_COEFFICIENT); // Convert meters to miles
+        String durationText = element.getDuration().getText();
+        logger.debug("Distance from {} to {}: {} meters, duration: {} seconds", departureAddress, customer.getAddress(), distanceText, durationText);
+        customer.setNote(String.format("Distance to customer: %s km, %.2f miles, duration: %s", distanceText, distanceInMiles, durationText));
+        checkpoint(eventId, ProcessingStage.ROUTE, customer.getNote());
+    }
+
+    /**
+     * Creates the customer as a Zoho contact. An existing contact found in the {@link ZohoContactIndex} is used
+     * instead, both before the request and when Zoho answers that the contact already exists.
+     *
+     * @param eventId  The calendar event id.
+     * @param customer The customer to add.
+     * @return The Zoho response; code 0 means the contact was created or found.
+     */
+    public ZohoContactResponse createContact(String eventId, Customer customer) throws Exception {
+        Long journaledContactId = checkpointOf(eventId).contactId();
+        if (journaledContactId != null) {
+            logger.info("Contact for event {} already created: {}", eventId, journaledContactId);
+            return existingContact(journaledContactId);
+        }
+        ZohoContactRequest zohoContactRequest = EntityMatcher.createContactRequest(customer);
+        Optional<Long> indexedContactId = findIndexedContact(customer, zohoContactRequest);
+        if (indexedContactId.isPresent()) {
+            logger.info("Customer {} found in the Zoho contact index: {}", customer, indexedContactId.get());
+            checkpoint(eventId, ProcessingStage.CONTACT, String.valueOf(indexedContactId.get()));
+            return existingContact(indexedContactId.get());
+        }
+        ZohoContactResponse zohoContactResponse = limiter.call(Backend.ZOHO,
+                () -> zohoContactService.addNewContact(zohoContactRequest, organisationId));
+        if (zohoContactResponse.getCode() == 0) {
+            logger.info("Customer {} successfully added to Zoho", customer);
+            long contactId = zohoContactResponse.getContact().getContactId();
+            checkpoint(eventId, ProcessingStage.CONTACT, String.valueOf(contactId));
+            if (contactIndex != null) {
+                contactIndex.add(contactId, customer.getEmail(), customer.getPhone(), zohoContactRequest.getContactName());
+            }
+        } else if (zohoContactResponse.getCode() == CONTACT_EXISTS_CODE && contactIndex != null) {
+            // created since the last refresh, e.g. by hand in Zoho
+            limiter.call(Backend.ZOHO, () -> contactIndex.refresh(zohoContactService, organisationId));
+            indexedContactId = findIndexedContact(customer, zohoContactRequest);
+            if (indexedContactId.isPresent()) {
+                logger.info("Customer {} already exists in Zoho: {}", customer, indexedContactId.get());
+                checkpoint(eventId, ProcessingStage.CONTACT, String.valueOf(indexedContactId.get()));
+                return existingContact(indexedContactId.get());
+            }
+            logger.error("Customer {} already exists in Zoho but was not found in the contact index", customer);
+        } else {
+            logger.error("Failed to add customer {} to Zoho: {}", customer, zohoContactResponse.getMessage());
+        }
+        return zohoContactResponse;
+    }
+
+    /**
+     * Marks the event as processed in the deduplication table.
+     *
+     * @param eventId The calendar event id.
+     */
+    public void markProcessed(String eventId) throws Exception {
+        if (checkpointOf(eventId).markedProcessed()) {
+            return;
+        }
+        limiter.call(Backend.DYNAMODB, () -> {
+            deduplicationService.markEventProcessed(eventId);
+            return null;
+        });
+        checkpoint(eventId, ProcessingStage.MARKED_PROCESSED, null);
+    }
+
+    /**
+     * Creates the default estimate for a Zoho contact.
+     *
+     * @param eventId   The calendar event id.
+     * @param customer  The customer the estimate is for, used for logging.
+     * @param contactId The Zoho contact id.
+     * @return The Zoho response; code 0 means the estimate was created.
+     */
+    public ZohoEstimateResponse createEstimate(String eventId, Customer customer, long contactId) throws Exception {
+        String journaledEstimateId = checkpointOf(eventId).estimateId();
+        if (journaledEstimateId != null) {
+            return journaledEstimate(journaledEstimateId);
+        }
+        ZohoEstimateRequest estimateRequest = EntityMatcher.createEstimateRequest(String.valueOf(contactId), List.of(defaultLineItem()));
+        ZohoEstimateResponse zohoEstimateResponse = limiter.call(Backend.ZOHO,
+                () -> zohoEstimateService.createEstimate(estimateRequest, organisationId));
+        if (zohoEstimateResponse.getCode() == 0) {
+            logger.info("Estimate for customer {} created successfully: {}", customer, zohoEstimateResponse.getEstimate().getEstimateId());
+            checkpoint(eventId, ProcessingStage.ESTIMATE, zohoEstimateResponse.getEstimate().getEstimateId());
+        } else {
+            logger.error("Failed to create estimate for customer {}: {}", customer, zohoEstimateResponse.getMessage());
+        }
+        return zohoEstimateResponse;
+    }
+
+    private EventCheckpoint checkpointOf(String eventId) {
+        return journal == null ? EventCheckpoint.EMPTY : journal.get(eventId);
+    }
+
+    private void checkpoint(String eventId, ProcessingStage stage, String value) {
+        if (journal != null) {
+            journal.record(eventId, stage, value);
+        }
+    }
+
+    private Optional<Long> findIndexedContact(Customer customer, ZohoContactRequest zohoContactRequest) {
+        if (contactIndex == null) {
+            return Optional.empty();
+        }
+        return contactIndex.find(customer.getEmail(), customer.getPhone(), zohoContactRequest.getContactName());
+    }
+
+    private static String roundTripNote(DayRoute.RoundTrip roundTrip) {
+        RouteLeg outbound = roundTrip.outbound();
+        RouteLeg inbound = roundTrip.inbound();
+        return String.format("Round trip to customer: %.2f miles, duration: %d min (to customer %.2f miles, %d min; back %.2f miles, %d min)",
+                roundTrip.totalMiles(), (outbound.seconds() + inbound.seconds()) / 60,
+                outbound.meters() * RouteLeg.METERS_TO_MILES, outbound.seconds() / 60,
+                inbound.meters() * RouteLeg.METERS_TO_MILES, inbound.seconds() / 60);
+    }
+
+    private static ZohoContactResponse existingContact(long contactId) {
+        ZohoContact contact = new ZohoContact();
+        contact.setContactId(contactId);
+        ZohoContactResponse response = new ZohoContactResponse();
+        response.setContact(contact);
+        return response;
+    }
+
+    private static ZohoEstimateResponse journaledEstimate(String estimateId) {
+        ZohoEstimateResponse.Estimate estimate = new ZohoEstimateResponse.Estimate();
+        estimate.setEstimateId(estimateId);
+        return new ZohoEstimateResponse(0, null, estimate);
+    }
+
+    private LineItem defaultLineItem() {
+        LineItem service = new LineItem();
+        service.setItemId(ITEM_ID); // Example item ID
+        service.setRate(70.00); // Example rate
+        service.setQuantity(1); // Example quantity
+        return service;
+    }
+}
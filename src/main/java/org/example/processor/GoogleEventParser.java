@@ -12,92 +12,150 @@ import org.example.entity.google.CalendarEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * Class for parsing Google Calendar events.
+ * <p>
+ * The customer is extracted by the first {@link CustomerExtractionRule} the event matches, so a new booking source
+ * is added by passing its rule to the constructor. The rules are tried in order against the summary, description and
+ * location of the event; names are read word by word from the text and the phone pattern is compiled once.
  */
 public class GoogleEventParser {
     private static final Logger logger = LoggerFactory.getLogger(GoogleEventParser.class);
-    private static final String DESCRIPTION_PREFIX = "Event Name";
     public static final String CALENDAR_EVENT_IS_NULL = "CalendarEvent is null !!!";
+    // Regex pattern to match various phone number formats
+    private static final Pattern PHONE_PATTERN = Pattern.compile(
+            "(\\+\\d{1,3}[- ]?)?\\(?\\d{3}\\)?[- ]?\\d{3}[- ]?\\d{4}|" +  // +1 812-929-2381 or similar
+                    "\\d{3}[- ]?\\d{3}[- ]?\\d{4}");                                // 812-929-2381 or similar
+    private static final CustomerExtractionRule MANUAL_ENTRY = CustomerExtractionRule.manualEntry();
+    private final CustomerExtractionRule[] rules;
 
+    public GoogleEventParser() {
+        this(CustomerExtractionRule.defaults());
+    }
+
+    /**
+     * @param rules The rules in the order they are tried; the first rule the event matches extracts the customer.
+     */
+    public GoogleEventParser(List<CustomerExtractionRule> rules) {
+        this.rules = rules.toArray(CustomerExtractionRule[]::new);
+    }
+
+    /**
+     * @param delimiter The prefix of the summary for the rules without a prefix of their own, e.g. "#".
+     * @return the customer of the event, or empty if no rule matches it or the matching rule finds no name.
+     */
     public Optional<Customer> retrieveCustomer(CalendarEvent calendarEvent, String delimiter) {
         if (calendarEvent == null) {
             logger.debug(CALENDAR_EVENT_IS_NULL);
             return Optional.empty();
         }
-        if (calendarEvent.getSummary() == null || calendarEvent.getSummary().isBlank()) {
-            logger.debug("CalendarEvent summary is null for event: {}", calendarEvent.getICalUID());
-            return Optional.empty();
-        }
-        Customer customer;
-        if (calendarEvent.getSummary().startsWith(delimiter)) {
-            customer = parseCustomer(calendarEvent);
-            return Optional.of(customer);
-        }
-        if (calendarEvent.getDescription() != null && calendarEvent.getDescription().startsWith(DESCRIPTION_PREFIX)) {
-            customer = parseCalendlyCustomer(calendarEvent);
-            return Optional.of(customer);
+        for (CustomerExtractionRule rule : rules) {
+            if (matches(rule, calendarEvent, delimiter)) {
+                Customer customer = extract(rule, calendarEvent);
+                if (customer.getFirstName() != null) {
+                    return Optional.of(customer);
+                }
+                logger.debug("Event {} matches rule {} but has no customer name", calendarEvent.getICalUID(), rule.name());
+            }
         }
+        logger.debug("No customer extraction rule matches event: {}", calendarEvent.getICalUID());
         return Optional.empty();
     }
 
     /**
-     * Parses a Calendly customer from a CalendarEvent.
+     * Parses a customer from a CalendarEvent based on the summary format.
      *
      * @param calendarEvent The CalendarEvent to parse.
      * @return A Customer object with parsed details.
      */
-    private Customer parseCalendlyCustomer(CalendarEvent calendarEvent) {
-        String[] summary = calendarEvent.getSummary().split(" ");
+    public Customer parseCustomer(CalendarEvent calendarEvent) {
+        return extract(MANUAL_ENTRY, calendarEvent);
+    }
+
+    public String parseMobilePhone(String text) {
+        if (text == null) {
+            return "";
+        }
+        Matcher matcher = PHONE_PATTERN.matcher(text);
+        // a phone number starts with "+", "(" or a digit; the pattern is only tried where one of them is
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ((c == '+' || c == '(' || (c >= '0' && c <= '9')) && matcher.region(i, text.length()).lookingAt()) {
+                return matcher.group();
+            }
+        }
+        return "";
+    }
+
+    private static boolean matches(CustomerExtractionRule rule, CalendarEvent calendarEvent, String delimiter) {
+        String prefix = rule.prefix() != null ? rule.prefix() : delimiter;
+        String trigger = rule.trigger().of(calendarEvent);
+        return prefix != null && trigger != null && trigger.startsWith(prefix);
+    }
+
+    private Customer extract(CustomerExtractionRule rule, CalendarEvent calendarEvent) {
         Customer customer = new Customer();
-        customer.setFirstName(summary[0]);
-        customer.setSecondName(summary[1]);
-        customer.setPhone(parseMobilePhone(calendarEvent.getDescription()));
-        // todo: check
-        if (calendarEvent.getAttendees().size() > 1 && (!calendarEvent.getAttendees().get(1).isOrganizer())) {
-            customer.setEmail(calendarEvent.getAttendees().get(1).getEmail());
+        String names = rule.nameField().of(calendarEvent);
+        int start = wordStart(names, 0);
+        for (int word = 0; word < rule.nameWord() && start >= 0; word++) {
+            start = wordStart(names, wordEnd(names, start));
+        }
+        if (start >= 0) {
+            int end = wordEnd(names, start);
+            customer.setFirstName(names.substring(start, end));
+            start = wordStart(names, end);
+            if (start >= 0) {
+                customer.setSecondName(names.substring(start, wordEnd(names, start)));
+            }
         }
-        if (calendarEvent.getLocation() != null) {
-            customer.setAddress(calendarEvent.getLocation());
+        if (rule.phoneField() != null) {
+            String phone = parseMobilePhone(rule.phoneField().of(calendarEvent));
+            if (!phone.isBlank()) {
+                customer.setPhone(phone);
+            }
+        }
+        List<CalendarEvent.Attendee> attendees = calendarEvent.getAttendees();
+        if (rule.guestIndex() != CustomerExtractionRule.NO_GUEST && attendees != null && attendees.size() > rule.guestIndex()
+                && !attendees.get(rule.guestIndex()).isOrganizer()) {
+            customer.setEmail(attendees.get(rule.guestIndex()).getEmail());
+        }
+        if (rule.addressField() != null) {
+            String address = rule.addressField().of(calendarEvent);
+            if (address != null && !address.isBlank()) {
+                customer.setAddress(address);
+            }
         }
         return customer;
     }
 
     /**
-     * Parses a customer from a CalendarEvent based on the summary format.
-     *
-     * @param calendarEvent The CalendarEvent to parse.
-     * @return A Customer object with parsed details.
+     * @return the index of the first character of the next word at or after {@code from}, -1 if there is none.
      */
-    public Customer parseCustomer(CalendarEvent calendarEvent) {
-        String[] parts = calendarEvent.getSummary().split(" ");
-        Customer customer = new Customer();
-        customer.setFirstName(parts[1]);
-        customer.setSecondName(parts[2]);
-        String phone = parseMobilePhone(calendarEvent.getSummary());
-        if (!phone.isBlank()) {
-            customer.setPhone(phone);
+    private static int wordStart(String text, int from) {
+        if (text == null) {
+            return -1;
         }
-        if (calendarEvent.getLocation() != null && !calendarEvent.getLocation().isBlank()) {
-            customer.setAddress(calendarEvent.getLocation());
+        for (int i = from; i < text.length(); i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return i;
+            }
         }
-        return customer;
+        return -1;
     }
 
-    public String parseMobilePhone(String text) {
-        // Regex pattern to match various phone number formats
-        String phonePattern =
-                "(\\+\\d{1,3}[- ]?)?\\(?\\d{3}\\)?[- ]?\\d{3}[- ]?\\d{4}|" +  // +1 812-929-2381 or similar
-                        "\\d{3}[- ]?\\d{3}[- ]?\\d{4}";                                // 812-929-2381 or similar
-        Pattern pattern = Pattern.compile(phonePattern);
-        Matcher matcher = pattern.matcher(text);
-        if (matcher.find()) {
-            return matcher.group();
+    /**
+     * @return the index after the last character of the word starting at {@code start}.
+     */
+    private static int wordEnd(String text, int start) {
+        int i = start;
+        while (i < text.length() && !Character.isWhitespace(text.charAt(i))) {
+            i++;
         }
-        return "";
+        return i;
     }
 }
@@ -0,0 +1,31 @@
+package org.example.processor;
+
+/**
+ * Stages of event processing whose completion is recorded in the {@link StageJournal}.
+ * Only stages with side effects or paid API calls are journaled; parsing is cheap and repeatable.
+ */
+public enum ProcessingStage {
+    ROUTE((byte) 1),
+    CONTACT((byte) 2),
+    MARKED_PROCESSED((byte) 3),
+    ESTIMATE((byte) 4);
+
+    private final byte code;
+
+    ProcessingStage(byte code) {
+        this.code = code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public static ProcessingStage fromCode(byte code) {
+        for (ProcessingStage stage : values()) {
+            if (stage.code == code) {
+                return stage;
+            }
+        }
+        throw new IllegalArgumentException("Unknown stage code: " + code);
+    }
+}
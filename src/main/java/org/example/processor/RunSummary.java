@@ -0,0 +1,59 @@
+package org.example.processor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects per-event results of a single run. Safe to use from concurrent workers.
+ */
+public class RunSummary {
+    private final Map<EventProcessingResult.Status, Integer> counts = new EnumMap<>(EventProcessingResult.Status.class);
+    private final List<EventProcessingResult> failures = new ArrayList<>();
+    private final long startNanos = System.nanoTime();
+    private long endNanos;
+    private int total;
+
+    public synchronized void record(EventProcessingResult result) {
+        counts.merge(result.status(), 1, Integer::sum);
+        if (result.isFailure()) {
+            failures.add(result);
+        }
+        total++;
+    }
+
+    /**
+     * Marks the end of the run, fixing the elapsed time.
+     */
+    public synchronized void finish() {
+        endNanos = System.nanoTime();
+    }
+
+    public synchronized int getCount(EventProcessingResult.Status status) {
+        return counts.getOrDefault(status, 0);
+    }
+
+    public synchronized int getTotal() {
+        return total;
+    }
+
+    public synchronized List<EventProcessingResult> getFailures() {
+        return Collections.unmodifiableList(new ArrayList<>(failures));
+    }
+
+    public synchronized Duration getElapsed() {
+        long end = endNanos == 0 ? System.nanoTime() : endNanos;
+        return Duration.ofNanos(end - startNanos);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "RunSummary{total=" + total +
+                ", counts=" + counts +
+                ", failures=" + failures.size() +
+                ", elapsed=" + getElapsed().toMillis() + " ms}";
+    }
+}
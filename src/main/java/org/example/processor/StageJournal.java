@@ -0,0 +1,208 @@
+package org.example.processor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Local append-only journal of completed processing stages per event.
+ * <p>
+ * Records are appended to a memory-mapped file, so they survive a crash of the process as soon as they are written.
+ * Forcing them to the storage device is batched: after {@code syncEveryRecords} records or every {@code syncInterval},
+ * whichever comes first. On open the file is replayed into memory; a torn record at the tail is detected by its
+ * checksum and dropped.
+ * <p>
+ * Record layout: {@code int payloadLength, int crc32, byte stage, short idLength, id, short valueLength, value}.
+ * A zero length marks the end of the journal.
+ */
+public class StageJournal implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(StageJournal.class);
+    private static final int MAGIC = 0x534A3031; // "SJ01"
+    private static final int HEADER_SIZE = Integer.BYTES;
+    private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+    public static final int DEFAULT_INITIAL_SIZE = 1 << 20;
+    public static final int DEFAULT_SYNC_EVERY_RECORDS = 32;
+    public static final Duration DEFAULT_SYNC_INTERVAL = Duration.ofSeconds(1);
+
+    private final Path path;
+    private final FileChannel channel;
+    private final Map<String, EventCheckpoint> checkpoints = new ConcurrentHashMap<>();
+    private final int syncEveryRecords;
+    private final ScheduledExecutorService syncer;
+    private MappedByteBuffer buffer;
+    private int unsyncedRecords;
+
+    /**
+     * Opens the journal with default sizing and sync policy, creating the file if needed.
+     */
+    public static StageJournal open(Path path) throws IOException {
+        return new StageJournal(path, DEFAULT_INITIAL_SIZE, DEFAULT_SYNC_EVERY_RECORDS, DEFAULT_SYNC_INTERVAL);
+    }
+
+    StageJournal(Path path, int initialSize, int syncEveryRecords, Duration syncInterval) throws IOException {
+        this.path = path;
+        this.syncEveryRecords = syncEveryRecords;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = Math.max(channel.size(), initialSize);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        replay();
+        this.syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stage-journal-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = syncInterval.toMillis();
+        syncer.scheduleWithFixedDelay(this::syncIfDirty, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return the completed stages of the event, {@link EventCheckpoint#EMPTY} if none were recorded.
+     */
+    public EventCheckpoint get(String eventId) {
+        return checkpoints.getOrDefault(eventId, EventCheckpoint.EMPTY);
+    }
+
+    /**
+     * Appends a completed stage of the event.
+     *
+     * @param eventId The calendar event id.
+     * @param stage   The completed stage.
+     * @param value   The output of the stage, may be null.
+     */
+    public synchronized void record(String eventId, ProcessingStage stage, String value) {
+        byte[] id = eventId.getBytes(StandardCharsets.UTF_8);
+        byte[] data = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        int payloadLength = 1 + Short.BYTES + id.length + Short.BYTES + data.length;
+        ensureCapacity(RECORD_HEADER_SIZE + payloadLength);
+
+        int start = buffer.position();
+        buffer.position(start + RECORD_HEADER_SIZE);
+        buffer.put(stage.getCode());
+        buffer.putShort((short) id.length);
+        buffer.put(id);
+        buffer.putShort((short) data.length);
+        buffer.put(data);
+        int crc = checksum(start + RECORD_HEADER_SIZE, payloadLength);
+        // the length goes in last, so a record is not visible on replay until it is complete
+        buffer.putInt(start + Integer.BYTES, crc);
+        buffer.putInt(start, payloadLength);
+
+        checkpoints.merge(eventId, EventCheckpoint.EMPTY.with(stage, value), (old, ignored) -> old.with(stage, value));
+        if (++unsyncedRecords >= syncEveryRecords) {
+            sync();
+        }
+    }
+
+    /**
+     * Forces all written records to the storage device.
+     */
+    public synchronized void sync() {
+        if (unsyncedRecords > 0) {
+            buffer.force();
+            unsyncedRecords = 0;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        syncer.shutdownNow();
+        sync();
+        channel.close();
+        logger.info("Stage journal {} closed with {} events", path, checkpoints.size());
+    }
+
+    private void syncIfDirty() {
+        try {
+            sync();
+        } catch (Exception e) {
+            logger.error("Failed to sync stage journal {}: {}", path, e.getMessage());
+        }
+    }
+
+    private void replay() {
+        int magic = buffer.getInt(0);
+        if (magic == 0) {
+            buffer.putInt(0, MAGIC);
+        } else if (magic != MAGIC) {
+            throw new IllegalStateException("Not a stage journal: " + path);
+        }
+        int position = HEADER_SIZE;
+        int records = 0;
+        while (position + RECORD_HEADER_SIZE <= buffer.capacity()) {
+            int payloadLength = buffer.getInt(position);
+            if (payloadLength <= 0 || position + RECORD_HEADER_SIZE + payloadLength > buffer.capacity()) {
+                break;
+            }
+            if (buffer.getInt(position + Integer.BYTES) != checksum(position + RECORD_HEADER_SIZE, payloadLength)) {
+                logger.warn("Torn record at offset {} in stage journal {}, dropping the tail", position, path);
+                break;
+            }
+            applyRecord(position + RECORD_HEADER_SIZE);
+            position += RECORD_HEADER_SIZE + payloadLength;
+            records++;
+        }
+        // wipe whatever a crash left behind the last valid record
+        for (int i = position; i < buffer.capacity(); i++) {
+            if (buffer.get(i) != 0) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+        buffer.position(position);
+        logger.info("Stage journal {} replayed: {} records, {} events", path, records, checkpoints.size());
+    }
+
+    private void applyRecord(int offset) {
+        ProcessingStage stage = ProcessingStage.fromCode(buffer.get(offset));
+        int idLength = buffer.getShort(offset + 1);
+        String eventId = readString(offset + 1 + Short.BYTES, idLength);
+        int valueOffset = offset + 1 + Short.BYTES + idLength;
+        int valueLength = buffer.getShort(valueOffset);
+        String value = valueLength == 0 && stage != ProcessingStage.ROUTE ? null : readString(valueOffset + Short.BYTES, valueLength);
+        checkpoints.merge(eventId, EventCheckpoint.EMPTY.with(stage, value), (old, ignored) -> old.with(stage, value));
+    }
+
+    private String readString(int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int checksum(int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private void ensureCapacity(int needed) {
+        if (buffer.position() + needed + Integer.BYTES <= buffer.capacity()) {
+            return;
+        }
+        int position = buffer.position();
+        long newSize = Math.max((long) buffer.capacity() * 2, position + needed + Integer.BYTES);
+        try {
+            buffer.force();
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, newSize);
+            buffer.position(position);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to grow stage journal " + path, e);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.service;
+
+import java.net.http.HttpRequest;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Supplies the OAuth access token of an API to the services that call it.
+ * <p>
+ * Services ask for the token every time they build a request, so a token that expires during a long run is replaced
+ * transparently. When the API still answers 401, the service calls {@link #refreshAccessToken(String)} once with the
+ * token it sent and replays the request with the new token.
+ */
+public interface AccessTokenProvider {
+    String AUTHORIZATION_HEADER = "Authorization";
+
+    /**
+     * @return The current access token, refreshed first if it is about to expire.
+     * @throws org.example.exception.TokenRefreshException If the token could not be refreshed.
+     */
+    String getAccessToken();
+
+    /**
+     * Refreshes the token even though it is not expired yet, because the API rejected it. A token that was already
+     * replaced since, e.g. by the refresh of another rejected request, is returned without refreshing it again.
+     *
+     * @param rejectedToken The token the API rejected.
+     * @return The new access token, or empty if this provider cannot refresh its token.
+     * @throws org.example.exception.TokenRefreshException If the refresh failed.
+     */
+    Optional<String> refreshAccessToken(String rejectedToken);
+
+    /**
+     * Like {@link #refreshAccessToken(String)}, for callers that must not block. The default refreshes on the calling
+     * thread and suits providers that refresh without I/O; providers whose refresh blocks run it elsewhere.
+     *
+     * @param rejectedToken The token the API rejected.
+     * @return The new access token or empty, or the {@link org.example.exception.TokenRefreshException} of the refresh.
+     */
+    default CompletableFuture<Optional<String>> refreshAccessTokenAsync(String rejectedToken) {
+        try {
+            return CompletableFuture.completedFuture(refreshAccessToken(rejectedToken));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * @param scheme The scheme the token is sent with, e.g. {@code "Bearer "}.
+     * @return the token the request was sent with, null if it has no {@code Authorization} header.
+     */
+    static String tokenOf(HttpRequest request, String scheme) {
+        return request.headers().firstValue(AUTHORIZATION_HEADER)
+                .map(authorization -> authorization.startsWith(scheme) ? authorization.substring(scheme.length()) : authorization)
+                .orElse(null);
+    }
+
+    /**
+     * @return a copy of the request with its {@code Authorization} header replaced, for replaying it with a new token.
+     */
+    static HttpRequest withAuthorization(HttpRequest request, String authorization) {
+        return HttpRequest.newBuilder(request, (name, value) -> !AUTHORIZATION_HEADER.equalsIgnoreCase(name))
+                .header(AUTHORIZATION_HEADER, authorization)
+                .build();
+    }
+
+    /**
+     * @return a provider of a token that never changes, e.g. for tests and one-off runs.
+     */
+    static AccessTokenProvider fixed(String accessToken) {
+        return new AccessTokenProvider() {
+            @Override
+            public String getAccessToken() {
+                return accessToken;
+            }
+
+            @Override
+            public Optional<String> refreshAccessToken(String rejectedToken) {
+                return Optional.empty();
+            }
+        };
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Remembers which calendar events have already been processed, so that a run does not create their Zoho contacts
+ * and estimates again. Entries expire after a TTL.
+ */
+public interface EventDeduplicationStore {
+    int MAX_EVENT_ID_LENGTH = 255;
+
+    /**
+     * @param eventId The unique identifier of the event to check
+     * @return true if the event has been processed and its entry has not expired
+     * @throws IllegalArgumentException if eventId is null, empty, or longer than 255 characters
+     */
+    boolean isEventProcessed(String eventId);
+
+    /**
+     * Marks an event as processed. Marking an event again is not an error.
+     *
+     * @param eventId The unique identifier of the event to mark as processed
+     * @throws IllegalArgumentException if eventId is null, empty, or longer than 255 characters
+     */
+    void markEventProcessed(String eventId);
+
+    /**
+     * Checks which of the given events have already been processed.
+     * The default implementation checks every event separately.
+     *
+     * @param eventIds The unique identifiers of the events to check
+     * @return the ids of the processed events
+     * @throws InterruptedException if the thread is interrupted while waiting for the store
+     */
+    default Set<String> findProcessedEvents(Collection<String> eventIds) throws InterruptedException {
+        Set<String> processed = new HashSet<>();
+        for (String eventId : eventIds) {
+            if (isEventProcessed(eventId)) {
+                processed.add(eventId);
+            }
+        }
+        return processed;
+    }
+
+    /**
+     * Marks an event as processed without waiting for the write, where the store supports it.
+     * The default implementation writes synchronously.
+     *
+     * @param eventId The unique identifier of the event to mark as processed
+     * @return a future completed once the mark is written
+     */
+    default CompletableFuture<Void> markEventProcessedAsync(String eventId) {
+        try {
+            markEventProcessed(eventId);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Validates the event ID according to the store requirements.
+     *
+     * @param eventId The event ID to validate
+     * @throws IllegalArgumentException if validation fails
+     */
+    static void validateEventId(String eventId) {
+        if (eventId == null) {
+            throw new IllegalArgumentException("Event ID cannot be null");
+        }
+        if (eventId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Event ID cannot be empty or blank");
+        }
+        if (eventId.length() > MAX_EVENT_ID_LENGTH) {
+            throw new IllegalArgumentException("Event ID cannot be longer than " + MAX_EVENT_ID_LENGTH + " characters");
+        }
+    }
+}
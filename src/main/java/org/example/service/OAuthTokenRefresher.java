@@ -2,9 +2,12 @@ package org.example.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.example.entity.AccessToken;
+import org.example.entity.OAuthTokenResponse;
 import org.example.exception.AuthenticationError;
 import org.example.exception.TokenRefreshException;
+import org.example.utils.JsonCodecs;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -15,7 +18,6 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Instant;
-import java.util.Map;
 
 /**
  * OAuthTokenRefresher is a service class that handles the refreshing of OAuth access tokens.
@@ -29,7 +31,7 @@ public class OAuthTokenRefresher {
     public static final String ERROR_PARSING_JSON_RESPONSE = "Error parsing JSON response";
     public static final String WAS_INTERRUPTED = "Retry sleep delay was interrupted";
     private final HttpClient httpClient;
-    private final ObjectMapper objectMapper;
+    private final ObjectReader tokenReader;
     private static final int MAX_RETRIES = 3;
     private static final Logger logger = LoggerFactory.getLogger(OAuthTokenRefresher.class);
     public static final String ACCESS_DENIED_INVALID_OR_MISSING_CREDENTIALS = "Access denied: Invalid or missing credentials";
@@ -39,7 +41,7 @@ public class OAuthTokenRefresher {
 
     public OAuthTokenRefresher(HttpClient httpClient, ObjectMapper objectMapper) {
         this.httpClient = httpClient;
-        this.objectMapper = objectMapper;
+        this.tokenReader = JsonCodecs.of(objectMapper).reader(OAuthTokenResponse.class);
     }
 
     /**
@@ -95,24 +97,22 @@ public class OAuthTokenRefresher {
     }
 
     private AccessToken parseAccessToken(HttpResponse<String> response) {
-        Map<String, Object> json;
+        OAuthTokenResponse token;
         try {
-            json = objectMapper.readValue(response.body(), Map.class);
+            token = tokenReader.readValue(response.body());
         } catch (JsonProcessingException e) {
             logger.error(ERROR_PARSING_JSON_RESPONSE, e);
             throw new TokenRefreshException(ERROR_PARSING_JSON_RESPONSE, e);
         }
-        String accessToken = (String) json.get(ACCESS_TOKEN);
-        if (accessToken == null) {
+        if (token.accessToken() == null) {
             logger.error(ACCESS_TOKEN_IS_NULL_MESSAGE);
             throw new TokenRefreshException(ACCESS_TOKEN_IS_NULL_MESSAGE);
         }
-        Number expiresInSeconds = (Number) json.get(EXPIRES_IN_PROP);
-        if (expiresInSeconds == null) {
+        if (token.expiresIn() == null) {
             throw new TokenRefreshException(MISSING_PROPERTY_IN_RESPONSE);
         }
         logger.info(REFRESHED_SUCCESSFULLY);
-        return new AccessToken(accessToken, Instant.now().plusSeconds(expiresInSeconds.longValue()));
+        return new AccessToken(token.accessToken(), Instant.now().plusSeconds(token.expiresIn()));
     }
 
     private boolean isResponseSuccess(HttpResponse<String> response) {
@@ -1,10 +1,41 @@
 package org.example.service;
 
 import org.example.entity.google.DistanceGoogleMatrix;
+import org.example.entity.google.RouteMatrixElement;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface RouteService {
+    String ELEMENT_OK = "OK";
+
     Optional<DistanceGoogleMatrix> getRouteEstimate(String departAddress, String destinationAddresses) throws IOException, InterruptedException;
+
+    /**
+     * Estimates the routes from one departure address to many destinations.
+     * The default implementation requests every destination separately.
+     *
+     * @param departAddress        The departure address.
+     * @param destinationAddresses The destination addresses.
+     * @return The route per destination address; destinations without a route are left out.
+     */
+    default Map<String, RouteMatrixElement> getRouteEstimates(String departAddress, List<String> destinationAddresses) throws IOException, InterruptedException {
+        Map<String, RouteMatrixElement> routes = new LinkedHashMap<>();
+        for (String destinationAddress : destinationAddresses) {
+            if (routes.containsKey(destinationAddress)) {
+                continue;
+            }
+            Optional<DistanceGoogleMatrix> matrix = getRouteEstimate(departAddress, destinationAddress);
+            if (matrix.isPresent() && matrix.get().getRows() != null && matrix.get().getRows().length > 0) {
+                RouteMatrixElement[] elements = matrix.get().getRows()[0].getElements();
+                if (elements != null && elements.length > 0 && ELEMENT_OK.equals(elements[0].getStatus())) {
+                    routes.put(destinationAddress, elements[0]);
+                }
+            }
+        }
+        return routes;
+    }
 }
@@ -0,0 +1,199 @@
+package org.example.service.aws;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.*;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects item puts from concurrent workers and writes them with {@code BatchWriteItem}.
+ * <p>
+ * A batch is written as soon as it holds {@code maxBatchSize} items (at most 25, the DynamoDB limit) or
+ * {@code maxDelay} after its first item, whichever comes first. Puts of the same key within a batch are
+ * coalesced into one write of the latest item. Items that DynamoDB leaves unprocessed are written again with
+ * exponential backoff. The future returned by {@link #put} completes once its item is written.
+ */
+public class DynamoDbBatchWriter implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(DynamoDbBatchWriter.class);
+    public static final int MAX_BATCH_SIZE = 25;
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofMillis(50);
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(30);
+
+    private final DynamoDbClient dynamoDbClient;
+    private final String tableName;
+    private final String keyAttribute;
+    private final int maxBatchSize;
+    private final Duration maxDelay;
+    private final ScheduledExecutorService executor;
+    private final Object lock = new Object();
+    private List<PendingPut> pending = new ArrayList<>();
+    private boolean flushScheduled;
+    private boolean closed;
+
+    /**
+     * @param dynamoDbClient The DynamoDB client to use for operations
+     * @param tableName      The table the items are written to
+     * @param keyAttribute   The partition key attribute of the table
+     * @param maxBatchSize   The number of items that triggers a write, at most 25
+     * @param maxDelay       How long the first item of a batch waits for more items
+     */
+    public DynamoDbBatchWriter(DynamoDbClient dynamoDbClient, String tableName, String keyAttribute,
+                               int maxBatchSize, Duration maxDelay) {
+        if (maxBatchSize < 1 || maxBatchSize > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch size must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        this.dynamoDbClient = dynamoDbClient;
+        this.tableName = tableName;
+        this.keyAttribute = keyAttribute;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = maxDelay;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dynamodb-batch-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues an item for the next batch.
+     *
+     * @param item The item, including the key attribute
+     * @return a future completed when the item is written, or exceptionally if it could not be written
+     */
+    public CompletableFuture<Void> put(Map<String, AttributeValue> item) {
+        AttributeValue key = item.get(keyAttribute);
+        if (key == null) {
+            throw new IllegalArgumentException("Item has no " + keyAttribute + " attribute");
+        }
+        CompletableFuture<Void> written = new CompletableFuture<>();
+        synchronized (lock) {
+            if (closed) {
+                written.completeExceptionally(new IllegalStateException("Batch writer is closed"));
+                return written;
+            }
+            pending.add(new PendingPut(key.s(), item, written));
+            if (pending.size() >= maxBatchSize) {
+                executor.execute(this::flush);
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                executor.schedule(this::flush, maxDelay.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Writes the queued items and stops the writer; puts after close fail.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        executor.execute(this::flush);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(CLOSE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("Batch writes to table {} did not finish within {} s", tableName, CLOSE_TIMEOUT.toSeconds());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes everything queued so far, in batches of up to {@code maxBatchSize} items. Runs on the writer thread.
+     */
+    private void flush() {
+        List<PendingPut> queued;
+        synchronized (lock) {
+            queued = pending;
+            pending = new ArrayList<>();
+            flushScheduled = false;
+        }
+        if (queued.isEmpty()) {
+            return;
+        }
+        // BatchWriteItem rejects two requests for the same key
+        Map<String, Map<String, AttributeValue>> itemsByKey = new LinkedHashMap<>();
+        Map<String, List<CompletableFuture<Void>>> futuresByKey = new HashMap<>();
+        for (PendingPut put : queued) {
+            itemsByKey.put(put.key(), put.item());
+            futuresByKey.computeIfAbsent(put.key(), key -> new ArrayList<>()).add(put.written());
+        }
+        List<String> keys = new ArrayList<>(itemsByKey.keySet());
+        for (int from = 0; from < keys.size(); from += maxBatchSize) {
+            List<String> batch = keys.subList(from, Math.min(keys.size(), from + maxBatchSize));
+            writeBatch(batch, itemsByKey, futuresByKey);
+        }
+    }
+
+    private void writeBatch(List<String> keys, Map<String, Map<String, AttributeValue>> itemsByKey,
+                            Map<String, List<CompletableFuture<Void>>> futuresByKey) {
+        Set<String> remaining = new LinkedHashSet<>(keys);
+        List<WriteRequest> requests = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            requests.add(WriteRequest.builder()
+                    .putRequest(PutRequest.builder().item(itemsByKey.get(key)).build())
+                    .build());
+        }
+        int retry = 0;
+        try {
+            while (true) {
+                BatchWriteItemResponse response = dynamoDbClient.batchWriteItem(BatchWriteItemRequest.builder()
+                        .requestItems(Map.of(tableName, requests))
+                        .build());
+                requests = response.unprocessedItems().getOrDefault(tableName, List.of());
+                Set<String> unprocessed = new HashSet<>();
+                for (WriteRequest request : requests) {
+                    unprocessed.add(request.putRequest().item().get(keyAttribute).s());
+                }
+                for (Iterator<String> it = remaining.iterator(); it.hasNext(); ) {
+                    String key = it.next();
+                    if (!unprocessed.contains(key)) {
+                        futuresByKey.get(key).forEach(future -> future.complete(null));
+                        it.remove();
+                    }
+                }
+                if (remaining.isEmpty()) {
+                    logger.debug("Wrote {} items to table {}", keys.size(), tableName);
+                    return;
+                }
+                if (++retry > DynamoDbEventDeduplicationService.MAX_UNPROCESSED_RETRIES) {
+                    throw DynamoDbException.builder()
+                            .message(remaining.size() + " items still unprocessed after "
+                                    + DynamoDbEventDeduplicationService.MAX_UNPROCESSED_RETRIES + " retries")
+                            .build();
+                }
+                long delayMillis = DynamoDbEventDeduplicationService.unprocessedRetryDelayMillis(retry);
+                logger.debug("{} items unprocessed, retrying in {} ms", remaining.size(), delayMillis);
+                Thread.sleep(delayMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(remaining, futuresByKey, e);
+        } catch (RuntimeException e) {
+            logger.error("Failed to write {} items to table {}: {}", remaining.size(), tableName, e.getMessage());
+            fail(remaining, futuresByKey, e);
+        }
+    }
+
+    private static void fail(Set<String> keys, Map<String, List<CompletableFuture<Void>>> futuresByKey, Exception e) {
+        for (String key : keys) {
+            futuresByKey.get(key).forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private record PendingPut(String key, Map<String, AttributeValue> item, CompletableFuture<Void> written) {
+    }
+}
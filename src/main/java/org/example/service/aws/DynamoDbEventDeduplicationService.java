@@ -1,11 +1,14 @@
 package org.example.service.aws;
 
+import org.example.service.EventDeduplicationStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.*;
 
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Service for deduplication of Google Calendar events using Amazon DynamoDB.
@@ -15,21 +18,34 @@ import java.util.Map;
  * 
  * The service uses DynamoDB conditional writes to ensure atomic operations and
  * prevent race conditions when multiple processes try to add the same event.
+ *
+ * With an {@link EventFingerprintSet}, events known to be processed are answered locally:
+ * the set is filled by {@link #markEventProcessed}, by the positive lookups and optionally
+ * by {@link #warmUp()}, so repeated checks of the same events never reach DynamoDB.
+ *
+ * With a {@link DynamoDbBatchWriter}, marks from concurrent workers are collected and written
+ * with {@code BatchWriteItem} instead of one conditional {@code PutItem} each.
  */
-public class DynamoDbEventDeduplicationService {
+public class DynamoDbEventDeduplicationService implements EventDeduplicationStore {
 
     private static final Logger logger = LoggerFactory.getLogger(DynamoDbEventDeduplicationService.class);
 
     private static final String EVENT_ID_ATTRIBUTE = "event_id";
     private static final String EXPIRES_AT_ATTRIBUTE = "expires_at";
+    private static final String PROJECTION_EXPRESSION = EVENT_ID_ATTRIBUTE + ", " + EXPIRES_AT_ATTRIBUTE;
     private static final String CONDITION_EXPRESSION = "attribute_not_exists(" + EVENT_ID_ATTRIBUTE + ")";
-    private static final int MAX_EVENT_ID_LENGTH = 255;
     private static final int DEFAULT_TTL_DAYS = 30;
     private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+    private static final int MAX_BATCH_GET_KEYS = 100;
+    static final int MAX_UNPROCESSED_RETRIES = 5;
+    private static final long UNPROCESSED_BASE_DELAY_MILLIS = 50;
+    private static final long UNPROCESSED_MAX_DELAY_MILLIS = 1000;
 
     private final DynamoDbClient dynamoDbClient;
     private final String tableName;
     private final long ttlDays;
+    private final EventFingerprintSet processedFingerprints;
+    private final DynamoDbBatchWriter batchWriter;
 
     /**
      * Creates a new DynamoDbEventDeduplicationService with default TTL of 30 days.
@@ -49,9 +65,39 @@ public class DynamoDbEventDeduplicationService {
      * @param ttlDays The number of days after which entries should expire
      */
     public DynamoDbEventDeduplicationService(DynamoDbClient dynamoDbClient, String tableName, long ttlDays) {
+        this(dynamoDbClient, tableName, ttlDays, null);
+    }
+
+    /**
+     * Creates a new DynamoDbEventDeduplicationService with custom TTL and a local set of processed events.
+     *
+     * @param dynamoDbClient The DynamoDB client to use for operations
+     * @param tableName The name of the DynamoDB table to use for deduplication
+     * @param ttlDays The number of days after which entries should expire
+     * @param processedFingerprints The local set answering for processed events, or null to always ask DynamoDB
+     */
+    public DynamoDbEventDeduplicationService(DynamoDbClient dynamoDbClient, String tableName, long ttlDays,
+                                             EventFingerprintSet processedFingerprints) {
+        this(dynamoDbClient, tableName, ttlDays, processedFingerprints, null);
+    }
+
+    /**
+     * Creates a new DynamoDbEventDeduplicationService that writes the marks in batches.
+     *
+     * @param dynamoDbClient The DynamoDB client to use for operations
+     * @param tableName The name of the DynamoDB table to use for deduplication
+     * @param ttlDays The number of days after which entries should expire
+     * @param processedFingerprints The local set answering for processed events, or null to always ask DynamoDB
+     * @param batchWriter The writer of the marks, or null to write each mark with its own conditional PutItem
+     */
+    public DynamoDbEventDeduplicationService(DynamoDbClient dynamoDbClient, String tableName, long ttlDays,
+                                             EventFingerprintSet processedFingerprints,
+                                             DynamoDbBatchWriter batchWriter) {
+        this.batchWriter = batchWriter;
         this.dynamoDbClient = dynamoDbClient;
         this.tableName = tableName;
         this.ttlDays = ttlDays;
+        this.processedFingerprints = processedFingerprints;
     }
     
     /**
@@ -61,8 +107,13 @@ public class DynamoDbEventDeduplicationService {
      * @return true if the event has been processed, false otherwise
      * @throws IllegalArgumentException if eventId is null, empty, or longer than 255 characters
      */
+    @Override
     public boolean isEventProcessed(String eventId) {
-        validateEventId(eventId);
+        EventDeduplicationStore.validateEventId(eventId);
+        if (isKnownProcessed(eventId)) {
+            logger.debug("Event {} processed check: true (local)", eventId);
+            return true;
+        }
         try {
             GetItemRequest request = GetItemRequest.builder()
                     .tableName(tableName)
@@ -71,6 +122,9 @@ public class DynamoDbEventDeduplicationService {
 
             GetItemResponse response = dynamoDbClient.getItem(request);
             boolean exists = response.hasItem() && !response.item().isEmpty();
+            if (exists) {
+                remember(response.item());
+            }
             logger.debug("Event {} processed check: {}", eventId, exists);
             return exists;
 
@@ -83,6 +137,51 @@ public class DynamoDbEventDeduplicationService {
         }
     }
 
+    /**
+     * Checks which of the given events have already been processed.
+     * <p>
+     * The ids are looked up with {@code BatchGetItem} in chunks of 100 keys, projecting only the key and expiry
+     * attributes, so checking a whole window costs a few calls instead of one {@code GetItem} per event. Keys that
+     * DynamoDB leaves unprocessed are requested again with exponential backoff. Events known to be processed locally
+     * are not looked up.
+     *
+     * @param eventIds The unique identifiers of the events to check
+     * @return the ids of the processed events
+     * @throws IllegalArgumentException if any eventId is null, empty, or longer than 255 characters
+     * @throws InterruptedException if the thread is interrupted while backing off
+     */
+    @Override
+    public Set<String> findProcessedEvents(Collection<String> eventIds) throws InterruptedException {
+        Set<String> uniqueIds = new LinkedHashSet<>();
+        for (String eventId : eventIds) {
+            EventDeduplicationStore.validateEventId(eventId);
+            uniqueIds.add(eventId);
+        }
+        Set<String> processed = new HashSet<>();
+        uniqueIds.removeIf(eventId -> isKnownProcessed(eventId) && processed.add(eventId));
+        List<Map<String, AttributeValue>> keys = new ArrayList<>(Math.min(uniqueIds.size(), MAX_BATCH_GET_KEYS));
+        try {
+            for (String eventId : uniqueIds) {
+                keys.add(Map.of(EVENT_ID_ATTRIBUTE, AttributeValue.builder().s(eventId).build()));
+                if (keys.size() == MAX_BATCH_GET_KEYS) {
+                    batchGet(keys, processed);
+                    keys = new ArrayList<>(MAX_BATCH_GET_KEYS);
+                }
+            }
+            if (!keys.isEmpty()) {
+                batchGet(keys, processed);
+            }
+        } catch (ResourceNotFoundException e) {
+            logger.debug("Table {} not found, no events processed", tableName);
+            return processed;
+        } catch (DynamoDbException e) {
+            logger.error("Failed to check {} events for being processed: {}", uniqueIds.size(), e.getMessage());
+            throw e;
+        }
+        logger.debug("{} of {} events already processed", processed.size(), uniqueIds.size());
+        return processed;
+    }
+
     /**
      * Marks an event as processed by adding it to the DynamoDB table.
      * This method is idempotent - calling it multiple times with the same eventId
@@ -95,8 +194,18 @@ public class DynamoDbEventDeduplicationService {
      * @throws IllegalArgumentException if eventId is null, empty, or longer than 255 characters
      * @throws RuntimeException if a non-recoverable DynamoDB error occurs
      */
+    @Override
     public void markEventProcessed(String eventId) {
-        validateEventId(eventId);
+        if (batchWriter != null) {
+            try {
+                markEventProcessedAsync(eventId).join();
+            } catch (CompletionException e) {
+                logger.error("Failed to mark event {} as processed: {}", eventId, e.getCause().getMessage());
+                throw new RuntimeException("Failed to mark event as processed", e.getCause());
+            }
+            return;
+        }
+        EventDeduplicationStore.validateEventId(eventId);
         long expiresAt = calculateExpiresAt();
         try {
             PutItemRequest request = PutItemRequest.builder()
@@ -108,9 +217,11 @@ public class DynamoDbEventDeduplicationService {
                     .conditionExpression(CONDITION_EXPRESSION)
                     .build();
             dynamoDbClient.putItem(request);
+            remember(eventId, expiresAt);
             logger.debug("Successfully marked event {} as processed with expiration {}", eventId, expiresAt);
             
         } catch (ConditionalCheckFailedException e) {
+            remember(eventId, expiresAt);
             logger.debug("Event {} already exists in table {} - idempotent operation", eventId, tableName);
         } catch (DynamoDbException e) {
             logger.error("Failed to mark event {} as processed: {}", eventId, e.getMessage());
@@ -119,22 +230,136 @@ public class DynamoDbEventDeduplicationService {
     }
     
     /**
-     * Validates the event ID according to the service requirements.
-     * 
-     * @param eventId The event ID to validate
-     * @throws IllegalArgumentException if validation fails
+     * Fills the local set of processed events with all events in the table, e.g. at startup of a long-running
+     * deployment. The table is scanned page by page, projecting only the key and expiry attributes.
+     *
+     * @return the number of events read
+     * @throws IllegalStateException if the service has no local set
      */
-    private void validateEventId(String eventId) {
-        if (eventId == null) {
-            throw new IllegalArgumentException("Event ID cannot be null");
+    public int warmUp() {
+        if (processedFingerprints == null) {
+            throw new IllegalStateException("No local set of processed events to warm up");
         }
-        if (eventId.trim().isEmpty()) {
-            throw new IllegalArgumentException("Event ID cannot be empty or blank");
+        int count = 0;
+        Map<String, AttributeValue> startKey = null;
+        try {
+            do {
+                ScanResponse response = dynamoDbClient.scan(ScanRequest.builder()
+                        .tableName(tableName)
+                        .projectionExpression(PROJECTION_EXPRESSION)
+                        .exclusiveStartKey(startKey)
+                        .build());
+                for (Map<String, AttributeValue> item : response.items()) {
+                    remember(item);
+                    count++;
+                }
+                startKey = response.hasLastEvaluatedKey() ? response.lastEvaluatedKey() : null;
+            } while (startKey != null);
+        } catch (ResourceNotFoundException e) {
+            logger.debug("Table {} not found, nothing to warm up", tableName);
+        }
+        logger.info("Loaded {} processed events from table {}", count, tableName);
+        return count;
+    }
+
+    private boolean isKnownProcessed(String eventId) {
+        return processedFingerprints != null && processedFingerprints.contains(eventId);
+    }
+
+    private void remember(String eventId, long expiresAt) {
+        if (processedFingerprints != null) {
+            processedFingerprints.add(eventId, expiresAt);
+        }
+    }
+
+    /**
+     * Remembers an item read from the table until its {@code expires_at}, or for the TTL if it has none.
+     */
+    private void remember(Map<String, AttributeValue> item) {
+        AttributeValue eventId = item.get(EVENT_ID_ATTRIBUTE);
+        if (processedFingerprints == null || eventId == null || eventId.s() == null) {
+            return;
         }
-        if (eventId.length() > MAX_EVENT_ID_LENGTH) {
-            throw new IllegalArgumentException("Event ID cannot be longer than " + MAX_EVENT_ID_LENGTH + " characters");
+        AttributeValue expiresAt = item.get(EXPIRES_AT_ATTRIBUTE);
+        try {
+            remember(eventId.s(), expiresAt != null && expiresAt.n() != null
+                    ? Long.parseLong(expiresAt.n()) : calculateExpiresAt());
+        } catch (NumberFormatException e) {
+            remember(eventId.s(), calculateExpiresAt());
         }
     }
+
+    /**
+     * Reads one chunk of keys, retrying the unprocessed keys until none are left.
+     *
+     * @param keys      Up to 100 keys
+     * @param processed Collects the ids of the items found
+     */
+    private void batchGet(List<Map<String, AttributeValue>> keys, Set<String> processed) throws InterruptedException {
+        KeysAndAttributes request = KeysAndAttributes.builder()
+                .keys(keys)
+                .projectionExpression(PROJECTION_EXPRESSION)
+                .build();
+        int retry = 0;
+        while (true) {
+            BatchGetItemResponse response = dynamoDbClient.batchGetItem(BatchGetItemRequest.builder()
+                    .requestItems(Map.of(tableName, request))
+                    .build());
+            for (Map<String, AttributeValue> item : response.responses().getOrDefault(tableName, List.of())) {
+                AttributeValue eventId = item.get(EVENT_ID_ATTRIBUTE);
+                if (eventId != null) {
+                    processed.add(eventId.s());
+                    remember(item);
+                }
+            }
+            request = response.unprocessedKeys().get(tableName);
+            if (request == null || request.keys().isEmpty()) {
+                return;
+            }
+            if (++retry > MAX_UNPROCESSED_RETRIES) {
+                throw DynamoDbException.builder()
+                        .message(request.keys().size() + " keys still unprocessed after " + MAX_UNPROCESSED_RETRIES + " retries")
+                        .build();
+            }
+            long delayMillis = unprocessedRetryDelayMillis(retry);
+            logger.debug("{} keys unprocessed, retrying in {} ms", request.keys().size(), delayMillis);
+            Thread.sleep(delayMillis);
+        }
+    }
+
+    /**
+     * Marks an event as processed without waiting for the write.
+     * With a batch writer the mark joins the next {@code BatchWriteItem}; as batch writes cannot be conditional,
+     * marking an event again only renews its expires_at. Without one the mark is written synchronously.
+     *
+     * @param eventId The unique identifier of the event to mark as processed
+     * @return a future completed once the mark is written
+     * @throws IllegalArgumentException if eventId is null, empty, or longer than 255 characters
+     */
+    @Override
+    public CompletableFuture<Void> markEventProcessedAsync(String eventId) {
+        EventDeduplicationStore.validateEventId(eventId);
+        if (batchWriter == null) {
+            try {
+                markEventProcessed(eventId);
+                return CompletableFuture.completedFuture(null);
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        long expiresAt = calculateExpiresAt();
+        return batchWriter.put(Map.of(
+                        EVENT_ID_ATTRIBUTE, AttributeValue.builder().s(eventId).build(),
+                        EXPIRES_AT_ATTRIBUTE, AttributeValue.builder().n(String.valueOf(expiresAt)).build()))
+                .thenRun(() -> remember(eventId, expiresAt));
+    }
+
+    /**
+     * @return the backoff before the given retry of unprocessed keys or items: 50ms, 100ms, 200ms, ... up to 1s
+     */
+    static long unprocessedRetryDelayMillis(int retry) {
+        return Math.min(UNPROCESSED_MAX_DELAY_MILLIS, UNPROCESSED_BASE_DELAY_MILLIS * (1L << (retry - 1)));
+    }
     
     /**
      * Calculates the expiration timestamp for the current time plus TTL days.
@@ -0,0 +1,163 @@
+package org.example.service.aws;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compact in-process set of processed event ids, kept in front of the DynamoDB deduplication table.
+ * <p>
+ * Only a 64-bit fingerprint of each id is stored, in primitive open-addressing {@code long[]} tables, so an id costs
+ * 8 to 16 bytes of heap: a million ids fit in about 8-16 MB instead of the ~100 MB of a {@code HashSet<String>}.
+ * The set only remembers positives, so a false positive needs two different ids with the same 64-bit fingerprint
+ * (about one in 10^7 for a million ids).
+ * <p>
+ * Entries are grouped in one bucket per expiry day, matching the TTL of the table: a bucket is dropped as a whole
+ * once its day has passed, so there are at most {@code ttlDays + 1} buckets and no per-entry timestamps.
+ */
+public class EventFingerprintSet {
+    private static final long SECONDS_PER_DAY = 24 * 60 * 60;
+
+    private final Clock clock;
+    private final TreeMap<Long, FingerprintTable> bucketsByExpiryDay = new TreeMap<>();
+
+    public EventFingerprintSet(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * @param eventId The event id.
+     * @return true if the event was added and its bucket has not expired yet.
+     */
+    public synchronized boolean contains(String eventId) {
+        evictExpired();
+        long fingerprint = fingerprint(eventId);
+        for (FingerprintTable table : bucketsByExpiryDay.values()) {
+            if (table.contains(fingerprint)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Remembers a processed event until the end of the day it expires.
+     *
+     * @param eventId   The event id.
+     * @param expiresAt The expiry as a Unix timestamp in seconds, like the {@code expires_at} attribute of the table.
+     */
+    public synchronized void add(String eventId, long expiresAt) {
+        long expiryDay = Math.floorDiv(expiresAt, SECONDS_PER_DAY);
+        if (expiryDay < today()) {
+            return;
+        }
+        evictExpired();
+        long fingerprint = fingerprint(eventId);
+        for (Map.Entry<Long, FingerprintTable> bucket : bucketsByExpiryDay.entrySet()) {
+            if (bucket.getKey() != expiryDay && bucket.getValue().contains(fingerprint)) {
+                return;
+            }
+        }
+        bucketsByExpiryDay.computeIfAbsent(expiryDay, day -> new FingerprintTable()).add(fingerprint);
+    }
+
+    /**
+     * @return The number of ids in the buckets that have not expired yet.
+     */
+    public synchronized int size() {
+        evictExpired();
+        int size = 0;
+        for (FingerprintTable table : bucketsByExpiryDay.values()) {
+            size += table.size;
+        }
+        return size;
+    }
+
+    private void evictExpired() {
+        long today = today();
+        Iterator<Long> days = bucketsByExpiryDay.keySet().iterator();
+        while (days.hasNext() && days.next() < today) {
+            days.remove();
+        }
+    }
+
+    private long today() {
+        return Math.floorDiv(clock.instant().getEpochSecond(), SECONDS_PER_DAY);
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 chars of the id, finished with the MurmurHash3 mixer so that the low bits used
+     * for the table index are well distributed.
+     */
+    static long fingerprint(String eventId) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < eventId.length(); i++) {
+            hash ^= eventId.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        // 0 marks an empty slot
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * Open-addressing set of non-zero longs with linear probing, grown at 3/4 load.
+     */
+    private static final class FingerprintTable {
+        private static final int INITIAL_CAPACITY = 64;
+
+        private long[] slots = new long[INITIAL_CAPACITY];
+        private int size;
+
+        boolean contains(long fingerprint) {
+            int mask = slots.length - 1;
+            for (int i = (int) fingerprint & mask; ; i = (i + 1) & mask) {
+                long slot = slots[i];
+                if (slot == fingerprint) {
+                    return true;
+                }
+                if (slot == 0) {
+                    return false;
+                }
+            }
+        }
+
+        void add(long fingerprint) {
+            if (insert(slots, fingerprint)) {
+                size++;
+                if (size * 4L > slots.length * 3L) {
+                    grow();
+                }
+            }
+        }
+
+        private void grow() {
+            long[] grown = new long[slots.length * 2];
+            for (long slot : slots) {
+                if (slot != 0) {
+                    insert(grown, slot);
+                }
+            }
+            slots = grown;
+        }
+
+        private static boolean insert(long[] slots, long fingerprint) {
+            int mask = slots.length - 1;
+            for (int i = (int) fingerprint & mask; ; i = (i + 1) & mask) {
+                long slot = slots[i];
+                if (slot == fingerprint) {
+                    return false;
+                }
+                if (slot == 0) {
+                    slots[i] = fingerprint;
+                    return true;
+                }
+            }
+        }
+    }
+}
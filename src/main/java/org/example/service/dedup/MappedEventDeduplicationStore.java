@@ -0,0 +1,284 @@
+package org.example.service.dedup;
+
+import org.example.service.EventDeduplicationStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+
+/**
+ * Embedded event deduplication store in a memory-mapped open-addressing hash file, for local runs, single-node
+ * installs and benchmarks that should not need AWS.
+ * <p>
+ * Each event id is keyed by two independent 64-bit hashes of its chars, so lookups neither allocate nor store the
+ * id itself. Collisions are resolved by linear probing. Entries expire like the DynamoDB table: a lookup ignores
+ * an entry past its {@code expires_at}, and {@link #sweepExpired()} rewrites the file without them. The file is
+ * also rewritten, with a larger table, when it gets 70% full.
+ * <p>
+ * Crash safety: a slot is 32 bytes, aligned so it never spans two pages, and its first hash is written last, so a
+ * crash leaves a slot either empty or complete. Each new slot is forced to the device before the mark returns.
+ * Rewrites go to a temporary file that atomically replaces the store.
+ * <p>
+ * File layout: a 32-byte header {@code int magic, int capacity}, then {@code capacity} slots of
+ * {@code long hash1, long hash2, long expiresAt, long unused}. A zero {@code hash1} marks an empty slot.
+ */
+public class MappedEventDeduplicationStore implements EventDeduplicationStore, Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(MappedEventDeduplicationStore.class);
+    private static final int MAGIC = 0x45445031; // "EDP1"
+    private static final int SLOT_SIZE = 32;
+    private static final int HEADER_SIZE = SLOT_SIZE;
+    private static final int HASH2_OFFSET = Long.BYTES;
+    private static final int EXPIRES_AT_OFFSET = 2 * Long.BYTES;
+    public static final int MIN_CAPACITY = 1 << 12;
+    private static final int MAX_CAPACITY = 1 << 25;
+    private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+
+    private final Path path;
+    private final long ttlDays;
+    private final Clock clock;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int capacity;
+    private int occupied;
+
+    /**
+     * Opens the store, creating the file if needed, and drops the expired entries.
+     *
+     * @param path    The hash file.
+     * @param ttlDays The number of days after which entries expire.
+     * @param clock   The clock the expiry is compared with.
+     */
+    public static MappedEventDeduplicationStore open(Path path, long ttlDays, Clock clock) throws IOException {
+        return new MappedEventDeduplicationStore(path, ttlDays, clock);
+    }
+
+    MappedEventDeduplicationStore(Path path, long ttlDays, Clock clock) throws IOException {
+        this.path = path;
+        this.ttlDays = ttlDays;
+        this.clock = clock;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Files.deleteIfExists(temporaryPath());
+        if (!Files.exists(path) || Files.size(path) == 0) {
+            writeTable(path, MIN_CAPACITY, null, 0);
+        }
+        map();
+        int removed = sweepExpired();
+        logger.info("Event deduplication store {} opened: {} events, {} expired removed", path, occupied, removed);
+    }
+
+    @Override
+    public synchronized boolean isEventProcessed(String eventId) {
+        EventDeduplicationStore.validateEventId(eventId);
+        long hash1 = hash1(eventId);
+        long hash2 = hash2(eventId);
+        int mask = capacity - 1;
+        for (int i = (int) hash1 & mask; ; i = (i + 1) & mask) {
+            int offset = slotOffset(i);
+            long slotHash1 = buffer.getLong(offset);
+            if (slotHash1 == 0) {
+                return false;
+            }
+            if (slotHash1 == hash1 && buffer.getLong(offset + HASH2_OFFSET) == hash2) {
+                return buffer.getLong(offset + EXPIRES_AT_OFFSET) > nowSeconds();
+            }
+        }
+    }
+
+    /**
+     * Marks the event as processed until now plus the TTL; marking it again renews the expiry.
+     *
+     * @throws UncheckedIOException if the store could not grow.
+     */
+    @Override
+    public synchronized void markEventProcessed(String eventId) {
+        EventDeduplicationStore.validateEventId(eventId);
+        long hash1 = hash1(eventId);
+        long hash2 = hash2(eventId);
+        long expiresAt = nowSeconds() + ttlDays * SECONDS_PER_DAY;
+        int mask = capacity - 1;
+        for (int i = (int) hash1 & mask; ; i = (i + 1) & mask) {
+            int offset = slotOffset(i);
+            long slotHash1 = buffer.getLong(offset);
+            if (slotHash1 == hash1 && buffer.getLong(offset + HASH2_OFFSET) == hash2) {
+                buffer.putLong(offset + EXPIRES_AT_OFFSET, expiresAt);
+                buffer.force(offset, SLOT_SIZE);
+                return;
+            }
+            if (slotHash1 == 0) {
+                buffer.putLong(offset + HASH2_OFFSET, hash2);
+                buffer.putLong(offset + EXPIRES_AT_OFFSET, expiresAt);
+                // the first hash goes in last, so the slot is not visible until it is complete
+                buffer.putLong(offset, hash1);
+                buffer.force(offset, SLOT_SIZE);
+                occupied++;
+                break;
+            }
+        }
+        if (occupied * 10L > capacity * 7L) {
+            try {
+                rewrite();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to grow event deduplication store " + path, e);
+            }
+        }
+    }
+
+    /**
+     * Rewrites the store without the expired entries, e.g. on a schedule in a long-running deployment.
+     *
+     * @return The number of entries removed.
+     * @throws UncheckedIOException if the store could not be rewritten.
+     */
+    public synchronized int sweepExpired() {
+        int before = occupied;
+        try {
+            rewrite();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to sweep event deduplication store " + path, e);
+        }
+        return before - occupied;
+    }
+
+    /**
+     * @return The number of entries in the file, including the ones that expired since the last sweep.
+     */
+    public synchronized int size() {
+        return occupied;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    /**
+     * Copies the live entries into a table sized for them and atomically replaces the file with it.
+     */
+    private void rewrite() throws IOException {
+        long now = nowSeconds();
+        int live = 0;
+        for (int i = 0; i < capacity; i++) {
+            int offset = slotOffset(i);
+            if (buffer.getLong(offset) != 0 && buffer.getLong(offset + EXPIRES_AT_OFFSET) > now) {
+                live++;
+            }
+        }
+        int newCapacity = Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, live * 2)) << 1);
+        if (newCapacity > MAX_CAPACITY) {
+            throw new IOException("Event deduplication store " + path + " cannot hold " + live + " events");
+        }
+        if (newCapacity == capacity && live == occupied) {
+            return;
+        }
+        Path temporary = temporaryPath();
+        writeTable(temporary, newCapacity, buffer, now);
+        channel.close();
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        map();
+    }
+
+    /**
+     * Writes an empty table to the file and fills it with the live entries of {@code source}, if any.
+     */
+    private void writeTable(Path file, int tableCapacity, MappedByteBuffer source, long now) throws IOException {
+        try (FileChannel target = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer table = target.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) tableCapacity * SLOT_SIZE);
+            int mask = tableCapacity - 1;
+            for (int i = 0; source != null && i < capacity; i++) {
+                int offset = slotOffset(i);
+                long hash1 = source.getLong(offset);
+                long expiresAt = source.getLong(offset + EXPIRES_AT_OFFSET);
+                if (hash1 == 0 || expiresAt <= now) {
+                    continue;
+                }
+                int slot = (int) hash1 & mask;
+                while (table.getLong(slotOffset(slot)) != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                int target0 = slotOffset(slot);
+                table.putLong(target0, hash1);
+                table.putLong(target0 + HASH2_OFFSET, source.getLong(offset + HASH2_OFFSET));
+                table.putLong(target0 + EXPIRES_AT_OFFSET, expiresAt);
+            }
+            table.putInt(Integer.BYTES, tableCapacity);
+            // the magic goes in last, so a torn table is never opened
+            table.putInt(0, MAGIC);
+            table.force();
+        }
+    }
+
+    private void map() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() < HEADER_SIZE) {
+            channel.close();
+            throw new IllegalStateException("Not an event deduplication store: " + path);
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        int tableCapacity = buffer.getInt(Integer.BYTES);
+        if (buffer.getInt(0) != MAGIC || Integer.bitCount(tableCapacity) != 1
+                || channel.size() < HEADER_SIZE + (long) tableCapacity * SLOT_SIZE) {
+            channel.close();
+            throw new IllegalStateException("Not an event deduplication store: " + path);
+        }
+        capacity = tableCapacity;
+        occupied = 0;
+        for (int i = 0; i < capacity; i++) {
+            if (buffer.getLong(slotOffset(i)) != 0) {
+                occupied++;
+            }
+        }
+    }
+
+    private Path temporaryPath() {
+        return path.resolveSibling(path.getFileName() + ".tmp");
+    }
+
+    private long nowSeconds() {
+        return clock.instant().getEpochSecond();
+    }
+
+    private static int slotOffset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    static long hash1(String eventId) {
+        long hash = hash(eventId, 0xcbf29ce484222325L, 0x100000001b3L);
+        // 0 marks an empty slot
+        return hash == 0 ? 1 : hash;
+    }
+
+    static long hash2(String eventId) {
+        return hash(eventId, 0x9e3779b97f4a7c15L, 0xc6a4a7935bd1e995L);
+    }
+
+    /**
+     * FNV-1a style hash over the chars of the id, finished with the MurmurHash3 mixer. The two hashes use different
+     * seeds and multipliers, so that ids colliding in one are not likely to collide in the other.
+     */
+    private static long hash(String eventId, long seed, long multiplier) {
+        long hash = seed;
+        for (int i = 0; i < eventId.length(); i++) {
+            hash ^= eventId.charAt(i);
+            hash *= multiplier;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
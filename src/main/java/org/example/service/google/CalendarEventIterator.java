@@ -0,0 +1,156 @@
+package org.example.service.google;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.example.entity.google.CalendarEvent;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates the events of a paginated Events API response, one event at a time.
+ * <p>
+ * Every page is parsed with a streaming {@link JsonParser} straight from the response stream: the {@code items} array
+ * is bound item by item and the other top-level fields are skipped, except {@code nextPageToken}, which opens the next
+ * page once the current one is exhausted. Only the current event is held in memory.
+ * <p>
+ * Errors are thrown as {@link UncheckedIOException}.
+ */
+class CalendarEventIterator implements Iterator<CalendarEvent>, Closeable {
+
+    /**
+     * Opens the response body of one page.
+     */
+    @FunctionalInterface
+    interface PageFetcher {
+        /**
+         * @param pageToken the token of the page, null for the first page
+         */
+        InputStream fetch(String pageToken) throws IOException, InterruptedException;
+    }
+
+    private final PageFetcher pageFetcher;
+    private final ObjectReader eventReader;
+    private JsonParser parser;
+    private String pageToken;
+    private String nextPageToken;
+    private boolean inItems;
+    private boolean exhausted;
+    private CalendarEvent next;
+    private int pages;
+
+    /**
+     * @param eventReader The reader of {@link CalendarEvent}, which also creates the parser of every page.
+     */
+    CalendarEventIterator(PageFetcher pageFetcher, ObjectReader eventReader) {
+        this.pageFetcher = pageFetcher;
+        this.eventReader = eventReader;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !exhausted) {
+            try {
+                next = advance();
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public CalendarEvent next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        CalendarEvent event = next;
+        next = null;
+        return event;
+    }
+
+    /**
+     * @return the number of pages opened so far.
+     */
+    int getPages() {
+        return pages;
+    }
+
+    @Override
+    public void close() {
+        exhausted = true;
+        closeParser();
+    }
+
+    private CalendarEvent advance() throws IOException {
+        while (!exhausted) {
+            if (parser == null) {
+                openPage();
+                continue;
+            }
+            JsonToken token = parser.nextToken();
+            if (inItems) {
+                if (token == JsonToken.START_OBJECT) {
+                    return eventReader.readValue(parser);
+                }
+                // END_ARRAY: back to the top-level fields of the page
+                inItems = false;
+                continue;
+            }
+            if (token == null || token == JsonToken.END_OBJECT) {
+                closeParser();
+                if (nextPageToken == null) {
+                    exhausted = true;
+                } else {
+                    pageToken = nextPageToken;
+                    nextPageToken = null;
+                }
+            } else if (token == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (GoogleCalendarService.ITEMS.equals(field) && value == JsonToken.START_ARRAY) {
+                    inItems = true;
+                } else if (GoogleCalendarService.NEXT_PAGE_TOKEN.equals(field)) {
+                    nextPageToken = parser.getValueAsString();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return null;
+    }
+
+    private void openPage() throws IOException {
+        InputStream body;
+        try {
+            body = pageFetcher.fetch(pageToken);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while fetching calendar events page");
+        }
+        parser = eventReader.createParser(body);
+        pages++;
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Calendar events page is not a JSON object");
+        }
+    }
+
+    private void closeParser() {
+        if (parser != null) {
+            try {
+                parser.close();
+            } catch (IOException ignored) {
+                // the page has been read, nothing to recover
+            }
+            parser = null;
+        }
+        inItems = false;
+    }
+}
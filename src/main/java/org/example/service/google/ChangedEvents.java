@@ -0,0 +1,30 @@
+package org.example.service.google;
+
+import org.example.entity.google.CalendarEvent;
+
+import java.util.List;
+
+/**
+ * The events of a calendar sync, and the sync token that marks them as seen.
+ * <p>
+ * The token is not stored by the sync itself: once it is stored the next incremental sync no longer returns these
+ * events, so the caller {@link #commit() commits} it only after every event was processed. A run that crashes or
+ * fails on an event is synced again from the previous token.
+ *
+ * @param events         The changed, not cancelled calendar events.
+ * @param calendarId     The synced calendar.
+ * @param nextSyncToken  The token for the next incremental sync, null if the API returned none.
+ * @param syncTokenStore Where the token is committed.
+ */
+public record ChangedEvents(List<CalendarEvent> events, String calendarId, String nextSyncToken,
+                            SyncTokenStore syncTokenStore) {
+
+    /**
+     * Stores the sync token, so the next sync only returns events changed after this one.
+     */
+    public void commit() {
+        if (nextSyncToken != null) {
+            syncTokenStore.save(calendarId, nextSyncToken);
+        }
+    }
+}
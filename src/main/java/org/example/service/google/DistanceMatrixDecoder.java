@@ -0,0 +1,131 @@
+package org.example.service.google;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.example.entity.google.DistanceGoogleMatrix;
+import org.example.entity.google.GoogleMatrixRow;
+import org.example.entity.google.RouteMatrixElement;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.example.utils.JsonDecoder.intValue;
+import static org.example.utils.JsonDecoder.startArray;
+import static org.example.utils.JsonDecoder.startObject;
+import static org.example.utils.JsonDecoder.text;
+
+/**
+ * Streaming decoder of a Distance Matrix response that keeps only what the route services read: the status, and per
+ * element its status, distance and duration. The echoed origin and destination addresses and any other field, e.g.
+ * {@code duration_in_traffic} or {@code fare}, are skipped in the token stream without being materialized.
+ * <p>
+ * Elements keep their position in the row, so a JSON {@code null} row or element is decoded as null like the full
+ * binding of {@link DistanceGoogleMatrix} does.
+ */
+final class DistanceMatrixDecoder {
+    private static final String STATUS = "status";
+    private static final String ROWS = "rows";
+    private static final String ELEMENTS = "elements";
+    private static final String DISTANCE = "distance";
+    private static final String DURATION = "duration";
+    private static final String TEXT = "text";
+    private static final String VALUE = "value";
+
+    private DistanceMatrixDecoder() {
+    }
+
+    /**
+     * @return the matrix, or null if the document is a JSON {@code null}.
+     */
+    static DistanceGoogleMatrix decode(JsonParser parser) throws IOException {
+        if (!startObject(parser, parser.nextToken())) {
+            return null;
+        }
+        DistanceGoogleMatrix matrix = new DistanceGoogleMatrix();
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case STATUS -> matrix.setStatus(text(parser));
+                case ROWS -> matrix.setRows(rows(parser, token));
+                default -> parser.skipChildren();
+            }
+        }
+        return matrix;
+    }
+
+    private static GoogleMatrixRow[] rows(JsonParser parser, JsonToken token) throws IOException {
+        if (!startArray(parser, token)) {
+            return null;
+        }
+        List<GoogleMatrixRow> rows = new ArrayList<>();
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            rows.add(row(parser, token));
+        }
+        return rows.toArray(GoogleMatrixRow[]::new);
+    }
+
+    private static GoogleMatrixRow row(JsonParser parser, JsonToken token) throws IOException {
+        if (!startObject(parser, token)) {
+            return null;
+        }
+        GoogleMatrixRow row = new GoogleMatrixRow();
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            token = parser.nextToken();
+            if (ELEMENTS.equals(field)) {
+                row.setElements(elements(parser, token));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return row;
+    }
+
+    private static RouteMatrixElement[] elements(JsonParser parser, JsonToken token) throws IOException {
+        if (!startArray(parser, token)) {
+            return null;
+        }
+        List<RouteMatrixElement> elements = new ArrayList<>();
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            elements.add(element(parser, token));
+        }
+        return elements.toArray(RouteMatrixElement[]::new);
+    }
+
+    private static RouteMatrixElement element(JsonParser parser, JsonToken token) throws IOException {
+        if (!startObject(parser, token)) {
+            return null;
+        }
+        RouteMatrixElement element = new RouteMatrixElement();
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            token = parser.nextToken();
+            switch (field) {
+                case STATUS -> element.setStatus(text(parser));
+                case DISTANCE -> element.setDistance(representation(parser, token));
+                case DURATION -> element.setDuration(representation(parser, token));
+                default -> parser.skipChildren();
+            }
+        }
+        return element;
+    }
+
+    private static RouteMatrixElement.ResultRepresentation representation(JsonParser parser, JsonToken token) throws IOException {
+        if (!startObject(parser, token)) {
+            return null;
+        }
+        RouteMatrixElement.ResultRepresentation representation = new RouteMatrixElement.ResultRepresentation();
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            switch (field) {
+                case TEXT -> representation.setText(text(parser));
+                case VALUE -> representation.setValue(intValue(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return representation;
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.service.google;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Builds the {@code fields} selector of a Google API partial response from the properties a class binds.
+ * <p>
+ * The selector lists the properties Jackson deserializes, with the same names, and selects the sub-fields of nested
+ * beans and of lists of beans in parentheses, e.g. {@code id,start(dateTime,date)}. Deriving it from the binding keeps
+ * it in step with the entity: a property added to the entity is requested, a field the entity does not bind is not
+ * downloaded at all.
+ */
+final class FieldMask {
+
+    private FieldMask() {
+    }
+
+    /**
+     * @return the selector of the properties {@code type} binds.
+     */
+    static String of(ObjectMapper objectMapper, Class<?> type) {
+        return of(objectMapper, objectMapper.constructType(type), new HashSet<>());
+    }
+
+    private static String of(ObjectMapper objectMapper, JavaType type, Set<Class<?>> path) {
+        if (!path.add(type.getRawClass())) {
+            throw new IllegalArgumentException("Recursive type " + type.getRawClass().getName() + " has no finite field mask");
+        }
+        StringJoiner fields = new StringJoiner(",");
+        for (BeanPropertyDefinition property : objectMapper.getDeserializationConfig().introspect(type).findProperties()) {
+            if (!property.couldDeserialize()) {
+                continue;
+            }
+            JavaType propertyType = property.getPrimaryType();
+            if (propertyType.isContainerType() && propertyType.getContentType() != null) {
+                propertyType = propertyType.getContentType();
+            }
+            fields.add(isBean(propertyType)
+                    ? property.getName() + "(" + of(objectMapper, propertyType, path) + ")"
+                    : property.getName());
+        }
+        path.remove(type.getRawClass());
+        return fields.toString();
+    }
+
+    /**
+     * @return true for the types with sub-fields: classes that are not JDK types, primitives or enums.
+     */
+    private static boolean isBean(JavaType type) {
+        Class<?> raw = type.getRawClass();
+        return !raw.isPrimitive() && !raw.isEnum() && !raw.isArray() && !type.isContainerType()
+                && !raw.getName().startsWith("java.");
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.service.google;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * SyncTokenStore backed by a properties file, one entry per calendar id.
+ * The file is replaced atomically on every change, so a crash never leaves a half-written token behind.
+ */
+public class FileSyncTokenStore implements SyncTokenStore {
+    private static final Logger logger = LoggerFactory.getLogger(FileSyncTokenStore.class);
+    private final Path path;
+    private final Properties tokens = new Properties();
+
+    public FileSyncTokenStore(Path path) {
+        this.path = path;
+        if (Files.exists(path)) {
+            try (InputStream inputStream = Files.newInputStream(path)) {
+                tokens.load(inputStream);
+                logger.debug("Loaded sync tokens for {} calendars from {}", tokens.size(), path);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to load sync tokens from " + path, e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized Optional<String> load(String calendarId) {
+        return Optional.ofNullable(tokens.getProperty(calendarId));
+    }
+
+    @Override
+    public synchronized void save(String calendarId, String syncToken) {
+        tokens.setProperty(calendarId, syncToken);
+        store();
+    }
+
+    @Override
+    public synchronized void clear(String calendarId) {
+        if (tokens.remove(calendarId) != null) {
+            store();
+        }
+    }
+
+    private void store() {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Path tempFile = path.resolveSibling(path.getFileName() + ".tmp");
+            try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                tokens.store(outputStream, "Google Calendar sync tokens");
+            }
+            Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save sync tokens to " + path, e);
+        }
+    }
+}
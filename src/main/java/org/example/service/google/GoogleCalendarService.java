@@ -1,65 +1,184 @@
 package org.example.service.google;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.example.entity.EndPoint;
 import org.example.entity.google.CalendarEvent;
 import org.example.entity.google.GoogleCalendar;
+import org.example.service.AccessTokenProvider;
+import org.example.service.ratelimit.RateGovernor;
+import org.example.utils.HttpTransport;
+import org.example.utils.JsonBody;
+import org.example.utils.JsonCodecs;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
 import java.net.HttpURLConnection;
 import java.net.URI;
+import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 
 public class GoogleCalendarService {
     private static final Logger logger = LoggerFactory.getLogger(GoogleCalendarService.class);
     // TODO: 07.07.2025  
     public static final String PRIMARY_EVENTS_END_POINT = "calendars/primary/events";
-    public static final String AUTHORIZATION = "Authorization";
+    public static final String CALENDAR_LIST_END_POINT = "users/me/calendarList";
+    public static final int MAX_PARALLEL_CALENDARS = 8;
+    public static final String AUTHORIZATION = AccessTokenProvider.AUTHORIZATION_HEADER;
     public static final String BEARER = "Bearer ";
     public static final String TIME_PARAMS_INVALID_ERROR = "Time parameters cannot be null or empty during fetching calendar events. Please provide valid UTC date strings in RFC3339 format. Example: 2023-10-01T00:00:00Z";
     public static final String ITEMS = "items";
-    private final String accessToken;
+    public static final String NEXT_PAGE_TOKEN = "nextPageToken";
+    public static final String NEXT_SYNC_TOKEN = "nextSyncToken";
+    public static final String PRIMARY_CALENDAR_ID = "primary";
+    public static final String CANCELLED_STATUS = "cancelled";
+    private static final HttpResponse.BodyHandler<JsonBody> RESPONSE_BODY_HANDLER = JsonBody.handler(logger);
+    private final AccessTokenProvider tokenProvider;
     private static final String CALENDAR_API_URL = EndPoint.GOOGLE_CALENDAR.getUrl();
     private final HttpClient httpClient;
-    private final ObjectMapper objectMapper;
+    private final RateGovernor rateGovernor;
+    private final String eventsPageFields;
+    private final ObjectReader eventReader;
+    private final ObjectReader eventPageReader;
+    private final ObjectReader calendarListPageReader;
+    private String searchQuery;
 
     public GoogleCalendarService(String accessToken, HttpClient httpClient, ObjectMapper objectMapper) {
-        this.accessToken = accessToken;
+        this(AccessTokenProvider.fixed(accessToken), httpClient, objectMapper, null);
+    }
+
+    public GoogleCalendarService(String accessToken, HttpClient httpClient, ObjectMapper objectMapper, RateGovernor rateGovernor) {
+        this(AccessTokenProvider.fixed(accessToken), httpClient, objectMapper, rateGovernor);
+    }
+
+    /**
+     * @param tokenProvider Supplies the access token for every request and refreshes it after a 401.
+     * @param rateGovernor  Paces the requests to the Calendar API, null to send them unpaced.
+     */
+    public GoogleCalendarService(AccessTokenProvider tokenProvider, HttpClient httpClient, ObjectMapper objectMapper, RateGovernor rateGovernor) {
+        this.tokenProvider = tokenProvider;
         this.httpClient = httpClient;
-        this.objectMapper = objectMapper;
+        this.rateGovernor = rateGovernor;
+        this.eventsPageFields = ITEMS + "(" + FieldMask.of(objectMapper, CalendarEvent.class) + ")," + NEXT_PAGE_TOKEN;
+        JsonCodecs codecs = JsonCodecs.of(objectMapper);
+        this.eventReader = codecs.reader(CalendarEvent.class);
+        this.eventPageReader = codecs.reader(EventPage.class);
+        this.calendarListPageReader = codecs.reader(CalendarListPage.class);
+    }
+
+    /**
+     * Sets a free-text query the Calendar API filters date range fetches with, so that events which are not visits
+     * are not downloaded. Google matches it against the summary, description, location and attendees of an event;
+     * use a term every visit carries, e.g. the customer delimiter of the summaries, and mind that an event without
+     * it, e.g. a Calendly booking, is then not fetched at all. Incremental syncs are not filtered, as the API does not
+     * accept a query together with a sync token.
+     *
+     * @param searchQuery The query, null or blank to fetch all events.
+     */
+    public void setSearchQuery(String searchQuery) {
+        this.searchQuery = searchQuery == null || searchQuery.isBlank() ? null : searchQuery;
+    }
+
+    /**
+     * Fetches the calendar list of the user, following all result pages.
+     *
+     * @return The calendars the user has access to, including hidden ones.
+     * @throws IOException          If the API answers with an error status.
+     * @throws InterruptedException If the calling thread is interrupted.
+     */
+    public List<GoogleCalendar> getCalendarList() throws IOException, InterruptedException {
+        List<GoogleCalendar> calendars = new ArrayList<>();
+        String pageToken = null;
+        do {
+            String url = CALENDAR_API_URL + CALENDAR_LIST_END_POINT + "?showHidden=true"
+                    + (pageToken == null ? "" : "&pageToken=" + encode(pageToken));
+            HttpRequest request = HttpTransport.newRequestBuilder()
+                    .uri(URI.create(url))
+                    .header(AUTHORIZATION, BEARER + tokenProvider.getAccessToken())
+                    .GET()
+                    .build();
+            HttpResponse<JsonBody> response = send(request, RESPONSE_BODY_HANDLER);
+            if (response.statusCode() != HttpURLConnection.HTTP_OK) {
+                logger.error("Failed to fetch calendar list. Status: {}, Response: {}", response.statusCode(), response.body());
+                throw new IOException("Failed to fetch calendar list. Status: " + response.statusCode());
+            }
+            CalendarListPage page = response.body().read(calendarListPageReader);
+            if (page.items() != null) {
+                calendars.addAll(page.items());
+            }
+            pageToken = page.nextPageToken();
+        } while (pageToken != null);
+        logger.info("Fetched {} calendars", calendars.size());
+        return calendars;
     }
 
-    public List<GoogleCalendar> getCalendarList() {
-        throw new UnsupportedOperationException("Method not implemented yet");
+    /**
+     * @return the ids of the calendars selected in the Google Calendar UI.
+     */
+    public List<String> getSelectedCalendarIds() throws IOException, InterruptedException {
+        return getCalendarList().stream()
+                .filter(calendar -> calendar.isSelected() && !calendar.isDeleted())
+                .map(GoogleCalendar::getId)
+                .toList();
     }
 
     public List<CalendarEvent> getAllEvents() throws IOException, InterruptedException {
-        HttpRequest request = HttpRequest.newBuilder()
+        HttpRequest request = HttpTransport.newRequestBuilder()
 
-                .uri(URI.create(CALENDAR_API_URL + PRIMARY_EVENTS_END_POINT))
-                .header(AUTHORIZATION, BEARER + accessToken)
+                .uri(URI.create(CALENDAR_API_URL + PRIMARY_EVENTS_END_POINT + "?fields=" + encode(eventsPageFields)))
+                .header(AUTHORIZATION, BEARER + tokenProvider.getAccessToken())
                 .GET()
                 .build();
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<JsonBody> response = send(request, RESPONSE_BODY_HANDLER);
         if (response.statusCode() == HttpURLConnection.HTTP_OK) {
             logger.info("Successfully fetched calendar events.");
             logger.debug("Response body: {}", response.body());
         } else {
             logger.error("Failed to fetch calendar events. Status: {}", response.statusCode());
         }
-        return parseEvents(response.body());
+        EventPage page;
+        try {
+            page = response.body().read(eventPageReader);
+        } catch (JsonProcessingException e) {
+            logger.error("Error parsing JSON response: {}", e.getMessage());
+            throw new RuntimeException(e);
+        }
+        return page.items();
     }
 
     /**
-     * Fetches calendar events for a specific date range.
+     * Fetches calendar events for a specific date range, following all result pages.
      *
      * @param UTCTimeMin date The date in RFC3339 format (e.g., "2023-10-01T00:00:00Z").
      * @param UTCTimeMax date The date in RFC3339 format (e.g., "2023-10-01T00:00:00Z").
@@ -69,40 +188,343 @@ public class GoogleCalendarService {
      */
 
     public List<CalendarEvent> getEventsByDate(String UTCTimeMin, String UTCTimeMax) throws IOException, InterruptedException {
+        try (Stream<CalendarEvent> events = streamEventsByDate(UTCTimeMin, UTCTimeMax)) {
+            List<CalendarEvent> result = events.toList();
+            logger.info("Successfully fetched {} calendar events for date range: from: {}, to: {}", result.size(), UTCTimeMin, UTCTimeMax);
+            return result;
+        } catch (UncheckedIOException e) {
+            if (e.getCause() instanceof InterruptedIOException) {
+                throw new InterruptedException(e.getCause().getMessage());
+            }
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Streams calendar events for a specific date range, ordered by start time.
+     * <p>
+     * Pages are requested lazily while the stream is consumed, and each page is parsed straight from the response
+     * stream, so memory stays bounded by one event whatever the size of the range. Only the fields
+     * {@link CalendarEvent} binds are requested, and the events are filtered by the search query if one is set. Close
+     * the stream to release the connection of a partly read page. Fetch and parse errors are thrown as {@link UncheckedIOException}.
+     *
+     * @param UTCTimeMin date The date in RFC3339 format (e.g., "2023-10-01T00:00:00Z").
+     * @param UTCTimeMax date The date in RFC3339 format (e.g., "2023-10-01T00:00:00Z").
+     * @return A lazy stream of the calendar events.
+     */
+    public Stream<CalendarEvent> streamEventsByDate(String UTCTimeMin, String UTCTimeMax) {
+        return streamEventsByDate(PRIMARY_CALENDAR_ID, UTCTimeMin, UTCTimeMax);
+    }
+
+    /**
+     * Streams the events of the given calendar for a specific date range, ordered by start time.
+     *
+     * @param calendarId The calendar id, as returned by {@link #getCalendarList()}.
+     * @see #streamEventsByDate(String, String)
+     */
+    public Stream<CalendarEvent> streamEventsByDate(String calendarId, String UTCTimeMin, String UTCTimeMax) {
         // Validate input parameters
         if (UTCTimeMin == null || UTCTimeMax == null || UTCTimeMin.isEmpty() || UTCTimeMax.isEmpty()) {
             throw new IllegalArgumentException(TIME_PARAMS_INVALID_ERROR);
         }
-        StringBuilder urlBuilder = new StringBuilder(CALENDAR_API_URL + PRIMARY_EVENTS_END_POINT);
-        urlBuilder.append("?timeMin=").append(UTCTimeMin)
-                .append("&timeMax=").append(UTCTimeMax)
-                .append("&singleEvents=true")
-                .append("&orderBy=startTime");
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(urlBuilder.toString()))
-                .header(AUTHORIZATION, BEARER + accessToken)
+        String endPoint = PRIMARY_CALENDAR_ID.equals(calendarId)
+                ? PRIMARY_EVENTS_END_POINT
+                : "calendars/" + encode(calendarId) + "/events";
+        String query = "?timeMin=" + UTCTimeMin + "&timeMax=" + UTCTimeMax + "&singleEvents=true&orderBy=startTime"
+                + "&fields=" + encode(eventsPageFields)
+                + (searchQuery == null ? "" : "&q=" + encode(searchQuery));
+        CalendarEventIterator iterator = new CalendarEventIterator(
+                pageToken -> fetchEventsPage(endPoint + query, pageToken), eventReader);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    iterator.close();
+                    logger.debug("Calendar events stream closed after {} pages", iterator.getPages());
+                });
+    }
+
+    /**
+     * Fetches the events of several calendars for a specific date range and merges them by start time.
+     * <p>
+     * The calendars are fetched concurrently, so the total latency is close to that of the slowest calendar. Each
+     * calendar is already ordered by start time, so the results are combined with a k-way merge. An event shared by
+     * several calendars, e.g. a visit with two technicians invited, is returned once.
+     *
+     * @param calendarIds The calendar ids, as returned by {@link #getCalendarList()}.
+     * @param UTCTimeMin  date The date in RFC3339 format (e.g., "2023-10-01T00:00:00Z").
+     * @param UTCTimeMax  date The date in RFC3339 format (e.g., "2023-10-01T00:00:00Z").
+     * @return The events of all calendars, ordered by start time.
+     * @throws IOException          If fetching any of the calendars fails.
+     * @throws InterruptedException If the calling thread is interrupted.
+     */
+    public List<CalendarEvent> getEventsFromCalendars(List<String> calendarIds, String UTCTimeMin, String UTCTimeMax)
+            throws IOException, InterruptedException {
+        if (calendarIds.isEmpty()) {
+            return List.of();
+        }
+        if (calendarIds.size() == 1) {
+            return collect(calendarIds.get(0), UTCTimeMin, UTCTimeMax);
+        }
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(calendarIds.size(), MAX_PARALLEL_CALENDARS), runnable -> {
+            Thread thread = new Thread(runnable, "calendar-fetch-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<List<CalendarEvent>>> futures = new ArrayList<>(calendarIds.size());
+            for (String calendarId : calendarIds) {
+                futures.add(executor.submit(() -> collect(calendarId, UTCTimeMin, UTCTimeMax)));
+            }
+            List<List<CalendarEvent>> perCalendar = new ArrayList<>(futures.size());
+            for (Future<List<CalendarEvent>> future : futures) {
+                try {
+                    perCalendar.add(future.get());
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof IOException ioException) {
+                        throw ioException;
+                    }
+                    throw new IOException("Failed to fetch calendar events", e.getCause());
+                }
+            }
+            List<CalendarEvent> merged = mergeByStartTime(perCalendar);
+            logger.info("Fetched {} calendar events from {} calendars for date range: from: {}, to: {}",
+                    merged.size(), calendarIds.size(), UTCTimeMin, UTCTimeMax);
+            return merged;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<CalendarEvent> collect(String calendarId, String UTCTimeMin, String UTCTimeMax) throws IOException {
+        try (Stream<CalendarEvent> events = streamEventsByDate(calendarId, UTCTimeMin, UTCTimeMax)) {
+            return events.toList();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Merges event lists that are each ordered by start time into one ordered list, dropping repeated event ids.
+     */
+    static List<CalendarEvent> mergeByStartTime(List<List<CalendarEvent>> sortedLists) {
+        PriorityQueue<CalendarEventCursor> heads = new PriorityQueue<>(Math.max(1, sortedLists.size()),
+                Comparator.comparing(CalendarEventCursor::start));
+        int total = 0;
+        for (List<CalendarEvent> events : sortedLists) {
+            total += events.size();
+            if (!events.isEmpty()) {
+                heads.add(CalendarEventCursor.at(events, 0));
+            }
+        }
+        List<CalendarEvent> merged = new ArrayList<>(total);
+        Set<String> seenIds = new HashSet<>();
+        while (!heads.isEmpty()) {
+            CalendarEventCursor head = heads.poll();
+            CalendarEvent event = head.current();
+            if (event.getId() == null || seenIds.add(event.getId())) {
+                merged.add(event);
+            }
+            if (head.index() + 1 < head.events().size()) {
+                heads.add(CalendarEventCursor.at(head.events(), head.index() + 1));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * @return the start of the event; all-day events start at midnight UTC, events without a start sort last.
+     */
+    static Instant startOf(CalendarEvent event) {
+        CalendarEvent.EventDateTime start = event.getStart();
+        if (start == null) {
+            return Instant.MAX;
+        }
+        if (start.getDateTime() != null) {
+            return OffsetDateTime.parse(start.getDateTime()).toInstant();
+        }
+        if (start.getDate() != null) {
+            return LocalDate.parse(start.getDate()).atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+        return Instant.MAX;
+    }
+
+    private record CalendarEventCursor(List<CalendarEvent> events, int index, Instant start) {
+        static CalendarEventCursor at(List<CalendarEvent> events, int index) {
+            return new CalendarEventCursor(events, index, startOf(events.get(index)));
+        }
+
+        CalendarEvent current() {
+            return events.get(index);
+        }
+    }
+
+    /**
+     * Opens the body of one events page as a stream.
+     *
+     * @param endPointWithQuery The events endpoint with its query string.
+     * @param pageToken         The page token, null for the first page.
+     */
+    private InputStream fetchEventsPage(String endPointWithQuery, String pageToken) throws IOException, InterruptedException {
+        String url = CALENDAR_API_URL + endPointWithQuery + (pageToken == null ? "" : "&pageToken=" + encode(pageToken));
+        HttpRequest request = HttpTransport.newRequestBuilder()
+                .uri(URI.create(url))
+                .header(AUTHORIZATION, BEARER + tokenProvider.getAccessToken())
                 .GET()
                 .build();
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-        if (response.statusCode() == HttpURLConnection.HTTP_OK) {
-            logger.info("Successfully fetched calendar events for date range: from: {}, to: {}", UTCTimeMin, UTCTimeMax);
-            logger.debug("Response body: {}", response.body());
-        } else {
-            //todo handle error properly
-            logger.error("Failed to fetch calendar events for date range: from: {}, to: {}. Response: {}", UTCTimeMin, UTCTimeMax, response.statusCode());
+        HttpResponse<InputStream> response = send(request, HttpTransport.ofInputStream());
+        if (response.statusCode() != HttpURLConnection.HTTP_OK) {
+            String error;
+            try (InputStream body = response.body()) {
+                error = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            logger.error("Failed to fetch calendar events page {}. Status: {}, Response: {}", endPointWithQuery, response.statusCode(), error);
+            throw new IOException("Failed to fetch calendar events. Status: " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    /**
+     * Fetches the events changed since the previous call, using the {@code nextSyncToken} kept in the store.
+     * <p>
+     * Without a stored token a full sync from {@code UTCTimeMin} is done and its token is stored. An expired token
+     * (410 Gone) is cleared and followed by a full sync. Incremental requests carry no time filters, as the API rejects
+     * them together with a sync token, so changed events outside the original window are returned as well.
+     * Cancelled events are dropped. The new token is not stored here: it is returned with the events and stored by
+     * {@link ChangedEvents#commit()} once they were processed, so a failed sync or run is repeated on the next call.
+     *
+     * @param syncTokenStore Keeps the sync token between runs.
+     * @param UTCTimeMin     The start of a full sync in RFC3339 format (e.g., "2023-10-01T00:00:00Z").
+     * @return The changed, not cancelled calendar events and their sync token.
+     * @throws IOException          If the API answers with an error status.
+     * @throws InterruptedException If the calling thread is interrupted.
+     */
+    public ChangedEvents getChangedEvents(SyncTokenStore syncTokenStore, String UTCTimeMin) throws IOException, InterruptedException {
+        Optional<String> syncToken = syncTokenStore.load(PRIMARY_CALENDAR_ID);
+        if (syncToken.isPresent()) {
+            Optional<ChangedEvents> changed = syncEvents(syncTokenStore, "&syncToken=" + encode(syncToken.get()));
+            if (changed.isPresent()) {
+                logger.info("Incremental sync fetched {} changed calendar events", changed.get().events().size());
+                return changed.get();
+            }
+            logger.warn("Calendar sync token expired, falling back to a full sync from {}", UTCTimeMin);
+            syncTokenStore.clear(PRIMARY_CALENDAR_ID);
+        }
+        if (UTCTimeMin == null || UTCTimeMin.isEmpty()) {
+            throw new IllegalArgumentException(TIME_PARAMS_INVALID_ERROR);
+        }
+        ChangedEvents events = syncEvents(syncTokenStore, "&timeMin=" + UTCTimeMin)
+                .orElseThrow(() -> new IOException("Full calendar sync was rejected with 410 Gone"));
+        logger.info("Full sync fetched {} calendar events from {}", events.events().size(), UTCTimeMin);
+        return events;
+    }
+
+    /**
+     * Reads all pages of a sync.
+     *
+     * @return the events with the sync token of the last page, or empty if the API answered 410 Gone.
+     */
+    private Optional<ChangedEvents> syncEvents(SyncTokenStore syncTokenStore, String query) throws IOException, InterruptedException {
+        List<CalendarEvent> events = new ArrayList<>();
+        String pageToken = null;
+        String nextSyncToken;
+        do {
+            StringBuilder urlBuilder = new StringBuilder(CALENDAR_API_URL + PRIMARY_EVENTS_END_POINT);
+            urlBuilder.append("?singleEvents=true").append(query)
+                    .append("&fields=").append(encode(eventsPageFields + "," + NEXT_SYNC_TOKEN));
+            if (pageToken != null) {
+                urlBuilder.append("&pageToken=").append(encode(pageToken));
+            }
+            HttpRequest request = HttpTransport.newRequestBuilder()
+                    .uri(URI.create(urlBuilder.toString()))
+                    .header(AUTHORIZATION, BEARER + tokenProvider.getAccessToken())
+                    .GET()
+                    .build();
+            HttpResponse<JsonBody> response = send(request, RESPONSE_BODY_HANDLER);
+            if (response.statusCode() == HttpURLConnection.HTTP_GONE) {
+                return Optional.empty();
+            }
+            if (response.statusCode() != HttpURLConnection.HTTP_OK) {
+                logger.error("Failed to sync calendar events. Status: {}, Response: {}", response.statusCode(), response.body());
+                throw new IOException("Failed to sync calendar events. Status: " + response.statusCode());
+            }
+            EventPage page = response.body().read(eventPageReader);
+            if (page.items() != null) {
+                for (CalendarEvent event : page.items()) {
+                    if (!CANCELLED_STATUS.equals(event.getStatus())) {
+                        events.add(event);
+                    }
+                }
+            }
+            pageToken = page.nextPageToken();
+            nextSyncToken = page.nextSyncToken();
+        } while (pageToken != null);
+        if (nextSyncToken == null) {
+            logger.warn("Last page of calendar sync carried no sync token");
+        }
+        return Optional.of(new ChangedEvents(events, PRIMARY_CALENDAR_ID, nextSyncToken, syncTokenStore));
+    }
+
+    /**
+     * Sends the request, paced by the rate governor if there is one. A 401 response forces one token refresh and the
+     * request is replayed with the new token.
+     */
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) throws IOException, InterruptedException {
+        HttpResponse<T> response = dispatch(request, bodyHandler);
+        if (response.statusCode() != HttpURLConnection.HTTP_UNAUTHORIZED) {
+            return response;
+        }
+        Optional<String> refreshedToken = tokenProvider.refreshAccessToken(AccessTokenProvider.tokenOf(request, BEARER));
+        if (refreshedToken.isEmpty()) {
+            return response;
+        }
+        if (response.body() instanceof Closeable body) {
+            body.close();
+        }
+        logger.warn("Google rejected the access token, replaying {} with a refreshed token", request.uri().getPath());
+        return dispatch(AccessTokenProvider.withAuthorization(request, BEARER + refreshedToken.get()), bodyHandler);
+    }
+
+    private <T> HttpResponse<T> dispatch(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) throws IOException, InterruptedException {
+        if (rateGovernor == null) {
+            return httpClient.send(request, bodyHandler);
         }
-        return parseEvents(response.body());
+        return rateGovernor.send(EndPoint.GOOGLE_CALENDAR, httpClient, request, bodyHandler);
     }
 
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * One page of an Events API response; the other fields are skipped while parsing.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record EventPage(List<CalendarEvent> items, String nextPageToken, String nextSyncToken) {
+    }
+
+    /**
+     * One page of a CalendarList API response.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record CalendarListPage(List<GoogleCalendar> items, String nextPageToken) {
+    }
+
+    /**
+     * Parses the events of an Events API response.
+     *
+     * @throws IllegalArgumentException if the response has no {@code items}.
+     */
     public List<CalendarEvent> parseEvents(String json) throws IOException {
-        JsonNode rootNode;
+        EventPage page;
         try {
-            rootNode = objectMapper.readTree(json);
+            page = eventPageReader.readValue(json);
         } catch (JsonProcessingException e) {
             logger.error("Error parsing JSON response: {}", e.getMessage());
             throw new RuntimeException(e);
         }
-        JsonNode itemsNode = rootNode.get(ITEMS);
-        return objectMapper.readerForListOf(CalendarEvent.class).readValue(itemsNode);
+        if (page.items() == null) {
+            throw new IllegalArgumentException("Calendar events response has no " + ITEMS);
+        }
+        return page.items();
     }
 }
@@ -2,9 +2,19 @@ package org.example.service.google;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.AccessLevel;
 import lombok.Setter;
+import org.example.entity.EndPoint;
 import org.example.entity.google.DistanceGoogleMatrix;
+import org.example.entity.google.GoogleMatrixRow;
+import org.example.entity.google.GoogleMatrixStatus;
+import org.example.entity.google.RouteMatrixElement;
 import org.example.service.RouteService;
+import org.example.service.ratelimit.RateGovernor;
+import org.example.utils.HttpTransport;
+import org.example.utils.JsonBody;
+import org.example.utils.JsonCodecs;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -15,21 +25,53 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 
 @Setter
 public class GoogleRouteService implements RouteService {
     private static final Logger logger = LoggerFactory.getLogger(GoogleRouteService.class);
     private static final String GOOGLE_MAP_API_URL = "https://maps.googleapis.com/maps/api/distancematrix/json";
+    public static final int MAX_DESTINATIONS_PER_REQUEST = 25;
+    public static final int MAX_ELEMENTS_PER_REQUEST = 100;
+    // "|" separates the destinations and has to be encoded in the query string
+    private static final String DESTINATION_SEPARATOR = "%7C";
+    private static final HttpResponse.BodyHandler<JsonBody> RESPONSE_BODY_HANDLER = JsonBody.handler(logger);
     private final String apiKey;
     private HttpClient httpClient;
     private ObjectMapper objectMapper;
+    @Setter(AccessLevel.NONE)
+    private ObjectReader matrixReader;
+    private RateGovernor rateGovernor;
+    /**
+     * Binds the whole response into {@link DistanceGoogleMatrix}, e.g. to inspect the echoed addresses while
+     * debugging; by default only the fields the route services read are decoded.
+     */
+    private boolean fullBinding;
 
     public GoogleRouteService(String apiKey, HttpClient httpClient, ObjectMapper objectMapper) {
+        this(apiKey, httpClient, objectMapper, null);
+    }
+
+    /**
+     * @param rateGovernor Paces the Distance Matrix requests, null to send them unpaced.
+     */
+    public GoogleRouteService(String apiKey, HttpClient httpClient, ObjectMapper objectMapper, RateGovernor rateGovernor) {
         this.apiKey = apiKey;
         this.httpClient = httpClient;
+        setObjectMapper(objectMapper);
+        this.rateGovernor = rateGovernor;
+    }
+
+    public void setObjectMapper(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
+        this.matrixReader = objectMapper == null ? null : JsonCodecs.of(objectMapper).reader(DistanceGoogleMatrix.class);
     }
 
     @Override
@@ -49,24 +91,129 @@ public class GoogleRouteService implements RouteService {
                 encode(departAddress),
                 encode(destinationAddress),
                 apiKey);
-        HttpRequest request = HttpRequest.newBuilder()
+        return requestMatrix(url);
+    }
+
+    /**
+     * Estimates the routes from one departure address to many destinations with as few Distance Matrix requests as
+     * possible: distinct destinations are sent {@value #MAX_DESTINATIONS_PER_REQUEST} per request, and every element
+     * of the response row is mapped back to the destination at the same position.
+     *
+     * @param departAddress        The departure address.
+     * @param destinationAddresses The destination addresses, may contain duplicates.
+     * @return The route per destination address; destinations without a route are left out.
+     */
+    @Override
+    public Map<String, RouteMatrixElement> getRouteEstimates(String departAddress, List<String> destinationAddresses) throws IOException, InterruptedException {
+        if (departAddress == null || departAddress.isBlank()) {
+            logger.warn("Departure address is null or empty");
+            return Map.of();
+        }
+        List<String> destinations = destinationAddresses.stream()
+                .filter(address -> address != null && !address.isBlank())
+                .distinct()
+                .toList();
+        Map<String, RouteMatrixElement> routes = new LinkedHashMap<>();
+        for (int from = 0; from < destinations.size(); from += MAX_DESTINATIONS_PER_REQUEST) {
+            List<String> chunk = destinations.subList(from, Math.min(from + MAX_DESTINATIONS_PER_REQUEST, destinations.size()));
+            String url = String.format("%s?origins=%s&destinations=%s&key=%s",
+                    GOOGLE_MAP_API_URL,
+                    encode(departAddress),
+                    chunk.stream().map(this::encode).collect(Collectors.joining(DESTINATION_SEPARATOR)),
+                    apiKey);
+            Optional<DistanceGoogleMatrix> matrix = requestMatrix(url);
+            if (matrix.isEmpty() || matrix.get().getStatus() != GoogleMatrixStatus.OK
+                    || matrix.get().getRows() == null || matrix.get().getRows().length == 0) {
+                logger.warn("No route data for {} destinations, status: {}", chunk.size(), matrix.map(DistanceGoogleMatrix::getStatus).orElse(null));
+                continue;
+            }
+            RouteMatrixElement[] elements = matrix.get().getRows()[0].getElements();
+            for (int i = 0; i < chunk.size() && i < elements.length; i++) {
+                if (ELEMENT_OK.equals(elements[i].getStatus())) {
+                    routes.put(chunk.get(i), elements[i]);
+                } else {
+                    logger.warn("No route to {}: {}", chunk.get(i), elements[i].getStatus());
+                }
+            }
+        }
+        logger.info("Received routes for {} of {} destinations", routes.size(), destinations.size());
+        return routes;
+    }
+
+    /**
+     * Requests the full distance matrix between the given places, every place being both an origin and a destination.
+     * The Distance Matrix API allows {@value #MAX_ELEMENTS_PER_REQUEST} elements per request, so up to 10 places take
+     * one request; more places are requested in blocks of origin rows, which are joined into one matrix.
+     *
+     * @param addresses The places, at most {@value #MAX_DESTINATIONS_PER_REQUEST}.
+     * @return The matrix with row i and element j for the route from place i to place j, or empty if any request failed.
+     */
+    public Optional<DistanceGoogleMatrix> getDistanceMatrix(List<String> addresses) throws IOException, InterruptedException {
+        if (addresses.isEmpty() || addresses.size() > MAX_DESTINATIONS_PER_REQUEST) {
+            throw new IllegalArgumentException("Distance matrix needs 1 to " + MAX_DESTINATIONS_PER_REQUEST + " places, got " + addresses.size());
+        }
+        String destinations = addresses.stream().map(this::encode).collect(Collectors.joining(DESTINATION_SEPARATOR));
+        int rowsPerRequest = Math.max(1, MAX_ELEMENTS_PER_REQUEST / addresses.size());
+        List<GoogleMatrixRow> rows = new ArrayList<>(addresses.size());
+        for (int from = 0; from < addresses.size(); from += rowsPerRequest) {
+            List<String> origins = addresses.subList(from, Math.min(from + rowsPerRequest, addresses.size()));
+            String url = String.format("%s?origins=%s&destinations=%s&key=%s",
+                    GOOGLE_MAP_API_URL,
+                    origins.stream().map(this::encode).collect(Collectors.joining(DESTINATION_SEPARATOR)),
+                    destinations,
+                    apiKey);
+            Optional<DistanceGoogleMatrix> block = requestMatrix(url);
+            if (block.isEmpty() || block.get().getStatus() != GoogleMatrixStatus.OK
+                    || block.get().getRows() == null || block.get().getRows().length != origins.size()) {
+                logger.warn("Failed to request distance matrix for {} places, status: {}", addresses.size(), block.map(DistanceGoogleMatrix::getStatus).orElse(null));
+                return Optional.empty();
+            }
+            rows.addAll(Arrays.asList(block.get().getRows()));
+        }
+        DistanceGoogleMatrix matrix = new DistanceGoogleMatrix();
+        matrix.setOriginAddresses(addresses.toArray(String[]::new));
+        matrix.setDestinationAddresses(addresses.toArray(String[]::new));
+        matrix.setRows(rows.toArray(GoogleMatrixRow[]::new));
+        matrix.setStatus(GoogleMatrixStatus.OK.getValue());
+        return Optional.of(matrix);
+    }
+
+    private Optional<DistanceGoogleMatrix> requestMatrix(String url) throws IOException, InterruptedException {
+        HttpRequest request = HttpTransport.newRequestBuilder()
                 .uri(URI.create(url))
                 .GET()
                 .build();
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-        if (response.statusCode() == 200) {
-            logger.info("Successfully received response from google map");
-            logger.debug("Response body: {}", response.body());
-        } else {
-            logger.error("Failed to request data. Status: {} Body: {}", response.statusCode(), response.body());
-            return Optional.empty();
+        for (int retries = 0; ; retries++) {
+            HttpResponse<JsonBody> response = send(request);
+            if (response.statusCode() == 200) {
+                logger.info("Successfully received response from google map");
+                logger.debug("Response body: {}", response.body());
+            } else {
+                logger.error("Failed to request data. Status: {} Body: {}", response.statusCode(), response.body());
+                return Optional.empty();
+            }
+            Optional<DistanceGoogleMatrix> matrix = parseResponse(response.body());
+            // the Distance Matrix API reports an exceeded quota in the body of a 200 response
+            if (rateGovernor == null || retries == RateGovernor.MAX_THROTTLED_RETRIES
+                    || matrix.isEmpty() || matrix.get().getStatus() != GoogleMatrixStatus.OVER_QUERY_LIMIT) {
+                return matrix;
+            }
+            rateGovernor.onThrottled(EndPoint.GOOGLE_DISTANCE_MATRIX, null);
+        }
+    }
+
+    private HttpResponse<JsonBody> send(HttpRequest request) throws IOException, InterruptedException {
+        if (rateGovernor == null) {
+            return httpClient.send(request, RESPONSE_BODY_HANDLER);
         }
-        return parseResponse(response.body());
+        return rateGovernor.send(EndPoint.GOOGLE_DISTANCE_MATRIX, httpClient, request, RESPONSE_BODY_HANDLER);
     }
 
-    private Optional<DistanceGoogleMatrix> parseResponse(String responseBody) {
+    private Optional<DistanceGoogleMatrix> parseResponse(JsonBody responseBody) throws IOException {
         try {
-            DistanceGoogleMatrix googleMatrix = objectMapper.readValue(responseBody, DistanceGoogleMatrix.class);
+            DistanceGoogleMatrix googleMatrix = fullBinding
+                    ? responseBody.read(matrixReader)
+                    : responseBody.decode(matrixReader, DistanceMatrixDecoder::decode);
             if (googleMatrix == null) {
                 logger.error("Parsed response is null. Response body: {}", responseBody);
                 return Optional.empty();
@@ -0,0 +1,29 @@
+package org.example.service.google;
+
+import java.util.Optional;
+
+/**
+ * Stores the Google Calendar {@code nextSyncToken} per calendar between runs.
+ */
+public interface SyncTokenStore {
+    /**
+     * @param calendarId the calendar id, e.g. "primary"
+     * @return the sync token of the last completed sync, or empty if the calendar was never synced
+     */
+    Optional<String> load(String calendarId);
+
+    /**
+     * Saves the sync token returned on the last page of a sync.
+     *
+     * @param calendarId the calendar id
+     * @param syncToken  the token to use for the next incremental sync
+     */
+    void save(String calendarId, String syncToken);
+
+    /**
+     * Forgets the sync token, forcing the next sync to be a full one.
+     *
+     * @param calendarId the calendar id
+     */
+    void clear(String calendarId);
+}
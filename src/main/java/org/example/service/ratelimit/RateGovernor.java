@@ -0,0 +1,195 @@
+package org.example.service.ratelimit;
+
+import org.example.entity.EndPoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Paces the requests to rate limited APIs, shared by all services of the application.
+ * <p>
+ * Every endpoint with a {@link RateLimit} gets its own {@link TokenBucket}; callers wait for a permit before sending.
+ * When the API answers "too many requests" the bucket rate is halved and no request is sent before the
+ * {@code Retry-After} time, then the rate recovers step by step with every successful response. Endpoints without a
+ * limit are not paced.
+ */
+public class RateGovernor {
+    private static final Logger logger = LoggerFactory.getLogger(RateGovernor.class);
+    public static final int HTTP_TOO_MANY_REQUESTS = 429;
+    public static final String RETRY_AFTER_HEADER = "Retry-After";
+    public static final int MAX_THROTTLED_RETRIES = 3;
+
+    private final Map<EndPoint, TokenBucket> buckets = new EnumMap<>(EndPoint.class);
+    private final Map<EndPoint, Duration> periods = new EnumMap<>(EndPoint.class);
+    private final LongSupplier nanoClock;
+
+    public RateGovernor(Map<EndPoint, RateLimit> limits) {
+        this(limits, System::nanoTime);
+    }
+
+    RateGovernor(Map<EndPoint, RateLimit> limits, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        limits.forEach((endPoint, limit) -> {
+            buckets.put(endPoint, new TokenBucket(limit, nanoClock.getAsLong()));
+            periods.put(endPoint, limit.period());
+        });
+    }
+
+    /**
+     * Waits until a request to the endpoint may be sent.
+     *
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public void acquire(EndPoint endPoint) throws InterruptedException {
+        long waitNanos = reserve(endPoint);
+        if (waitNanos > 0) {
+            logger.debug("Waiting {} ms for a {} permit", TimeUnit.NANOSECONDS.toMillis(waitNanos), endPoint);
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Records a request the endpoint accepted.
+     */
+    public void onSuccess(EndPoint endPoint) {
+        TokenBucket bucket = buckets.get(endPoint);
+        if (bucket != null) {
+            bucket.recover();
+        }
+    }
+
+    /**
+     * Records a request the endpoint rejected because of its quota.
+     *
+     * @param retryAfter How long the endpoint asked to wait; null to wait one quota period.
+     */
+    public void onThrottled(EndPoint endPoint, Duration retryAfter) {
+        TokenBucket bucket = buckets.get(endPoint);
+        if (bucket == null) {
+            return;
+        }
+        Duration wait = retryAfter != null ? retryAfter : periods.get(endPoint);
+        bucket.throttle(nanoClock.getAsLong(), wait.toNanos());
+        logger.warn("{} quota exceeded, pausing for {} ms, rate lowered to {} requests/s",
+                endPoint, wait.toMillis(), String.format("%.2f", bucket.getRate()));
+    }
+
+    /**
+     * Sends the request once a permit is available. A 429 response is retried up to {@value #MAX_THROTTLED_RETRIES}
+     * times after the {@code Retry-After} time.
+     *
+     * @return The response; still 429 if the endpoint kept rejecting the request.
+     */
+    public <T> HttpResponse<T> send(EndPoint endPoint, HttpClient httpClient, HttpRequest request,
+                                    HttpResponse.BodyHandler<T> bodyHandler) throws IOException, InterruptedException {
+        int retries = 0;
+        while (true) {
+            acquire(endPoint);
+            HttpResponse<T> response = httpClient.send(request, bodyHandler);
+            if (response.statusCode() != HTTP_TOO_MANY_REQUESTS) {
+                onSuccess(endPoint);
+                return response;
+            }
+            onThrottled(endPoint, retryAfter(response).orElse(null));
+            if (retries++ == MAX_THROTTLED_RETRIES || !buckets.containsKey(endPoint)) {
+                return response;
+            }
+            discardBody(response);
+        }
+    }
+
+    /**
+     * Asynchronous variant of {@link #send}: no thread waits for the permit or the response, the request is
+     * scheduled once the permit is due.
+     *
+     * @return The response; still 429 if the endpoint kept rejecting the request.
+     */
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(EndPoint endPoint, HttpClient httpClient, HttpRequest request,
+                                                            HttpResponse.BodyHandler<T> bodyHandler) {
+        return sendAsync(endPoint, httpClient, request, bodyHandler, 0);
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> sendAsync(EndPoint endPoint, HttpClient httpClient, HttpRequest request,
+                                                             HttpResponse.BodyHandler<T> bodyHandler, int retries) {
+        long waitNanos = reserve(endPoint);
+        CompletableFuture<Void> permit = waitNanos > 0
+                ? CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS))
+                : CompletableFuture.completedFuture(null);
+        return permit.thenCompose(ignored -> httpClient.sendAsync(request, bodyHandler))
+                .thenCompose(response -> {
+                    if (response.statusCode() != HTTP_TOO_MANY_REQUESTS) {
+                        onSuccess(endPoint);
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    onThrottled(endPoint, retryAfter(response).orElse(null));
+                    if (retries == MAX_THROTTLED_RETRIES || !buckets.containsKey(endPoint)) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    discardBody(response);
+                    return sendAsync(endPoint, httpClient, request, bodyHandler, retries + 1);
+                });
+    }
+
+    private long reserve(EndPoint endPoint) {
+        TokenBucket bucket = buckets.get(endPoint);
+        return bucket == null ? 0 : bucket.reserve(nanoClock.getAsLong());
+    }
+
+    /**
+     * Releases the connection of a response that is retried.
+     */
+    private static void discardBody(HttpResponse<?> response) {
+        if (response.body() instanceof Closeable body) {
+            try {
+                body.close();
+            } catch (IOException e) {
+                logger.debug("Failed to close throttled response body: {}", e.getMessage());
+            }
+        }
+    }
+
+    public double getRate(EndPoint endPoint) {
+        TokenBucket bucket = buckets.get(endPoint);
+        return bucket == null ? Double.POSITIVE_INFINITY : bucket.getRate();
+    }
+
+    /**
+     * Reads the {@code Retry-After} header, given either in seconds or as an HTTP date.
+     */
+    public static Optional<Duration> retryAfter(HttpResponse<?> response) {
+        if (response.headers() == null) {
+            return Optional.empty();
+        }
+        return response.headers().firstValue(RETRY_AFTER_HEADER).flatMap(RateGovernor::parseRetryAfter);
+    }
+
+    static Optional<Duration> parseRetryAfter(String value) {
+        String trimmed = value.trim();
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(trimmed))));
+        } catch (NumberFormatException e) {
+            try {
+                Duration wait = Duration.between(ZonedDateTime.now(), ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME));
+                return Optional.of(wait.isNegative() ? Duration.ZERO : wait);
+            } catch (DateTimeParseException ignored) {
+                logger.warn("Unexpected {} header: {}", RETRY_AFTER_HEADER, value);
+                return Optional.empty();
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.service.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * A request quota, e.g. 100 requests per minute.
+ *
+ * @param permits The number of requests allowed per period.
+ * @param period  The period the quota is counted over.
+ */
+public record RateLimit(int permits, Duration period) {
+
+    public RateLimit {
+        if (permits < 1) {
+            throw new IllegalArgumentException("Rate limit permits must be positive: " + permits);
+        }
+        if (period == null || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Rate limit period must be positive: " + period);
+        }
+    }
+
+    public static RateLimit perSecond(int permits) {
+        return new RateLimit(permits, Duration.ofSeconds(1));
+    }
+
+    public static RateLimit perMinute(int permits) {
+        return new RateLimit(permits, Duration.ofMinutes(1));
+    }
+
+    public double permitsPerSecond() {
+        return permits * 1_000_000_000.0 / period.toNanos();
+    }
+}
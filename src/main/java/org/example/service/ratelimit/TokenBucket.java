@@ -0,0 +1,76 @@
+package org.example.service.ratelimit;
+
+/**
+ * Token bucket for one endpoint.
+ * <p>
+ * Permits are handed out as reservations: {@link #reserve(long)} returns how long the caller has to wait, so callers
+ * sleep outside the lock and concurrent callers are spaced evenly. At most one unused permit is kept, so two requests
+ * are never closer than one permit interval and any window of one period holds at most {@link RateLimit#permits()}
+ * requests, also right after an idle time. The refill rate is halved when the endpoint throttles and grows back by a
+ * small step on every success.
+ */
+class TokenBucket {
+    static final double BACKOFF_FACTOR = 0.5;
+    static final double RECOVERY_STEP = 0.05;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    // a stored permit lets the first request after an idle time go without waiting; more would allow a burst on top
+    // of the refill
+    static final double CAPACITY = 1;
+    private final double maxRate;
+    private final double minRate;
+    private double rate;
+    private double storedPermits;
+    private long nextFreeNanos;
+
+    /**
+     * @param limit     The quota of the endpoint.
+     * @param nowNanos  The current time; the first request may be sent right away.
+     */
+    TokenBucket(RateLimit limit, long nowNanos) {
+        this.maxRate = limit.permitsPerSecond();
+        this.minRate = maxRate / limit.permits();
+        this.rate = maxRate;
+        this.storedPermits = CAPACITY;
+        this.nextFreeNanos = nowNanos;
+    }
+
+    /**
+     * Takes one permit.
+     *
+     * @return The nanoseconds to wait before the request may be sent.
+     */
+    synchronized long reserve(long nowNanos) {
+        if (nowNanos > nextFreeNanos) {
+            storedPermits = Math.min(CAPACITY, storedPermits + (nowNanos - nextFreeNanos) * rate / NANOS_PER_SECOND);
+            nextFreeNanos = nowNanos;
+        }
+        double fromStored = Math.min(1, storedPermits);
+        storedPermits -= fromStored;
+        nextFreeNanos += (long) ((1 - fromStored) * NANOS_PER_SECOND / rate);
+        return Math.max(0, nextFreeNanos - nowNanos);
+    }
+
+    /**
+     * Slows the bucket down after the endpoint answered "too many requests". No permit is handed out before
+     * {@code retryAfterNanos} has passed.
+     */
+    synchronized void throttle(long nowNanos, long retryAfterNanos) {
+        rate = Math.max(minRate, rate * BACKOFF_FACTOR);
+        storedPermits = 0;
+        nextFreeNanos = Math.max(nextFreeNanos, nowNanos + retryAfterNanos);
+    }
+
+    /**
+     * Moves the rate back towards the configured quota.
+     */
+    synchronized void recover() {
+        if (rate < maxRate) {
+            rate = Math.min(maxRate, rate + maxRate * RECOVERY_STEP);
+        }
+    }
+
+    synchronized double getRate() {
+        return rate;
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.service.route;
+
+import org.example.entity.google.RouteMatrixElement;
+import org.example.service.RouteService;
+
+/**
+ * A route kept by the route cache, one line of the on-disk tier.
+ */
+public record CachedRoute(String origin,
+                          String destination,
+                          String distanceText,
+                          int distanceMeters,
+                          String durationText,
+                          int durationSeconds,
+                          long storedAtMillis) {
+
+    static CachedRoute of(RouteKey key, RouteMatrixElement element, long storedAtMillis) {
+        return new CachedRoute(key.origin(), key.destination(),
+                element.getDistance().getText(), element.getDistance().getValue(),
+                element.getDuration().getText(), element.getDuration().getValue(),
+                storedAtMillis);
+    }
+
+    RouteKey key() {
+        return new RouteKey(origin, destination);
+    }
+
+    RouteMatrixElement toElement() {
+        RouteMatrixElement.ResultRepresentation distance = new RouteMatrixElement.ResultRepresentation();
+        distance.setText(distanceText);
+        distance.setValue(distanceMeters);
+        RouteMatrixElement.ResultRepresentation duration = new RouteMatrixElement.ResultRepresentation();
+        duration.setText(durationText);
+        duration.setValue(durationSeconds);
+        RouteMatrixElement element = new RouteMatrixElement();
+        element.setDistance(distance);
+        element.setDuration(duration);
+        element.setStatus(RouteService.ELEMENT_OK);
+        return element;
+    }
+}
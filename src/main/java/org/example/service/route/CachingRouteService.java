@@ -0,0 +1,207 @@
+package org.example.service.route;
+
+import org.example.entity.google.DistanceGoogleMatrix;
+import org.example.entity.google.GoogleMatrixRow;
+import org.example.entity.google.RouteMatrixElement;
+import org.example.service.RouteService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * RouteService decorator that caches routes in two tiers.
+ * <p>
+ * The memory tier is an LRU map bounded by {@code maxEntries}; the disk tier is a {@link RouteCacheStore} that
+ * survives restarts and reads its routes from the file, so only the memory tier holds routes on the heap. Both expire routes after {@code ttl}, so changed roads are picked up eventually. Only successful
+ * routes are cached. Lookups use the normalized {@link RouteKey}.
+ */
+public class CachingRouteService implements RouteService {
+    private static final Logger logger = LoggerFactory.getLogger(CachingRouteService.class);
+    public static final int DEFAULT_MAX_ENTRIES = 1_000;
+    public static final Duration DEFAULT_TTL = Duration.ofDays(30);
+
+    private final RouteService delegate;
+    private final RouteCacheStore diskStore;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<RouteKey, CachedRoute> memory;
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CachingRouteService(RouteService delegate, RouteCacheStore diskStore) {
+        this(delegate, diskStore, DEFAULT_MAX_ENTRIES, DEFAULT_TTL, Clock.systemUTC());
+    }
+
+    /**
+     * @param delegate   The service that requests routes on a cache miss.
+     * @param diskStore  The persistent tier, null to cache in memory only.
+     * @param maxEntries The capacity of the memory tier.
+     * @param ttl        How long a route is served from the cache.
+     * @param clock      The clock for expiry.
+     */
+    public CachingRouteService(RouteService delegate, RouteCacheStore diskStore, int maxEntries, Duration ttl, Clock clock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Route cache size must be positive: " + maxEntries);
+        }
+        this.delegate = delegate;
+        this.diskStore = diskStore;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RouteKey, CachedRoute> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public Optional<DistanceGoogleMatrix> getRouteEstimate(String departAddress, String destinationAddress) throws IOException, InterruptedException {
+        if (departAddress == null || departAddress.isBlank() || destinationAddress == null || destinationAddress.isBlank()) {
+            return delegate.getRouteEstimate(departAddress, destinationAddress);
+        }
+        RouteKey key = RouteKey.of(departAddress, destinationAddress);
+        Optional<CachedRoute> cached = lookup(key);
+        if (cached.isPresent()) {
+            return Optional.of(toMatrix(departAddress, destinationAddress, cached.get().toElement()));
+        }
+        Optional<DistanceGoogleMatrix> matrix = delegate.getRouteEstimate(departAddress, destinationAddress);
+        matrix.map(CachingRouteService::firstElement)
+                .filter(element -> ELEMENT_OK.equals(element.getStatus()))
+                .ifPresent(element -> store(key, element));
+        return matrix;
+    }
+
+    /**
+     * Serves cached destinations from the cache and requests the rest with one call to the delegate.
+     */
+    @Override
+    public Map<String, RouteMatrixElement> getRouteEstimates(String departAddress, List<String> destinationAddresses) throws IOException, InterruptedException {
+        if (departAddress == null || departAddress.isBlank()) {
+            return delegate.getRouteEstimates(departAddress, destinationAddresses);
+        }
+        Map<String, RouteMatrixElement> routes = new LinkedHashMap<>();
+        // spellings of the same address are requested once
+        Map<RouteKey, List<String>> missing = new LinkedHashMap<>();
+        for (String destinationAddress : destinationAddresses) {
+            if (destinationAddress == null || destinationAddress.isBlank() || routes.containsKey(destinationAddress)) {
+                continue;
+            }
+            RouteKey key = RouteKey.of(departAddress, destinationAddress);
+            List<String> spellings = missing.get(key);
+            if (spellings != null) {
+                if (!spellings.contains(destinationAddress)) {
+                    spellings.add(destinationAddress);
+                }
+                continue;
+            }
+            Optional<CachedRoute> cached = lookup(key);
+            if (cached.isPresent()) {
+                routes.put(destinationAddress, cached.get().toElement());
+            } else {
+                missing.computeIfAbsent(key, k -> new ArrayList<>()).add(destinationAddress);
+            }
+        }
+        if (!missing.isEmpty()) {
+            List<String> requested = missing.values().stream().map(spellings -> spellings.get(0)).toList();
+            Map<String, RouteMatrixElement> fetched = delegate.getRouteEstimates(departAddress, requested);
+            missing.forEach((key, spellings) -> {
+                RouteMatrixElement element = fetched.get(spellings.get(0));
+                if (element != null) {
+                    store(key, element);
+                    spellings.forEach(spelling -> routes.put(spelling, element));
+                }
+            });
+        }
+        return routes;
+    }
+
+    /**
+     * @return the hit, miss and eviction counters of the cache.
+     */
+    public RouteCacheStats getStats() {
+        int memorySize;
+        synchronized (memory) {
+            memorySize = memory.size();
+        }
+        return new RouteCacheStats(memoryHits.sum(), diskHits.sum(), misses.sum(), evictions.sum(),
+                memorySize, diskStore == null ? 0 : diskStore.size());
+    }
+
+    private Optional<CachedRoute> lookup(RouteKey key) {
+        CachedRoute route;
+        synchronized (memory) {
+            route = memory.get(key);
+            if (route != null && isExpired(route)) {
+                memory.remove(key);
+                route = null;
+            }
+        }
+        if (route != null) {
+            memoryHits.increment();
+            return Optional.of(route);
+        }
+        Optional<CachedRoute> stored = diskStore == null ? Optional.empty() : diskStore.get(key);
+        if (stored.isPresent()) {
+            diskHits.increment();
+            synchronized (memory) {
+                memory.put(key, stored.get());
+            }
+            return stored;
+        }
+        misses.increment();
+        logger.debug("Route cache miss: {}", key);
+        return Optional.empty();
+    }
+
+    private void store(RouteKey key, RouteMatrixElement element) {
+        if (element.getDistance() == null || element.getDuration() == null) {
+            return;
+        }
+        CachedRoute route = CachedRoute.of(key, element, clock.millis());
+        synchronized (memory) {
+            memory.put(key, route);
+        }
+        if (diskStore != null) {
+            diskStore.put(route);
+        }
+    }
+
+    private boolean isExpired(CachedRoute route) {
+        return clock.millis() - route.storedAtMillis() >= ttl.toMillis();
+    }
+
+    private static RouteMatrixElement firstElement(DistanceGoogleMatrix matrix) {
+        if (matrix.getRows() == null || matrix.getRows().length == 0) {
+            return null;
+        }
+        RouteMatrixElement[] elements = matrix.getRows()[0].getElements();
+        return elements == null || elements.length == 0 ? null : elements[0];
+    }
+
+    private static DistanceGoogleMatrix toMatrix(String departAddress, String destinationAddress, RouteMatrixElement element) {
+        GoogleMatrixRow row = new GoogleMatrixRow();
+        row.setElements(new RouteMatrixElement[]{element});
+        DistanceGoogleMatrix matrix = new DistanceGoogleMatrix();
+        matrix.setOriginAddresses(new String[]{departAddress});
+        matrix.setDestinationAddresses(new String[]{destinationAddress});
+        matrix.setRows(new GoogleMatrixRow[]{row});
+        matrix.setStatus(ELEMENT_OK);
+        return matrix;
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.service.route;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The routes of one day of appointments.
+ *
+ * @param date       The day.
+ * @param visits     The appointments in order of their start.
+ * @param legs       The multi-stop route: office to the first customer, from customer to customer, and back to the office.
+ * @param roundTrips The office-customer-office trip of every appointment, in the order of {@code visits}.
+ */
+public record DayRoute(LocalDate date, List<Visit> visits, List<RouteLeg> legs, List<RoundTrip> roundTrips) {
+
+    public long totalMeters() {
+        return legs.stream().mapToLong(RouteLeg::meters).sum();
+    }
+
+    public long totalSeconds() {
+        return legs.stream().mapToLong(RouteLeg::seconds).sum();
+    }
+
+    public double totalMiles() {
+        return totalMeters() * RouteLeg.METERS_TO_MILES;
+    }
+
+    /**
+     * @return true if every leg of the multi-stop route was found, so the totals are not understated.
+     */
+    public boolean isComplete() {
+        return legs.stream().allMatch(RouteLeg::found);
+    }
+
+    /**
+     * A trip from the office to one customer and back.
+     */
+    public record RoundTrip(Visit visit, RouteLeg outbound, RouteLeg inbound) {
+        public long totalMeters() {
+            return (long) outbound.meters() + inbound.meters();
+        }
+
+        public double totalMiles() {
+            return totalMeters() * RouteLeg.METERS_TO_MILES;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d visits, %.2f miles, %d min%s", date, visits.size(), totalMiles(), totalSeconds() / 60,
+                isComplete() ? "" : " (incomplete)");
+    }
+}
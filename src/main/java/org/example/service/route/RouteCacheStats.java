@@ -0,0 +1,23 @@
+package org.example.service.route;
+
+/**
+ * Counters of the route cache since it was created.
+ */
+public record RouteCacheStats(long memoryHits,
+                              long diskHits,
+                              long misses,
+                              long evictions,
+                              int memorySize,
+                              int diskSize) {
+
+    public double hitRate() {
+        long requests = memoryHits + diskHits + misses;
+        return requests == 0 ? 0 : (double) (memoryHits + diskHits) / requests;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("memoryHits=%d, diskHits=%d, misses=%d, hitRate=%.1f%%, evictions=%d, memorySize=%d, diskSize=%d",
+                memoryHits, diskHits, misses, hitRate() * 100, evictions, memorySize, diskSize);
+    }
+}
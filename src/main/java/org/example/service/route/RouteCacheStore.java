@@ -0,0 +1,200 @@
+package org.example.service.route;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Persistent tier of the route cache: an append-only file with one JSON route per line.
+ * <p>
+ * The file is scanned on open into an index of the byte offset of the last line of every key, and routes are read
+ * from the file on lookup, so the heap holds only the keys and offsets, not the routes. Expired routes are dropped
+ * from the index. When the file holds noticeably more lines than live routes it is compacted, so it does not grow
+ * without bound across runs.
+ */
+public class RouteCacheStore implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(RouteCacheStore.class);
+    private static final int COMPACTION_SLACK = 100;
+    private static final byte NEWLINE = '\n';
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<RouteKey, Entry> index = new HashMap<>();
+    private FileChannel channel;
+
+    /**
+     * Where the line of a route starts in the file and when the route was stored.
+     */
+    private record Entry(long offset, int length, long storedAtMillis) {
+    }
+
+    public RouteCacheStore(Path path, ObjectMapper objectMapper, Duration ttl, Clock clock) throws IOException {
+        this.path = path;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.clock = clock;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Load load = load();
+        // a last line torn by a crash would run into the next appended route
+        if (load.lines() > index.size() + COMPACTION_SLACK || !load.endsWithNewline()) {
+            compact();
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        logger.info("Route cache {} loaded: {} routes from {} lines", path, index.size(), load.lines());
+    }
+
+    /**
+     * @return the stored route, or empty if there is none or it has expired.
+     */
+    public synchronized Optional<CachedRoute> get(RouteKey key) {
+        Entry entry = index.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (isExpired(entry.storedAtMillis())) {
+            index.remove(key);
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(read(channel, entry), CachedRoute.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read route cache " + path, e);
+        }
+    }
+
+    public synchronized void put(CachedRoute route) {
+        try {
+            byte[] line = (objectMapper.writeValueAsString(route) + "\n").getBytes(StandardCharsets.UTF_8);
+            long offset = channel.size();
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, offset + buffer.position());
+            }
+            index.put(route.key(), new Entry(offset, line.length - 1, route.storedAtMillis()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write route cache " + path, e);
+        }
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private boolean isExpired(long storedAtMillis) {
+        return clock.millis() - storedAtMillis >= ttl.toMillis();
+    }
+
+    private record Load(int lines, boolean endsWithNewline) {
+    }
+
+    private Load load() throws IOException {
+        if (!Files.exists(path)) {
+            return new Load(0, true);
+        }
+        int lines = 0;
+        long offset = 0;
+        long lineStart = 0;
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(path))) {
+            int b;
+            while ((b = input.read()) != -1) {
+                offset++;
+                if (b != NEWLINE) {
+                    line.write(b);
+                    continue;
+                }
+                if (indexLine(line.toByteArray(), lineStart, lines + 1)) {
+                    lines++;
+                }
+                line.reset();
+                lineStart = offset;
+            }
+        }
+        boolean endsWithNewline = line.size() == 0;
+        if (!endsWithNewline && indexLine(line.toByteArray(), lineStart, lines + 1)) {
+            lines++;
+        }
+        return new Load(lines, endsWithNewline);
+    }
+
+    /**
+     * @return false for a blank line.
+     */
+    private boolean indexLine(byte[] line, long offset, int lineNumber) {
+        if (new String(line, StandardCharsets.UTF_8).isBlank()) {
+            return false;
+        }
+        try {
+            CachedRoute route = objectMapper.readValue(line, CachedRoute.class);
+            if (isExpired(route.storedAtMillis())) {
+                index.remove(route.key());
+            } else {
+                index.put(route.key(), new Entry(offset, line.length, route.storedAtMillis()));
+            }
+        } catch (IOException e) {
+            // a line torn by a crash, the route is requested again
+            logger.warn("Skipping unreadable line {} of route cache {}", lineNumber, path);
+        }
+        return true;
+    }
+
+    private void compact() throws IOException {
+        Path tempFile = path.resolveSibling(path.getFileName() + ".tmp");
+        Map<RouteKey, Entry> compactedIndex = new HashMap<>();
+        try (FileChannel source = FileChannel.open(path, StandardOpenOption.READ);
+             FileChannel target = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Map.Entry<RouteKey, Entry> route : index.entrySet()) {
+                Entry entry = route.getValue();
+                compactedIndex.put(route.getKey(), new Entry(target.position(), entry.length(), entry.storedAtMillis()));
+                ByteBuffer line = ByteBuffer.allocate(entry.length() + 1);
+                line.put(read(source, entry)).put(NEWLINE).flip();
+                while (line.hasRemaining()) {
+                    target.write(line);
+                }
+            }
+        }
+        Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        index.clear();
+        index.putAll(compactedIndex);
+        logger.info("Route cache {} compacted to {} routes", path, index.size());
+    }
+
+    private static byte[] read(FileChannel file, Entry entry) throws IOException {
+        ByteBuffer line = ByteBuffer.allocate(entry.length());
+        while (line.hasRemaining()) {
+            if (file.read(line, entry.offset() + line.position()) < 0) {
+                throw new IOException("Route cache ends inside the route at offset " + entry.offset());
+            }
+        }
+        return line.array();
+    }
+}
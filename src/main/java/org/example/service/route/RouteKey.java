@@ -0,0 +1,20 @@
+package org.example.service.route;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Cache key of a route: the normalized departure and destination addresses.
+ * Case, punctuation and whitespace differences between spellings of an address map to the same key.
+ */
+public record RouteKey(String origin, String destination) {
+    private static final Pattern SEPARATORS = Pattern.compile("[\\s,.;]+");
+
+    public static RouteKey of(String origin, String destination) {
+        return new RouteKey(normalize(origin), normalize(destination));
+    }
+
+    static String normalize(String address) {
+        return SEPARATORS.matcher(address.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.service.route;
+
+/**
+ * One leg of a route between two places.
+ *
+ * @param from    The departure address.
+ * @param to      The destination address.
+ * @param meters  The driving distance, 0 if the leg was not found.
+ * @param seconds The driving duration, 0 if the leg was not found.
+ * @param found   Whether the Distance Matrix API returned a route for the leg.
+ */
+public record RouteLeg(String from, String to, int meters, int seconds, boolean found) {
+    public static final double METERS_TO_MILES = 0.000621371;
+
+    public static RouteLeg notFound(String from, String to) {
+        return new RouteLeg(from, to, 0, 0, false);
+    }
+}
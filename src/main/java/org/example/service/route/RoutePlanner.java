@@ -0,0 +1,108 @@
+package org.example.service.route;
+
+import org.example.entity.google.DistanceGoogleMatrix;
+import org.example.entity.google.RouteMatrixElement;
+import org.example.service.RouteService;
+import org.example.service.google.GoogleRouteService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Plans the routes of a day of appointments from a single distance matrix.
+ * <p>
+ * The office and the customers of the day are sent as both origins and destinations of one Distance Matrix request,
+ * and every route of the day is read from that matrix: the office-customer-office round trip of each appointment and
+ * the multi-stop route through all appointments in order of their start. The round trips are handed to
+ * {@link org.example.processor.EventProcessor#useRoundTrips}, which writes their outbound and inbound legs into the
+ * route notes, so the appointments of a day need no route request besides that one matrix.
+ */
+public class RoutePlanner {
+    private static final Logger logger = LoggerFactory.getLogger(RoutePlanner.class);
+    private static final int OFFICE = 0;
+
+    private final GoogleRouteService routeService;
+
+    public RoutePlanner(GoogleRouteService routeService) {
+        this.routeService = routeService;
+    }
+
+    /**
+     * Groups the appointments by the day they start and plans every day.
+     *
+     * @param officeAddress The address the technicians start from and return to.
+     * @param visits        The appointments, in any order.
+     * @return The route of every day that could be planned, ordered by day.
+     */
+    public Map<LocalDate, DayRoute> planDays(String officeAddress, List<Visit> visits) throws IOException, InterruptedException {
+        Map<LocalDate, List<Visit>> visitsByDay = new TreeMap<>();
+        for (Visit visit : visits) {
+            visitsByDay.computeIfAbsent(visit.start().toLocalDate(), day -> new ArrayList<>()).add(visit);
+        }
+        Map<LocalDate, DayRoute> routes = new LinkedHashMap<>();
+        for (Map.Entry<LocalDate, List<Visit>> day : visitsByDay.entrySet()) {
+            planDay(officeAddress, day.getKey(), day.getValue()).ifPresent(route -> routes.put(day.getKey(), route));
+        }
+        return routes;
+    }
+
+    /**
+     * Plans the routes of one day.
+     *
+     * @param officeAddress The address the technicians start from and return to.
+     * @param date          The day.
+     * @param visits        The appointments of the day, in any order.
+     * @return The day route, or empty if the matrix could not be requested.
+     */
+    public Optional<DayRoute> planDay(String officeAddress, LocalDate date, List<Visit> visits) throws IOException, InterruptedException {
+        List<Visit> ordered = visits.stream().sorted(Comparator.comparing(Visit::start)).toList();
+        Map<String, Integer> placeIndex = new LinkedHashMap<>();
+        placeIndex.put(officeAddress, OFFICE);
+        for (Visit visit : ordered) {
+            placeIndex.putIfAbsent(visit.address(), placeIndex.size());
+        }
+        if (placeIndex.size() > GoogleRouteService.MAX_DESTINATIONS_PER_REQUEST) {
+            logger.warn("Too many places on {} to plan in one matrix: {}", date, placeIndex.size());
+            return Optional.empty();
+        }
+        List<String> places = new ArrayList<>(placeIndex.keySet());
+        Optional<DistanceGoogleMatrix> matrix = routeService.getDistanceMatrix(places);
+        if (matrix.isEmpty()) {
+            logger.warn("No distance matrix for {} visits on {}", ordered.size(), date);
+            return Optional.empty();
+        }
+
+        List<RouteLeg> legs = new ArrayList<>(ordered.size() + 1);
+        List<DayRoute.RoundTrip> roundTrips = new ArrayList<>(ordered.size());
+        int previous = OFFICE;
+        for (Visit visit : ordered) {
+            int current = placeIndex.get(visit.address());
+            legs.add(leg(matrix.get(), places, previous, current));
+            roundTrips.add(new DayRoute.RoundTrip(visit,
+                    leg(matrix.get(), places, OFFICE, current),
+                    leg(matrix.get(), places, current, OFFICE)));
+            previous = current;
+        }
+        legs.add(leg(matrix.get(), places, previous, OFFICE));
+        DayRoute route = new DayRoute(date, ordered, legs, roundTrips);
+        logger.debug("Day route {}", route);
+        return Optional.of(route);
+    }
+
+    private static RouteLeg leg(DistanceGoogleMatrix matrix, List<String> places, int from, int to) {
+        RouteMatrixElement element = matrix.getRows()[from].getElements()[to];
+        if (!RouteService.ELEMENT_OK.equals(element.getStatus()) || element.getDistance() == null || element.getDuration() == null) {
+            return RouteLeg.notFound(places.get(from), places.get(to));
+        }
+        return new RouteLeg(places.get(from), places.get(to), element.getDistance().getValue(), element.getDuration().getValue(), true);
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.service.route;
+
+import java.time.OffsetDateTime;
+
+/**
+ * A customer appointment on a day route.
+ *
+ * @param eventId The calendar event id.
+ * @param address The customer address.
+ * @param start   The appointment start, in the time zone of the appointment.
+ */
+public record Visit(String eventId, String address, OffsetDateTime start) {
+}
@@ -0,0 +1,66 @@
+package org.example.service.zoho;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.example.entity.zoho.contacts.ZohoContact;
+import org.example.entity.zoho.contacts.ZohoContactResponse;
+
+import java.io.IOException;
+
+import static org.example.utils.JsonDecoder.intValue;
+import static org.example.utils.JsonDecoder.longValue;
+import static org.example.utils.JsonDecoder.startObject;
+import static org.example.utils.JsonDecoder.text;
+
+/**
+ * Streaming decoder of the response to a created contact. The caller only needs the code, the message and the ID of
+ * the new contact, so the contact is decoded with its {@code contact_id} alone and its other fields, addresses and
+ * custom fields are skipped in the token stream.
+ */
+final class ContactResponseDecoder {
+    private static final String CODE = "code";
+    private static final String MESSAGE = "message";
+    private static final String CONTACT = "contact";
+    private static final String CONTACT_ID = "contact_id";
+
+    private ContactResponseDecoder() {
+    }
+
+    /**
+     * @return the response, or null if the document is a JSON {@code null}.
+     */
+    static ZohoContactResponse decode(JsonParser parser) throws IOException {
+        if (!startObject(parser, parser.nextToken())) {
+            return null;
+        }
+        ZohoContactResponse response = new ZohoContactResponse();
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case CODE -> response.setCode(intValue(parser));
+                case MESSAGE -> response.setMessage(text(parser));
+                case CONTACT -> response.setContact(contact(parser, token));
+                default -> parser.skipChildren();
+            }
+        }
+        return response;
+    }
+
+    private static ZohoContact contact(JsonParser parser, JsonToken token) throws IOException {
+        if (!startObject(parser, token)) {
+            return null;
+        }
+        ZohoContact contact = new ZohoContact();
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            if (CONTACT_ID.equals(field)) {
+                contact.setContactId(longValue(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return contact;
+    }
+}
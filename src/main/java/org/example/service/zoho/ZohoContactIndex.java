@@ -0,0 +1,285 @@
+package org.example.service.zoho;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.entity.zoho.contacts.ZohoContact;
+import org.example.entity.zoho.contacts.ZohoContactListResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Local mirror of the Zoho contacts, keyed by normalized email, phone and name.
+ * <p>
+ * The first refresh reads the whole contact list; later refreshes read it most recently modified first and stop at
+ * the newest {@code last_modified_time} seen before, so only changed contacts are transferred. The index is saved to
+ * a JSON file after every change. Delete the file to force a full reload, e.g. after contacts were deleted in Zoho.
+ * <p>
+ * A name matches only while it is unique in the index, and only if the email and phone of the customer, where given,
+ * are also those of the indexed contact; email and phone are preferred.
+ */
+public class ZohoContactIndex {
+    private static final Logger logger = LoggerFactory.getLogger(ZohoContactIndex.class);
+    private static final DateTimeFormatter ZOHO_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssZ");
+    private static final long AMBIGUOUS = -1;
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private final Map<Long, IndexedContact> contacts = new HashMap<>();
+    private final Map<String, Long> byEmail = new HashMap<>();
+    private final Map<String, Long> byPhone = new HashMap<>();
+    private final Map<String, Long> byName = new HashMap<>();
+    private Instant lastModified;
+
+    public ZohoContactIndex(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+        if (Files.exists(path)) {
+            try {
+                Snapshot snapshot = objectMapper.readValue(path.toFile(), Snapshot.class);
+                snapshot.contacts().forEach(this::index);
+                lastModified = snapshot.lastModified() == null ? null : Instant.parse(snapshot.lastModified());
+                logger.info("Loaded {} Zoho contacts from {}, last modified {}", contacts.size(), path, lastModified);
+            } catch (IOException e) {
+                logger.warn("Failed to load Zoho contact index {}, it will be reloaded: {}", path, e.getMessage());
+                clear();
+            }
+        }
+    }
+
+    /**
+     * Reads the contacts changed since the last refresh, or all contacts on the first refresh.
+     *
+     * @param contactService The service to list the contacts with.
+     * @param organizationId The ID of the organisation in Zoho Books.
+     * @return The number of contacts read.
+     */
+    public synchronized int refresh(ZohoContactService contactService, String organizationId) {
+        Instant watermark = lastModified;
+        int read = 0;
+        int page = 1;
+        boolean more = true;
+        while (more) {
+            ZohoContactListResponse response = contactService.getContactsPage(organizationId, page++);
+            List<ZohoContact> pageContacts = response.getContacts() == null ? List.of() : response.getContacts();
+            for (ZohoContact contact : pageContacts) {
+                Instant modified = parseTime(contact.getLastModifiedTime());
+                // sorted newest first: everything from here on is already indexed
+                if (watermark != null && modified != null && modified.isBefore(watermark)) {
+                    more = false;
+                    break;
+                }
+                index(IndexedContact.of(contact));
+                if (modified != null && (lastModified == null || modified.isAfter(lastModified))) {
+                    lastModified = modified;
+                }
+                read++;
+            }
+            more = more && response.hasMorePage();
+        }
+        if (read > 0) {
+            save();
+        }
+        logger.info("{} Zoho contact index: {} contacts read, {} indexed", watermark == null ? "Full" : "Incremental", read, contacts.size());
+        return read;
+    }
+
+    /**
+     * Looks up an existing contact by email, then phone, then name. A contact found by name alone is rejected if the
+     * customer has an email or phone that the contact does not have, as it is then another person of the same name.
+     *
+     * @return The Zoho contact id, or empty if no contact matches.
+     */
+    public synchronized Optional<Long> find(String email, String phone, String name) {
+        Long contactId = lookup(byEmail, normalizeEmail(email));
+        if (contactId == null) {
+            contactId = lookup(byPhone, normalizePhone(phone));
+        }
+        if (contactId == null) {
+            contactId = lookup(byName, normalizeName(name));
+            if (contactId != null && !isSamePerson(contacts.get(contactId), email, phone)) {
+                logger.info("Zoho contact {} has the name {} but another email or phone, not matched", contactId, name);
+                contactId = null;
+            }
+        }
+        return Optional.ofNullable(contactId);
+    }
+
+    private static boolean isSamePerson(IndexedContact contact, String email, String phone) {
+        String customerEmail = normalizeEmail(email);
+        if (customerEmail != null && !customerEmail.equals(normalizeEmail(contact.email()))) {
+            return false;
+        }
+        String customerPhone = normalizePhone(phone);
+        return customerPhone == null
+                || customerPhone.equals(normalizePhone(contact.phone()))
+                || customerPhone.equals(normalizePhone(contact.mobile()));
+    }
+
+    /**
+     * Adds a contact created by this application, so it is found before the next refresh.
+     */
+    public synchronized void add(long contactId, String email, String phone, String name) {
+        index(new IndexedContact(contactId, name, email, phone, null));
+        save();
+    }
+
+    public synchronized int size() {
+        return contacts.size();
+    }
+
+    private static Long lookup(Map<String, Long> keys, String key) {
+        if (key == null) {
+            return null;
+        }
+        Long contactId = keys.get(key);
+        return contactId == null || contactId == AMBIGUOUS ? null : contactId;
+    }
+
+    private void index(IndexedContact contact) {
+        IndexedContact previous = contacts.put(contact.contactId(), contact);
+        if (previous != null) {
+            unindex(previous);
+        }
+        putKey(byEmail, normalizeEmail(contact.email()), contact.contactId());
+        putKey(byPhone, normalizePhone(contact.phone()), contact.contactId());
+        putKey(byPhone, normalizePhone(contact.mobile()), contact.contactId());
+        putKey(byName, normalizeName(contact.name()), contact.contactId());
+    }
+
+    private void unindex(IndexedContact contact) {
+        unindexKey(byEmail, normalizeEmail(contact.email()), contact.contactId(), indexed -> List.of(normalizeEmail(indexed.email())));
+        unindexKey(byPhone, normalizePhone(contact.phone()), contact.contactId(), ZohoContactIndex::phoneKeys);
+        unindexKey(byPhone, normalizePhone(contact.mobile()), contact.contactId(), ZohoContactIndex::phoneKeys);
+        unindexKey(byName, normalizeName(contact.name()), contact.contactId(), indexed -> List.of(normalizeName(indexed.name())));
+    }
+
+    /**
+     * Removes the key of a changed contact. A key shared with other contacts is rebuilt from the contacts that still
+     * have it, so it stops being ambiguous once only one of them is left.
+     */
+    private void unindexKey(Map<String, Long> keys, String key, long contactId, Function<IndexedContact, List<String>> keysOf) {
+        if (key == null || keys.remove(key, contactId) || !keys.remove(key, AMBIGUOUS)) {
+            return;
+        }
+        for (IndexedContact indexed : contacts.values()) {
+            if (indexed.contactId() != contactId && keysOf.apply(indexed).contains(key)) {
+                putKey(keys, key, indexed.contactId());
+            }
+        }
+    }
+
+    private static List<String> phoneKeys(IndexedContact contact) {
+        return Arrays.asList(normalizePhone(contact.phone()), normalizePhone(contact.mobile()));
+    }
+
+    private static void putKey(Map<String, Long> keys, String key, long contactId) {
+        if (key != null) {
+            keys.merge(key, contactId, (existing, added) -> existing.equals(added) ? existing : AMBIGUOUS);
+        }
+    }
+
+    private void clear() {
+        contacts.clear();
+        byEmail.clear();
+        byPhone.clear();
+        byName.clear();
+        lastModified = null;
+    }
+
+    private void save() {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Path tempFile = path.resolveSibling(path.getFileName() + ".tmp");
+            Snapshot snapshot = new Snapshot(lastModified == null ? null : lastModified.toString(), new ArrayList<>(contacts.values()));
+            objectMapper.writeValue(tempFile.toFile(), snapshot);
+            Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save Zoho contact index " + path, e);
+        }
+    }
+
+    static String normalizeEmail(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return the last 10 digits of the number, so "+1 (317) 555-0100" and "317.555.0100" match.
+     */
+    static String normalizePhone(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        String digits = phone.replaceAll("\\D", "");
+        if (digits.length() < 7) {
+            return null;
+        }
+        return digits.length() > 10 ? digits.substring(digits.length() - 10) : digits;
+    }
+
+    static String normalizeName(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        return name.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    private static Instant parseTime(String time) {
+        if (time == null || time.isBlank()) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(time, ZOHO_TIME).toInstant();
+        } catch (DateTimeParseException e) {
+            try {
+                return OffsetDateTime.parse(time).toInstant();
+            } catch (DateTimeParseException ignored) {
+                logger.warn("Unexpected Zoho time format: {}", time);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * The indexed fields of a contact.
+     */
+    record IndexedContact(@JsonProperty("contact_id") long contactId,
+                          String name,
+                          String email,
+                          String phone,
+                          String mobile) {
+
+        static IndexedContact of(ZohoContact contact) {
+            return new IndexedContact(contact.getContactId(), contact.getContactName(), contact.getEmail(),
+                    contact.getPhone(), contact.getMobile());
+        }
+    }
+
+    /**
+     * The content of the index file.
+     */
+    record Snapshot(@JsonProperty("last_modified") String lastModified, List<IndexedContact> contacts) {
+    }
+}
@@ -2,11 +2,16 @@ package org.example.service.zoho;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.example.entity.zoho.ZohoErrorResponse;
+import org.example.entity.zoho.contacts.ZohoContactListResponse;
 import org.example.entity.zoho.contacts.ZohoContactRequest;
 import org.example.entity.zoho.contacts.ZohoContactResponse;
 import org.example.exception.AuthenticationError;
 import org.example.exception.ZohoServiceException;
+import org.example.service.AccessTokenProvider;
+import org.example.service.ratelimit.RateGovernor;
+import org.example.utils.JsonBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -15,6 +20,7 @@ import java.net.HttpURLConnection;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * ZohoService is a service class that interacts with the Zoho Books API.
@@ -26,11 +32,29 @@ public class ZohoContactService extends ZohoServiceAbstract {
 
     public static final String ZOHO_OAUTHTOKEN_HEADER = "Zoho-oauthtoken ";
     private static final String CONTACTS_ENDPOINT = "contacts";
+    public static final int CONTACTS_PER_PAGE = 200;
+    private boolean fullBinding;
 
     public ZohoContactService(String accessToken, HttpClient httpClient, ObjectMapper objectMapper) {
         super(accessToken, httpClient, objectMapper);
     }
 
+    public ZohoContactService(String accessToken, HttpClient httpClient, ObjectMapper objectMapper, RateGovernor rateGovernor) {
+        super(accessToken, httpClient, objectMapper, rateGovernor);
+    }
+
+    public ZohoContactService(AccessTokenProvider tokenProvider, HttpClient httpClient, ObjectMapper objectMapper, RateGovernor rateGovernor) {
+        super(tokenProvider, httpClient, objectMapper, rateGovernor);
+    }
+
+    /**
+     * @param fullBinding Whether to bind the whole contact of an added contact, e.g. while debugging. By default only
+     *                    the code, the message and the contact ID are decoded.
+     */
+    public void setFullBinding(boolean fullBinding) {
+        this.fullBinding = fullBinding;
+    }
+
     /**
      * Adds a new contact to Zoho Invoice.
      *
@@ -40,44 +64,104 @@ public class ZohoContactService extends ZohoServiceAbstract {
      * @throws ZohoServiceException If there is an error during the HTTP request.
      */
     public ZohoContactResponse addNewContact(ZohoContactRequest contactRequest, String organizationId) throws JsonProcessingException {
+        HttpRequest request = buildAddContactRequest(contactRequest, organizationId);
+        try {
+            return toContactResponse(send(request));
+        } catch (IOException | InterruptedException e) {
+            String msg = "HTTP request error while adding contact: " + e.getMessage();
+            logger.error(msg, e);
+            throw new ZohoServiceException(msg, e);
+        }
+    }
+
+    /**
+     * Adds a new contact to Zoho Invoice without blocking the calling thread.
+     * The result and the errors are the same as those of {@link #addNewContact}; errors complete the future.
+     *
+     * @param contactRequest The request object containing contact details.
+     * @param organizationId The ID of the organisation in Zoho Books.
+     * @return A future of the saved contact or info about the failure.
+     */
+    public CompletableFuture<ZohoContactResponse> addNewContactAsync(ZohoContactRequest contactRequest, String organizationId) {
+        HttpRequest request;
+        try {
+            request = buildAddContactRequest(contactRequest, organizationId);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return sendAsync(request, this::toContactResponse, "adding contact");
+    }
+
+    private HttpRequest buildAddContactRequest(ZohoContactRequest contactRequest, String organizationId) throws JsonProcessingException {
         logger.info("Adding new contact to Zoho: {}", contactRequest.getContactName());
         String jsonPayload;
         try {
-            jsonPayload = objectMapper.writeValueAsString(contactRequest);
+            jsonPayload = codecs.writer(ZohoContactRequest.class).writeValueAsString(contactRequest);
             logger.debug("Serialized ZohoContactRequest to JSON: {}", jsonPayload);
         } catch (JsonProcessingException e) {
             String msg = "Failed to serialize ZohoContactRequest to JSON: " + e.getMessage();
             logger.error(msg);
             throw e;
         }
-        HttpRequest request = buildPostRequest(jsonPayload, organizationId, CONTACTS_ENDPOINT);
+        return buildPostRequest(jsonPayload, organizationId, CONTACTS_ENDPOINT);
+    }
+
+    private ZohoContactResponse toContactResponse(HttpResponse<JsonBody> response) throws IOException {
+        if (isSuccessfulStatus(response.statusCode())) {
+            logger.debug("Contact successfully added: {}", response.statusCode());
+            ObjectReader reader = codecs.reader(ZohoContactResponse.class);
+            return fullBinding ? response.body().read(reader) : response.body().decode(reader, ContactResponseDecoder::decode);
+        }
+        ZohoErrorResponse error = parseError(response);
+        String msg = getFriendlyErrorMessage(error);
+        logger.error("Failed to add contact. Status: {}, Zoho code: {}, Message: {}", response.statusCode(),
+                error != null ? error.getCode() : null,
+                error != null ? error.getMessage() : null);
+        if (response.statusCode() == HttpURLConnection.HTTP_UNAUTHORIZED || response.statusCode() == HttpURLConnection.HTTP_FORBIDDEN) {
+            throw new AuthenticationError("Authentication error: " + response.statusCode());
+        }
+        if (response.statusCode() == 429) {
+            throw new ZohoServiceException(ZOHO_API_LIMIT_REACHED);
+        }
+        if (error != null && error.getCode() == 3062) {
+            ZohoContactResponse existingContactResponse = new ZohoContactResponse();
+            existingContactResponse.setCode(3062);
+            existingContactResponse.setMessage(CONTACT_ALREADY_EXISTS);
+            return existingContactResponse;
+        }
+        throw new ZohoServiceException(msg);
+    }
+
+    /**
+     * Fetches one page of the contact list, most recently modified contacts first.
+     *
+     * @param organizationId The ID of the organisation in Zoho Books.
+     * @param page           The page number, starting with 1.
+     * @return The contacts of the page and whether more pages follow.
+     * @throws ZohoServiceException If the request fails.
+     */
+    public ZohoContactListResponse getContactsPage(String organizationId, int page) {
+        String query = CONTACTS_ENDPOINT + "?page=" + page + "&per_page=" + CONTACTS_PER_PAGE
+                + "&sort_column=last_modified_time&sort_order=D";
+        HttpRequest request = buildGetRequest(organizationId, query);
         try {
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<JsonBody> response = send(request);
             if (isSuccessfulStatus(response.statusCode())) {
-                logger.debug("Contact successfully added: {}", response.statusCode());
-                return objectMapper.readValue(response.body(), ZohoContactResponse.class);
-            } else {
-                ZohoErrorResponse error = parseError(response);
-                String msg = getFriendlyErrorMessage(error);
-                logger.error("Failed to add contact. Status: {}, Zoho code: {}, Message: {}", response.statusCode(),
-                        error != null ? error.getCode() : null,
-                        error != null ? error.getMessage() : null);
-                if (response.statusCode() == HttpURLConnection.HTTP_UNAUTHORIZED || response.statusCode() == HttpURLConnection.HTTP_FORBIDDEN) {
-                    throw new AuthenticationError("Authentication error: " + response.statusCode());
-                }
-                if (response.statusCode() == 429) {
-                    throw new ZohoServiceException(ZOHO_API_LIMIT_REACHED);
-                }
-                if (error != null && error.getCode() == 3062) {
-                    ZohoContactResponse existingContactResponse = new ZohoContactResponse();
-                    existingContactResponse.setCode(3062);
-                    existingContactResponse.setMessage(CONTACT_ALREADY_EXISTS);
-                    return existingContactResponse;
-                }
-                throw new ZohoServiceException(msg);
+                return response.body().read(codecs.reader(ZohoContactListResponse.class));
+            }
+            ZohoErrorResponse error = parseError(response);
+            logger.error("Failed to list contacts. Status: {}, Zoho code: {}, Message: {}", response.statusCode(),
+                    error != null ? error.getCode() : null,
+                    error != null ? error.getMessage() : null);
+            if (response.statusCode() == HttpURLConnection.HTTP_UNAUTHORIZED || response.statusCode() == HttpURLConnection.HTTP_FORBIDDEN) {
+                throw new AuthenticationError("Authentication error: " + response.statusCode());
             }
+            if (response.statusCode() == 429) {
+                throw new ZohoServiceException(ZOHO_API_LIMIT_REACHED);
+            }
+            throw new ZohoServiceException(getFriendlyErrorMessage(error));
         } catch (IOException | InterruptedException e) {
-            String msg = "HTTP request error while adding contact: " + e.getMessage();
+            String msg = "HTTP request error while listing contacts: " + e.getMessage();
             logger.error(msg, e);
             throw new ZohoServiceException(msg, e);
         }
@@ -7,6 +7,9 @@ import org.example.entity.zoho.estimate.ZohoEstimateRequest;
 import org.example.entity.zoho.estimate.ZohoEstimateResponse;
 import org.example.exception.AuthenticationError;
 import org.example.exception.ZohoServiceException;
+import org.example.service.AccessTokenProvider;
+import org.example.service.ratelimit.RateGovernor;
+import org.example.utils.JsonBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -15,6 +18,7 @@ import java.net.HttpURLConnection;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
 
 public class ZohoEstimateService extends ZohoServiceAbstract {
 
@@ -25,6 +29,14 @@ public class ZohoEstimateService extends ZohoServiceAbstract {
         super(accessToken, httpClient, objectMapper);
     }
 
+    public ZohoEstimateService(String accessToken, HttpClient httpClient, ObjectMapper objectMapper, RateGovernor rateGovernor) {
+        super(accessToken, httpClient, objectMapper, rateGovernor);
+    }
+
+    public ZohoEstimateService(AccessTokenProvider tokenProvider, HttpClient httpClient, ObjectMapper objectMapper, RateGovernor rateGovernor) {
+        super(tokenProvider, httpClient, objectMapper, rateGovernor);
+    }
+
     /**
      * Creates a new estimate in Zoho Invoice.
      *
@@ -34,40 +46,64 @@ public class ZohoEstimateService extends ZohoServiceAbstract {
      * @throws JsonProcessingException If there is an error serializing the request to JSON.
      */
     public ZohoEstimateResponse createEstimate(ZohoEstimateRequest zohoEstimateRequest, String organizationId) throws JsonProcessingException {
+        HttpRequest httpRequest = buildCreateEstimateRequest(zohoEstimateRequest, organizationId);
+        try {
+            return toEstimateResponse(send(httpRequest));
+        } catch (IOException | InterruptedException e) {
+            String msg = "HTTP request error while adding contact: " + e.getMessage();
+            logger.error(msg, e);
+            throw new ZohoServiceException(msg, e);
+        }
+    }
+
+    /**
+     * Creates a new estimate in Zoho Invoice without blocking the calling thread.
+     * The result and the errors are the same as those of {@link #createEstimate}; errors complete the future.
+     *
+     * @param zohoEstimateRequest The request object containing estimate details.
+     * @param organizationId      The ID of the organisation in Zoho Books.
+     * @return A future of the created estimate or info about the failure.
+     */
+    public CompletableFuture<ZohoEstimateResponse> createEstimateAsync(ZohoEstimateRequest zohoEstimateRequest, String organizationId) {
+        HttpRequest httpRequest;
+        try {
+            httpRequest = buildCreateEstimateRequest(zohoEstimateRequest, organizationId);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return sendAsync(httpRequest, this::toEstimateResponse, "creating estimate");
+    }
+
+    private HttpRequest buildCreateEstimateRequest(ZohoEstimateRequest zohoEstimateRequest, String organizationId) throws JsonProcessingException {
         logger.debug("Adding start estimate to contact: {}", zohoEstimateRequest.getCustomerId());
         String jsonPayload;
         try {
-            jsonPayload = objectMapper.writeValueAsString(zohoEstimateRequest);
+            jsonPayload = codecs.writer(ZohoEstimateRequest.class).writeValueAsString(zohoEstimateRequest);
             logger.debug("Serialized estimate to JSON: {}", jsonPayload);
         } catch (JsonProcessingException e) {
             String msg = "Failed to serialize request to JSON: " + e.getMessage();
             logger.error(msg);
             throw e;
         }
-        HttpRequest httpRequest = buildPostRequest(jsonPayload, organizationId, ESTIMATE_ENDPOINT);
-        try {
-            HttpResponse<String> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
-            if (isSuccessfulStatus(response.statusCode())) {
-                logger.debug("Estimate successfully added: {}", response.statusCode());
-                return objectMapper.readValue(response.body(), ZohoEstimateResponse.class);
-            } else {
-                ZohoErrorResponse error = parseError(response);
-                String msg = getFriendlyErrorMessage(error);
-                logger.error("Failed to add estimate. Status: {}, Zoho code: {}, Message: {}", response.statusCode(),
-                        error != null ? error.getCode() : null,
-                        error != null ? error.getMessage() : null);
-                if (response.statusCode() == HttpURLConnection.HTTP_UNAUTHORIZED || response.statusCode() == HttpURLConnection.HTTP_FORBIDDEN) {
-                    throw new AuthenticationError("Authentication error: " + response.statusCode());
-                }
-                if (response.statusCode() == 429) {
-                    throw new ZohoServiceException(ZOHO_API_LIMIT_REACHED);
-                }
-                throw new ZohoServiceException(msg);
-            }
-        } catch (IOException | InterruptedException e) {
-            String msg = "HTTP request error while adding contact: " + e.getMessage();
-            logger.error(msg, e);
-            throw new ZohoServiceException(msg, e);
+        return buildPostRequest(jsonPayload, organizationId, ESTIMATE_ENDPOINT);
+    }
+
+    private ZohoEstimateResponse toEstimateResponse(HttpResponse<JsonBody> response) throws IOException {
+        if (isSuccessfulStatus(response.statusCode())) {
+            logger.debug("Estimate successfully added: {}", response.statusCode());
+            return response.body().read(codecs.reader(ZohoEstimateResponse.class));
+        }
+        ZohoErrorResponse error = parseError(response);
+        String msg = getFriendlyErrorMessage(error);
+        logger.error("Failed to add estimate. Status: {}, Zoho code: {}, Message: {}", response.statusCode(),
+                error != null ? error.getCode() : null,
+                error != null ? error.getMessage() : null);
+        if (response.statusCode() == HttpURLConnection.HTTP_UNAUTHORIZED || response.statusCode() == HttpURLConnection.HTTP_FORBIDDEN) {
+            throw new AuthenticationError("Authentication error: " + response.statusCode());
+        }
+        if (response.statusCode() == 429) {
+            throw new ZohoServiceException(ZOHO_API_LIMIT_REACHED);
         }
+        throw new ZohoServiceException(msg);
     }
 }
@@ -1,35 +1,157 @@
 package org.example.service.zoho;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.entity.EndPoint;
 import org.example.entity.zoho.ZohoErrorResponse;
+import org.example.exception.ZohoServiceException;
+import org.example.service.AccessTokenProvider;
+import org.example.service.ratelimit.RateGovernor;
+import org.example.utils.HttpTransport;
+import org.example.utils.JsonBody;
+import org.example.utils.JsonCodecs;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import static org.example.service.AccessTokenProvider.tokenOf;
+import static org.example.service.AccessTokenProvider.withAuthorization;
 import static org.example.service.zoho.ZohoContactService.*;
 
 public abstract class ZohoServiceAbstract {
     protected static final Logger logger = LoggerFactory.getLogger(ZohoServiceAbstract.class);
-    private static final String ZOHO_INVOICE_API_URL = "https://www.zohoapis.com/invoice/v3/";
-    private static final String HEADER_AUTHORIZATION = "Authorization";
+    private static final String ZOHO_INVOICE_API_URL = EndPoint.ZOHO_INVOICE.getUrl();
+    private static final String HEADER_AUTHORIZATION = AccessTokenProvider.AUTHORIZATION_HEADER;
     private static final String HEADER_ORG_ID = "X-com-zoho-invoice-organizationid";
     private static final String HEADER_CONTENT_TYPE = "Content-Type";
     private static final String CONTENT_TYPE_JSON = "application/json";
     public static final String ZOHO_API_LIMIT_REACHED = "ZOHO API limit reached.";
-    protected final String accessToken;
+    private static final HttpResponse.BodyHandler<JsonBody> RESPONSE_BODY_HANDLER = JsonBody.handler(logger);
+    // the async mapper runs on the HTTP client threads, which must not block on a streamed body
+    private static final HttpResponse.BodyHandler<JsonBody> ASYNC_RESPONSE_BODY_HANDLER = JsonBody.capturingHandler();
+    protected final AccessTokenProvider tokenProvider;
     protected final HttpClient httpClient;
     protected final ObjectMapper objectMapper;
+    protected final JsonCodecs codecs;
+    protected final RateGovernor rateGovernor;
 
     protected ZohoServiceAbstract(String accessToken, HttpClient httpClient, ObjectMapper objectMapper) {
-        this.accessToken = accessToken;
+        this(AccessTokenProvider.fixed(accessToken), httpClient, objectMapper, null);
+    }
+
+    protected ZohoServiceAbstract(String accessToken, HttpClient httpClient, ObjectMapper objectMapper, RateGovernor rateGovernor) {
+        this(AccessTokenProvider.fixed(accessToken), httpClient, objectMapper, rateGovernor);
+    }
+
+    /**
+     * @param tokenProvider Supplies the access token for every request and refreshes it after a 401.
+     * @param rateGovernor  Paces the requests, null to send them unpaced.
+     */
+    protected ZohoServiceAbstract(AccessTokenProvider tokenProvider, HttpClient httpClient, ObjectMapper objectMapper, RateGovernor rateGovernor) {
+        this.tokenProvider = tokenProvider;
         this.httpClient = httpClient;
         this.objectMapper = objectMapper;
+        this.codecs = JsonCodecs.of(objectMapper);
+        this.rateGovernor = rateGovernor;
+    }
+
+    /**
+     * Sends the request to Zoho, paced by the rate governor if there is one.
+     * A 429 response is only returned once the governor gave up retrying it. A 401 response forces one token
+     * refresh and the request is replayed with the new token.
+     */
+    protected HttpResponse<JsonBody> send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<JsonBody> response = dispatch(request);
+        if (response.statusCode() != HttpURLConnection.HTTP_UNAUTHORIZED) {
+            return response;
+        }
+        Optional<String> refreshedToken = tokenProvider.refreshAccessToken(tokenOf(request, ZOHO_OAUTHTOKEN_HEADER));
+        if (refreshedToken.isEmpty()) {
+            return response;
+        }
+        logger.warn("Zoho rejected the access token, replaying {} {} with a refreshed token", request.method(), request.uri().getPath());
+        return dispatch(withAuthorization(request, ZOHO_OAUTHTOKEN_HEADER + refreshedToken.get()));
+    }
+
+    /**
+     * Sends the request without blocking the calling thread, paced by the rate governor if there is one.
+     * A 401 response is replayed once with a refreshed token, like in {@link #send}.
+     */
+    protected CompletableFuture<HttpResponse<JsonBody>> sendAsync(HttpRequest request) {
+        return dispatchAsync(request).thenCompose(response -> {
+            if (response.statusCode() != HttpURLConnection.HTTP_UNAUTHORIZED) {
+                return CompletableFuture.completedFuture(response);
+            }
+            // the provider refreshes on its own executor, so neither the HTTP client threads nor the common pool block
+            return tokenProvider.refreshAccessTokenAsync(tokenOf(request, ZOHO_OAUTHTOKEN_HEADER))
+                    .thenCompose(refreshedToken -> {
+                        if (refreshedToken.isEmpty()) {
+                            return CompletableFuture.completedFuture(response);
+                        }
+                        logger.warn("Zoho rejected the access token, replaying {} {} with a refreshed token", request.method(), request.uri().getPath());
+                        return dispatchAsync(withAuthorization(request, ZOHO_OAUTHTOKEN_HEADER + refreshedToken.get()));
+                    });
+        });
+    }
+
+    private HttpResponse<JsonBody> dispatch(HttpRequest request) throws IOException, InterruptedException {
+        if (rateGovernor == null) {
+            return httpClient.send(request, RESPONSE_BODY_HANDLER);
+        }
+        return rateGovernor.send(EndPoint.ZOHO_INVOICE, httpClient, request, RESPONSE_BODY_HANDLER);
+    }
+
+    private CompletableFuture<HttpResponse<JsonBody>> dispatchAsync(HttpRequest request) {
+        if (rateGovernor == null) {
+            return httpClient.sendAsync(request, ASYNC_RESPONSE_BODY_HANDLER);
+        }
+        return rateGovernor.sendAsync(EndPoint.ZOHO_INVOICE, httpClient, request, ASYNC_RESPONSE_BODY_HANDLER);
+    }
+
+    /**
+     * Sends the request asynchronously and maps the response with the same mapper the blocking call uses.
+     * The body is received in full before the future completes, so the mapper only parses text already in memory.
+     * Transport and parsing failures complete the future with a {@link ZohoServiceException}; errors thrown by the
+     * mapper, e.g. {@link org.example.exception.AuthenticationError}, are passed on as they are.
+     *
+     * @param request        The request to send.
+     * @param responseMapper Maps the response to the result or throws the mapped error.
+     * @param action         What the request does, for the error message, e.g. "adding contact".
+     */
+    protected <T> CompletableFuture<T> sendAsync(HttpRequest request, ResponseMapper<T> responseMapper, String action) {
+        return sendAsync(request).handle((response, error) -> {
+            try {
+                if (error != null) {
+                    throw error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                }
+                return responseMapper.map(response);
+            } catch (IOException e) {
+                String msg = "HTTP request error while " + action + ": " + e.getMessage();
+                logger.error(msg, e);
+                throw new ZohoServiceException(msg, e);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new ZohoServiceException("HTTP request error while " + action + ": " + e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Maps a Zoho response to the result of a call, shared by the blocking and the asynchronous variant.
+     */
+    @FunctionalInterface
+    protected interface ResponseMapper<T> {
+        T map(HttpResponse<JsonBody> response) throws IOException;
     }
 
     protected boolean isSuccessfulStatus(int statusCode) {
@@ -42,9 +164,9 @@ public abstract class ZohoServiceAbstract {
      * @param response The HttpResponse containing the error body.
      * @return A ZohoErrorResponse object containing the error details.
      */
-    protected ZohoErrorResponse parseError(HttpResponse<String> response) {
+    protected ZohoErrorResponse parseError(HttpResponse<JsonBody> response) {
         try {
-            return objectMapper.readValue(response.body(), ZohoErrorResponse.class);
+            return response.body().read(codecs.reader(ZohoErrorResponse.class));
         } catch (Exception e) {
             logger.warn("Failed to parse Zoho error response: {}", e.getMessage());
             return null;
@@ -69,10 +191,19 @@ public abstract class ZohoServiceAbstract {
         };
     }
 
+    protected HttpRequest buildGetRequest(String organisationId, String endPointWithQuery) {
+        return HttpTransport.newRequestBuilder()
+                .uri(URI.create(ZOHO_INVOICE_API_URL + endPointWithQuery))
+                .header(HEADER_AUTHORIZATION, ZOHO_OAUTHTOKEN_HEADER + tokenProvider.getAccessToken())
+                .header(HEADER_ORG_ID, organisationId)
+                .GET()
+                .build();
+    }
+
     protected HttpRequest buildPostRequest(String jsonPayload, String organisationId, String endPoint) {
-        return HttpRequest.newBuilder()
+        return HttpTransport.newRequestBuilder()
                 .uri(URI.create(ZOHO_INVOICE_API_URL + endPoint))
-                .header(HEADER_AUTHORIZATION, ZOHO_OAUTHTOKEN_HEADER + accessToken)
+                .header(HEADER_AUTHORIZATION, ZOHO_OAUTHTOKEN_HEADER + tokenProvider.getAccessToken())
                 .header(HEADER_ORG_ID, organisationId)
                 .header(HEADER_CONTENT_TYPE, CONTENT_TYPE_JSON)
                 .POST(HttpRequest.BodyPublishers.ofString(jsonPayload, StandardCharsets.UTF_8))
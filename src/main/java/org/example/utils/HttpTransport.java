@@ -0,0 +1,216 @@
+package org.example.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Transport shared by the Google and Zoho clients: requests ask for gzip-compressed responses and response bodies are
+ * decompressed while they are read, so the JSON parser pulls from the inflater without an intermediate copy.
+ * <p>
+ * {@link HttpResponse.BodySubscribers#mapping} must not block, so a streamed body is only wrapped when the response
+ * arrives; the gzip header is read on the first read of the caller.
+ * <p>
+ * The bytes received on the wire and the bytes after decompression are counted for all responses decoded here, see
+ * {@link #stats()}.
+ */
+public final class HttpTransport {
+    public static final String ACCEPT_ENCODING = "Accept-Encoding";
+    public static final String CONTENT_ENCODING = "Content-Encoding";
+    public static final String CONTENT_TYPE = "Content-Type";
+    public static final String GZIP = "gzip";
+    public static final String USER_AGENT = "User-Agent";
+    /**
+     * Google APIs compress a response only if the User-Agent contains "gzip" besides the Accept-Encoding header.
+     */
+    public static final String USER_AGENT_VALUE = "ZohoGoogleApiPrototype (" + GZIP + ")";
+    private static final String CHARSET_PARAMETER = "charset=";
+    private static final int INFLATER_BUFFER_SIZE = 8192;
+
+    private static final LongAdder responses = new LongAdder();
+    private static final LongAdder gzipResponses = new LongAdder();
+    private static final LongAdder wireBytes = new LongAdder();
+    private static final LongAdder decodedBytes = new LongAdder();
+
+    private HttpTransport() {
+    }
+
+    /**
+     * @return a request builder that accepts gzip-compressed responses, with a User-Agent that Google APIs compress for.
+     */
+    public static HttpRequest.Builder newRequestBuilder() {
+        return HttpRequest.newBuilder()
+                .header(ACCEPT_ENCODING, GZIP)
+                .header(USER_AGENT, USER_AGENT_VALUE);
+    }
+
+    /**
+     * @return a handler whose body is the decompressed response stream.
+     */
+    public static HttpResponse.BodyHandler<InputStream> ofInputStream() {
+        return responseInfo -> HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofInputStream(),
+                body -> decode(responseInfo.headers(), body));
+    }
+
+    /**
+     * Wraps a response stream so that it is decompressed and counted while it is read. Does not block.
+     *
+     * @param headers The response headers, null if unknown.
+     * @param body    The body as received on the wire.
+     */
+    public static InputStream decode(HttpHeaders headers, InputStream body) {
+        boolean gzip = isGzip(headers);
+        countResponse(gzip);
+        return new DecodingInputStream(new CountingInputStream(body, wireBytes), gzip);
+    }
+
+    /**
+     * Decompresses a fully received body.
+     *
+     * @param headers The response headers, null if unknown.
+     * @param body    The body as received on the wire.
+     */
+    public static byte[] decode(HttpHeaders headers, byte[] body) throws IOException {
+        boolean gzip = isGzip(headers);
+        countResponse(gzip);
+        wireBytes.add(body.length);
+        byte[] decoded = body;
+        if (gzip && body.length > 0) {
+            try (InputStream inflater = new GZIPInputStream(new ByteArrayInputStream(body), INFLATER_BUFFER_SIZE)) {
+                decoded = inflater.readAllBytes();
+            }
+        }
+        decodedBytes.add(decoded.length);
+        return decoded;
+    }
+
+    /**
+     * @return the charset of the {@code Content-Type} header, UTF-8 if it names none or an unknown one.
+     */
+    public static Charset charset(HttpHeaders headers) {
+        Optional<String> name = Optional.ofNullable(headers)
+                .flatMap(h -> h.firstValue(CONTENT_TYPE))
+                .flatMap(type -> Arrays.stream(type.split(";"))
+                        .map(String::trim)
+                        .filter(parameter -> parameter.regionMatches(true, 0, CHARSET_PARAMETER, 0, CHARSET_PARAMETER.length()))
+                        .map(parameter -> parameter.substring(CHARSET_PARAMETER.length()).replace("\"", ""))
+                        .findFirst());
+        try {
+            return name.map(Charset::forName).orElse(StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    /**
+     * @return the byte counters since the start of the process.
+     */
+    public static TransportStats stats() {
+        return new TransportStats(responses.sum(), gzipResponses.sum(), wireBytes.sum(), decodedBytes.sum());
+    }
+
+    private static boolean isGzip(HttpHeaders headers) {
+        return headers != null && headers.firstValue(CONTENT_ENCODING)
+                .map(encoding -> GZIP.equalsIgnoreCase(encoding.trim()))
+                .orElse(false);
+    }
+
+    private static void countResponse(boolean gzip) {
+        responses.increment();
+        if (gzip) {
+            gzipResponses.increment();
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private final LongAdder counter;
+
+        CountingInputStream(InputStream in, LongAdder counter) {
+            super(in);
+            this.counter = counter;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                counter.increment();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                counter.add(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            counter.add(skipped);
+            return skipped;
+        }
+    }
+
+    /**
+     * Creates the inflater on the first read, as its constructor blocks until the gzip header has arrived.
+     */
+    private static final class DecodingInputStream extends InputStream {
+        private final InputStream wire;
+        private final boolean gzip;
+        private InputStream decoded;
+
+        DecodingInputStream(InputStream wire, boolean gzip) {
+            this.wire = wire;
+            this.gzip = gzip;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = decoded().read();
+            if (b >= 0) {
+                decodedBytes.increment();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = decoded().read(b, off, len);
+            if (n > 0) {
+                decodedBytes.add(n);
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (decoded != null) {
+                decoded.close();
+            } else {
+                wire.close();
+            }
+        }
+
+        private InputStream decoded() throws IOException {
+            if (decoded == null) {
+                decoded = gzip ? new GZIPInputStream(wire, INFLATER_BUFFER_SIZE) : wire;
+            }
+            return decoded;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package org.example.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.slf4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+
+/**
+ * Body of a JSON HTTP response that is handed to Jackson without decoding it into a String first.
+ * <p>
+ * The {@link #handler(Logger) handler} streams a successful response straight from the connection into the parser,
+ * so a large calendar page is never held on the heap as text and as parsed objects at once. The text is captured
+ * only when something besides the parser needs it: error responses, which are logged and parsed into error types,
+ * and every response while the logger of the calling service is at DEBUG. Both are decompressed by
+ * {@link HttpTransport}.
+ * <p>
+ * A streamed body can be read once; it must be read or closed to release the connection. It is read on the thread
+ * that parses it, so responses of {@code sendAsync} use the {@link #capturingHandler() capturing handler} instead:
+ * their body is then complete when the future completes and parsing it never waits for the network.
+ */
+public final class JsonBody implements Closeable {
+    private static final String NOT_CAPTURED = "<streamed, not captured>";
+
+    private final InputStream stream;
+    private final String text;
+
+    private JsonBody(InputStream stream, String text) {
+        this.stream = stream;
+        this.text = text;
+    }
+
+    /**
+     * @param logger The logger of the calling service; the body text is captured while it is at DEBUG.
+     * @return a handler streaming 2xx responses and capturing the text of all others.
+     */
+    public static HttpResponse.BodyHandler<JsonBody> handler(Logger logger) {
+        return responseInfo -> {
+            int status = responseInfo.statusCode();
+            boolean successful = status >= HttpURLConnection.HTTP_OK && status < HttpURLConnection.HTTP_MULT_CHOICE;
+            if (successful && !logger.isDebugEnabled()) {
+                return HttpResponse.BodySubscribers.mapping(HttpTransport.ofInputStream().apply(responseInfo), JsonBody::streamed);
+            }
+            return captured(responseInfo);
+        };
+    }
+
+    /**
+     * @return a handler capturing the text of every response, for asynchronous sends.
+     */
+    public static HttpResponse.BodyHandler<JsonBody> capturingHandler() {
+        return JsonBody::captured;
+    }
+
+    private static HttpResponse.BodySubscriber<JsonBody> captured(HttpResponse.ResponseInfo responseInfo) {
+        // decoded with the charset of the Content-Type, like BodyHandlers.ofString()
+        Charset charset = HttpTransport.charset(responseInfo.headers());
+        return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofByteArray(), body -> {
+            try {
+                return of(new String(HttpTransport.decode(responseInfo.headers(), body), charset));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to decompress response body", e);
+            }
+        });
+    }
+
+    /**
+     * @return a body whose text is already known, e.g. a cached response.
+     */
+    public static JsonBody of(String text) {
+        return new JsonBody(null, text);
+    }
+
+    private static JsonBody streamed(InputStream stream) {
+        return new JsonBody(stream, null);
+    }
+
+    /**
+     * Parses the body; a streamed body is closed afterwards.
+     */
+    public <T> T read(ObjectReader reader) throws IOException {
+        if (stream == null) {
+            return reader.readValue(text);
+        }
+        try (InputStream body = stream) {
+            return reader.readValue(body);
+        }
+    }
+
+    /**
+     * Parses the body with a hand-written decoder; a streamed body is closed afterwards.
+     *
+     * @param reader  Creates the parser, with the features of its mapper.
+     * @param decoder Pulls the value from the parser.
+     */
+    public <T> T decode(ObjectReader reader, JsonDecoder<T> decoder) throws IOException {
+        if (stream == null) {
+            try (JsonParser parser = reader.createParser(text)) {
+                return decoder.decode(parser);
+            }
+        }
+        try (InputStream body = stream; JsonParser parser = reader.createParser(body)) {
+            return decoder.decode(parser);
+        }
+    }
+
+    /**
+     * Parses the body into a tree; a streamed body is closed afterwards.
+     */
+    public JsonNode readTree(ObjectMapper objectMapper) throws IOException {
+        if (stream == null) {
+            return objectMapper.readTree(text);
+        }
+        try (InputStream body = stream) {
+            return objectMapper.readTree(body);
+        }
+    }
+
+    /**
+     * @return true if the text of the body was captured.
+     */
+    public boolean isCaptured() {
+        return stream == null;
+    }
+
+    /**
+     * @return The text of the body, or a placeholder if the body was streamed.
+     */
+    public String text() {
+        return stream == null ? text : NOT_CAPTURED;
+    }
+
+    /**
+     * Releases the connection of a body that is not read.
+     */
+    @Override
+    public void close() throws IOException {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return text();
+    }
+}
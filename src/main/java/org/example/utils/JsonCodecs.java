@@ -0,0 +1,81 @@
+package org.example.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.example.entity.AccessToken;
+import org.example.entity.OAuthTokenResponse;
+import org.example.entity.google.CalendarEvent;
+import org.example.entity.google.DistanceGoogleMatrix;
+import org.example.entity.zoho.ZohoErrorResponse;
+import org.example.entity.zoho.contacts.ZohoContactListResponse;
+import org.example.entity.zoho.contacts.ZohoContactRequest;
+import org.example.entity.zoho.contacts.ZohoContactResponse;
+import org.example.entity.zoho.estimate.ZohoEstimateRequest;
+import org.example.entity.zoho.estimate.ZohoEstimateResponse;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of the {@link ObjectReader}s and {@link ObjectWriter}s of one {@link ObjectMapper}.
+ * <p>
+ * {@code objectMapper.readValue(json, type)} resolves the root deserializer of the type on every call, and
+ * {@code readerFor(type)} builds a new reader each time. A reader or writer taken from the registry is built once,
+ * with its root (de)serializer already resolved, and is immutable and thread-safe, so the services keep it in a field
+ * and reuse it for every request. The readers and writers of the {@link #ENTITY_TYPES} are built when the registry is
+ * created; other types are added on first use.
+ */
+public final class JsonCodecs {
+    /**
+     * The types read from and written to the Google, Zoho and OAuth APIs.
+     */
+    public static final List<Class<?>> ENTITY_TYPES = List.of(
+            CalendarEvent.class,
+            DistanceGoogleMatrix.class,
+            ZohoContactRequest.class,
+            ZohoContactResponse.class,
+            ZohoContactListResponse.class,
+            ZohoEstimateRequest.class,
+            ZohoEstimateResponse.class,
+            ZohoErrorResponse.class,
+            OAuthTokenResponse.class,
+            AccessToken.class);
+
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    /**
+     * Builds a registry and the codecs of the {@link #ENTITY_TYPES}; use {@link #of(ObjectMapper)} to share it.
+     */
+    public JsonCodecs(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        for (Class<?> type : ENTITY_TYPES) {
+            reader(type);
+            writer(type);
+        }
+    }
+
+    /**
+     * @return the shared registry of {@link JsonUtils#OBJECT_MAPPER}, or a new registry for any other mapper.
+     */
+    public static JsonCodecs of(ObjectMapper objectMapper) {
+        return objectMapper == JsonUtils.OBJECT_MAPPER ? JsonUtils.CODECS : new JsonCodecs(objectMapper);
+    }
+
+    /**
+     * @return the reader of the type.
+     */
+    public ObjectReader reader(Class<?> type) {
+        return readers.computeIfAbsent(type, objectMapper::readerFor);
+    }
+
+    /**
+     * @return the writer of the type.
+     */
+    public ObjectWriter writer(Class<?> type) {
+        return writers.computeIfAbsent(type, objectMapper::writerFor);
+    }
+}
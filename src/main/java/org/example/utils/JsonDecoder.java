@@ -0,0 +1,82 @@
+package org.example.utils;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Hand-written decoder of a response that pulls the fields it needs from the token stream and skips the others,
+ * instead of binding the whole document.
+ * <p>
+ * The static methods read the current value and fail on a structure where a scalar is expected, so a decoder never
+ * loses its place in the stream.
+ *
+ * @param <T> The decoded type.
+ */
+@FunctionalInterface
+public interface JsonDecoder<T> {
+
+    /**
+     * Reads one value.
+     *
+     * @param parser The parser, positioned before the first token of the value.
+     * @return the value, or null for a JSON {@code null}.
+     */
+    T decode(JsonParser parser) throws IOException;
+
+    /**
+     * @return true at the start of an object, false at a JSON {@code null}.
+     * @throws JsonParseException at any other token.
+     */
+    static boolean startObject(JsonParser parser, JsonToken token) throws IOException {
+        return start(parser, token, JsonToken.START_OBJECT);
+    }
+
+    /**
+     * @return true at the start of an array, false at a JSON {@code null}.
+     * @throws JsonParseException at any other token.
+     */
+    static boolean startArray(JsonParser parser, JsonToken token) throws IOException {
+        return start(parser, token, JsonToken.START_ARRAY);
+    }
+
+    /**
+     * @return the current scalar as text, null for a JSON {@code null}.
+     */
+    static String text(JsonParser parser) throws IOException {
+        return scalar(parser).getValueAsString();
+    }
+
+    /**
+     * @return the current scalar as int, 0 for a JSON {@code null}.
+     */
+    static int intValue(JsonParser parser) throws IOException {
+        return scalar(parser).getValueAsInt();
+    }
+
+    /**
+     * @return the current scalar as long, 0 for a JSON {@code null}.
+     */
+    static long longValue(JsonParser parser) throws IOException {
+        return scalar(parser).getValueAsLong();
+    }
+
+    private static boolean start(JsonParser parser, JsonToken token, JsonToken expected) throws IOException {
+        if (token == expected) {
+            return true;
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return false;
+        }
+        throw new JsonParseException(parser, "Unexpected " + token + " at " + parser.currentName() + ", expected " + expected);
+    }
+
+    private static JsonParser scalar(JsonParser parser) throws IOException {
+        if (parser.currentToken() == null || parser.currentToken().isStructStart()) {
+            throw new JsonParseException(parser, "Unexpected " + parser.currentToken() + " at " + parser.currentName() + ", expected a scalar");
+        }
+        return parser;
+    }
+}
@@ -1,21 +1,55 @@
 package org.example.utils;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Utility class for JSON operations.
  */
 public class JsonUtils {
+    private static final Logger logger = LoggerFactory.getLogger(JsonUtils.class);
+    /**
+     * Set to true to register the Blackbird module, which replaces the reflective property access of Jackson with
+     * generated lambdas. It is picked up only if the module is on the classpath.
+     */
+    public static final String BLACKBIRD_PROPERTY = "app.json.blackbird";
+    private static final String BLACKBIRD_MODULE = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
 
     private JsonUtils() {
     }
 
-    public static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    public static final ObjectMapper OBJECT_MAPPER = newObjectMapper(Boolean.getBoolean(BLACKBIRD_PROPERTY));
 
-    static {
-        OBJECT_MAPPER.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        OBJECT_MAPPER.registerModule(new JavaTimeModule());
+    /**
+     * The readers and writers of {@link #OBJECT_MAPPER}, built at startup.
+     */
+    public static final JsonCodecs CODECS = new JsonCodecs(OBJECT_MAPPER);
+
+    /**
+     * @param blackbird Whether to register the Blackbird module if it is available.
+     * @return a mapper configured like {@link #OBJECT_MAPPER}.
+     */
+    public static ObjectMapper newObjectMapper(boolean blackbird) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.registerModule(new JavaTimeModule());
+        if (blackbird) {
+            registerBlackbird(objectMapper);
+        }
+        return objectMapper;
+    }
+
+    private static void registerBlackbird(ObjectMapper objectMapper) {
+        try {
+            Module module = (Module) Class.forName(BLACKBIRD_MODULE).getDeclaredConstructor().newInstance();
+            objectMapper.registerModule(module);
+            logger.info("Jackson Blackbird module registered");
+        } catch (ReflectiveOperationException | LinkageError e) {
+            logger.warn("Jackson Blackbird module is not available, using reflection: {}", e.toString());
+        }
     }
 }
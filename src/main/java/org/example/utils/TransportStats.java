@@ -0,0 +1,28 @@
+package org.example.utils;
+
+/**
+ * Byte counters of the HTTP responses decoded by {@link HttpTransport}.
+ *
+ * @param responses     The number of responses.
+ * @param gzipResponses The number of those that arrived gzip-compressed.
+ * @param wireBytes     The body bytes received, compressed where the server compressed them.
+ * @param decodedBytes  The body bytes after decompression.
+ */
+public record TransportStats(long responses,
+                             long gzipResponses,
+                             long wireBytes,
+                             long decodedBytes) {
+
+    /**
+     * @return the share of the decoded bytes that did not have to be transferred.
+     */
+    public double savedRate() {
+        return decodedBytes == 0 ? 0 : 1 - (double) wireBytes / decodedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("responses=%d, gzipResponses=%d, wireBytes=%d, decodedBytes=%d, saved=%.1f%%",
+                responses, gzipResponses, wireBytes, decodedBytes, savedRate() * 100);
+    }
+}
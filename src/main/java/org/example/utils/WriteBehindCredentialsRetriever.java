@@ -0,0 +1,143 @@
+package org.example.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.entity.AppCredentials;
+import org.example.exception.CredentialsRetrieverRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * CredentialsRetriever decorator that saves the credentials in the background.
+ * <p>
+ * {@link #updateCredentials} only takes a JSON snapshot of the credentials and returns, so a token refresh does not
+ * wait for the store, e.g. a Parameter Store {@code PutParameter}. Updates within {@code delay} are coalesced into
+ * one write of the latest snapshot, and a snapshot equal to the stored one is not written at all. A failed write is
+ * retried later. {@link #close()} writes the pending snapshot before the application exits.
+ */
+public class WriteBehindCredentialsRetriever implements CredentialsRetriever, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindCredentialsRetriever.class);
+    public static final Duration DEFAULT_DELAY = Duration.ofSeconds(2);
+    public static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+
+    private final CredentialsRetriever delegate;
+    private final ObjectMapper objectMapper;
+    private final Duration delay;
+    private final ScheduledExecutorService executor;
+    private final AtomicReference<String> pending = new AtomicReference<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile String stored;
+
+    public WriteBehindCredentialsRetriever(CredentialsRetriever delegate, ObjectMapper objectMapper) {
+        this(delegate, objectMapper, DEFAULT_DELAY);
+    }
+
+    /**
+     * @param delegate     The store the credentials are written to.
+     * @param objectMapper Takes the snapshots of the credentials.
+     * @param delay        How long updates are collected before they are written.
+     */
+    public WriteBehindCredentialsRetriever(CredentialsRetriever delegate, ObjectMapper objectMapper, Duration delay) {
+        this.delegate = delegate;
+        this.objectMapper = objectMapper;
+        this.delay = delay;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "credentials-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Reads the credentials; an update that is not written yet is returned instead of the stored credentials.
+     */
+    @Override
+    public AppCredentials readCredentials() throws IOException {
+        String snapshot = pending.get();
+        if (snapshot != null) {
+            return objectMapper.readValue(snapshot, AppCredentials.class);
+        }
+        AppCredentials credentials = delegate.readCredentials();
+        stored = objectMapper.writeValueAsString(credentials);
+        return credentials;
+    }
+
+    @Override
+    public void updateCredentials(AppCredentials credentials) {
+        String snapshot;
+        try {
+            snapshot = objectMapper.writeValueAsString(credentials);
+        } catch (JsonProcessingException e) {
+            throw new CredentialsRetrieverRuntimeException("Failed to serialize credentials", e);
+        }
+        if (closed.get()) {
+            logger.warn("Credentials updated after close, writing them directly");
+            pending.set(snapshot);
+            flush();
+            return;
+        }
+        pending.set(snapshot);
+        scheduleFlush(delay);
+    }
+
+    /**
+     * Writes the pending update, if any, on the calling thread.
+     */
+    public synchronized void flush() {
+        String snapshot = pending.getAndSet(null);
+        if (snapshot == null) {
+            return;
+        }
+        if (snapshot.equals(stored)) {
+            logger.debug("Credentials unchanged, skipping write");
+            return;
+        }
+        try {
+            delegate.updateCredentials(objectMapper.readValue(snapshot, AppCredentials.class));
+            stored = snapshot;
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to write credentials, retrying in {} s: {}", RETRY_DELAY.toSeconds(), e.getMessage());
+            // a newer update replaces the failed one
+            pending.compareAndSet(null, snapshot);
+            if (!closed.get()) {
+                scheduleFlush(RETRY_DELAY);
+            }
+        }
+    }
+
+    /**
+     * Writes the pending update and stops the background writer.
+     */
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            executor.shutdownNow();
+            flush();
+        }
+    }
+
+    private void scheduleFlush(Duration after) {
+        if (flushScheduled.compareAndSet(false, true)) {
+            try {
+                executor.schedule(() -> {
+                    flushScheduled.set(false);
+                    flush();
+                }, after.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // closed concurrently
+                flushScheduled.set(false);
+                flush();
+            }
+        }
+    }
+}
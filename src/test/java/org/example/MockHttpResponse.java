@@ -1,21 +1,106 @@
 package org.example;
 
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
 import javax.net.ssl.SSLSession;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 
 public class MockHttpResponse implements HttpResponse<String> {
     private final int statusCode;
     private final String body;
+    private final HttpHeaders headers;
 
     public MockHttpResponse(int statusCode, String body) {
+        this(statusCode, body, Map.of());
+    }
+
+    public MockHttpResponse(int statusCode, String body, Map<String, List<String>> headers) {
         this.statusCode = statusCode;
         this.body = body;
+        this.headers = HttpHeaders.of(headers, (name, value) -> true);
+    }
+
+    /**
+     * Answers a stubbed {@code send} with the given response, passing its body through the body handler of the call
+     * like the real client does. The status and body are read from the response when the call is made.
+     */
+    public static Answer<HttpResponse<?>> respond(HttpResponse<String> response) {
+        return invocation -> handle(bodyHandler(invocation), response);
+    }
+
+    /**
+     * Answers a stubbed {@code sendAsync} like {@link #respond(HttpResponse)}.
+     */
+    public static Answer<CompletableFuture<HttpResponse<?>>> respondAsync(HttpResponse<String> response) {
+        return invocation -> CompletableFuture.completedFuture(handle(bodyHandler(invocation), response));
     }
+
+    /**
+     * Feeds the body of the response to the subscriber of the body handler and returns the response with its result.
+     */
+    public static <T> HttpResponse<T> handle(HttpResponse.BodyHandler<T> bodyHandler, HttpResponse<String> response) throws Exception {
+        int status = response.statusCode();
+        HttpHeaders headers = response.headers() != null ? response.headers() : HttpHeaders.of(Map.of(), (name, value) -> true);
+        HttpResponse.ResponseInfo responseInfo = new HttpResponse.ResponseInfo() {
+            @Override
+            public int statusCode() {
+                return status;
+            }
+
+            @Override
+            public HttpHeaders headers() {
+                return headers;
+            }
+
+            @Override
+            public HttpClient.Version version() {
+                return HttpClient.Version.HTTP_1_1;
+            }
+        };
+        HttpResponse.BodySubscriber<T> subscriber = bodyHandler.apply(responseInfo);
+        byte[] bytes = response.body() == null ? new byte[0] : response.body().getBytes(StandardCharsets.UTF_8);
+        subscriber.onSubscribe(new Flow.Subscription() {
+            private boolean delivered;
+
+            @Override
+            public void request(long n) {
+                if (!delivered && n > 0) {
+                    delivered = true;
+                    subscriber.onNext(List.of(ByteBuffer.wrap(bytes)));
+                    subscriber.onComplete();
+                }
+            }
+
+            @Override
+            public void cancel() {
+                delivered = true;
+            }
+        });
+        T body = subscriber.getBody().toCompletableFuture().get();
+        return new HandledResponse<>(status, body, headers);
+    }
+
+    private static HttpResponse.BodyHandler<?> bodyHandler(InvocationOnMock invocation) {
+        for (Object argument : invocation.getArguments()) {
+            if (argument instanceof HttpResponse.BodyHandler<?> bodyHandler) {
+                return bodyHandler;
+            }
+        }
+        throw new IllegalArgumentException("No body handler passed to " + invocation.getMethod().getName());
+    }
+
     @Override
     public int statusCode() {
         return statusCode;
@@ -38,7 +123,7 @@ public class MockHttpResponse implements HttpResponse<String> {
 
     @Override
     public HttpHeaders headers() {
-        return null;
+        return headers;
     }
 
     @Override
@@ -55,4 +140,31 @@ public class MockHttpResponse implements HttpResponse<String> {
     public HttpClient.Version version() {
         return null;
     }
+
+    private record HandledResponse<T>(int statusCode, T body, HttpHeaders headers) implements HttpResponse<T> {
+        @Override
+        public HttpRequest request() {
+            return null;
+        }
+
+        @Override
+        public Optional<HttpResponse<T>> previousResponse() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<SSLSession> sslSession() {
+            return Optional.empty();
+        }
+
+        @Override
+        public URI uri() {
+            return null;
+        }
+
+        @Override
+        public HttpClient.Version version() {
+            return HttpClient.Version.HTTP_1_1;
+        }
+    }
 }
@@ -0,0 +1,178 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefreshAheadTokenTest {
+    private static final Instant NOW = Instant.parse("2025-01-14T12:00:00Z");
+    private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+    private static final Duration REFRESH_AHEAD = Duration.ofMinutes(5);
+    private static final Duration EXPIRY_MARGIN = Duration.ofSeconds(60);
+
+    private final Queue<Runnable> scheduled = new ArrayDeque<>();
+    private final AtomicInteger refreshes = new AtomicInteger();
+
+    @Test
+    void get_FreshToken_IsServedWithoutRefresh() throws Exception {
+        // Given
+        RefreshAheadToken token = token(snapshot("current", NOW.plus(Duration.ofMinutes(30))), scheduled::add);
+
+        // When
+        String accessToken = token.get();
+
+        // Then
+        assertEquals("current", accessToken);
+        assertTrue(scheduled.isEmpty());
+    }
+
+    @Test
+    void get_InRefreshAheadWindow_ServesCurrentTokenAndRefreshesOnceInBackground() throws Exception {
+        // Given
+        RefreshAheadToken token = token(snapshot("current", NOW.plus(Duration.ofMinutes(3))), scheduled::add);
+
+        // When
+        String first = token.get();
+        String second = token.get();
+
+        // Then
+        assertEquals("current", first);
+        assertEquals("current", second);
+        assertEquals(1, scheduled.size());
+        scheduled.poll().run();
+        assertEquals("refreshed-1", token.get());
+        assertEquals(1, refreshes.get());
+    }
+
+    @Test
+    void get_ExpiredToken_ConcurrentCallersShareOneRefresh() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService refreshExecutor = Executors.newSingleThreadExecutor();
+        RefreshAheadToken token = new RefreshAheadToken("Test", snapshot("expired", NOW.minusSeconds(1)), () -> {
+            release.await(5, TimeUnit.SECONDS);
+            return snapshot("refreshed-" + refreshes.incrementAndGet(), NOW.plus(Duration.ofHours(1)));
+        }, refreshExecutor, CLOCK, REFRESH_AHEAD, EXPIRY_MARGIN);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(token::get));
+            }
+
+            // When
+            release.countDown();
+
+            // Then
+            for (Future<String> result : results) {
+                assertEquals("refreshed-1", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, refreshes.get());
+        } finally {
+            callers.shutdownNow();
+            refreshExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void refresh_ReplacesTokenBeforeExpiry() throws Exception {
+        // Given
+        RefreshAheadToken token = token(snapshot("rejected", NOW.plus(Duration.ofMinutes(30))), Runnable::run);
+
+        // When
+        String refreshed = token.refresh("rejected");
+
+        // Then
+        assertEquals("refreshed-1", refreshed);
+        assertEquals("refreshed-1", token.get());
+    }
+
+    @Test
+    void refreshAsync_RunsOnRefreshExecutorWithoutBlocking() throws Exception {
+        // Given
+        RefreshAheadToken token = token(snapshot("rejected", NOW.plus(Duration.ofMinutes(30))), scheduled::add);
+
+        // When
+        CompletableFuture<String> refreshed = token.refreshAsync("rejected");
+
+        // Then
+        assertFalse(refreshed.isDone());
+        scheduled.poll().run();
+        assertEquals("refreshed-1", refreshed.getNow(null));
+    }
+
+    @Test
+    void refresh_TokenAlreadyReplaced_ReturnsCurrentTokenWithoutRefresh() throws Exception {
+        // Given
+        RefreshAheadToken token = token(snapshot("rejected", NOW.plus(Duration.ofMinutes(30))), Runnable::run);
+        token.refresh("rejected");
+
+        // When
+        String second = token.refresh("rejected");
+        String third = token.refresh("rejected");
+
+        // Then
+        assertEquals("refreshed-1", second);
+        assertEquals("refreshed-1", third);
+        assertEquals(1, refreshes.get());
+    }
+
+    @Test
+    void refresh_NewTokenRejected_RefreshesAgain() throws Exception {
+        // Given
+        RefreshAheadToken token = token(snapshot("rejected", NOW.plus(Duration.ofMinutes(30))), Runnable::run);
+        token.refresh("rejected");
+
+        // When
+        String refreshed = token.refresh("refreshed-1");
+
+        // Then
+        assertEquals("refreshed-2", refreshed);
+        assertEquals(2, refreshes.get());
+    }
+
+    @Test
+    void get_ExpiredTokenAndRefreshFails_ThrowsAndRetriesOnNextCall() throws Exception {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        RefreshAheadToken token = new RefreshAheadToken("Test", snapshot("expired", NOW.minusSeconds(1)), () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IOException("invalid_grant");
+            }
+            return snapshot("refreshed", NOW.plus(Duration.ofHours(1)));
+        }, Runnable::run, CLOCK, REFRESH_AHEAD, EXPIRY_MARGIN);
+
+        // When & Then
+        assertThrows(IOException.class, token::get);
+        assertEquals("refreshed", token.get());
+        assertEquals(2, attempts.get());
+    }
+
+    private RefreshAheadToken token(RefreshAheadToken.Snapshot initial, Executor executor) {
+        return new RefreshAheadToken("Test", initial,
+                () -> snapshot("refreshed-" + refreshes.incrementAndGet(), NOW.plus(Duration.ofHours(1))),
+                executor, CLOCK, REFRESH_AHEAD, EXPIRY_MARGIN);
+    }
+
+    private static RefreshAheadToken.Snapshot snapshot(String accessToken, Instant expiry) {
+        return new RefreshAheadToken.Snapshot(accessToken, expiry);
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.pipeline;
+
+import org.example.entity.google.CalendarEvent;
+import org.example.processor.EventProcessingResult;
+import org.example.processor.RunSummary;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventPipelineTest {
+
+    @Test
+    void run_PassesEventsThroughAllStagesAndStopsFinishedOnes() throws Exception {
+        // Given
+        AtomicInteger lastStageCalls = new AtomicInteger();
+        EventPipeline pipeline = EventPipeline.builder()
+                .queueCapacity(2)
+                .stage("filter", 2, context -> {
+                    if (Integer.parseInt(context.getEventId()) % 2 == 0) {
+                        context.finish(EventProcessingResult.Status.NO_CUSTOMER, null);
+                    }
+                })
+                .stage("complete", 1, context -> {
+                    lastStageCalls.incrementAndGet();
+                    context.finish(EventProcessingResult.Status.COMPLETED, "done");
+                })
+                .build();
+        // When
+        RunSummary summary = pipeline.run(events(10));
+        // Then
+        assertEquals(10, summary.getTotal());
+        assertEquals(5, summary.getCount(EventProcessingResult.Status.NO_CUSTOMER));
+        assertEquals(5, summary.getCount(EventProcessingResult.Status.COMPLETED));
+        assertEquals(5, lastStageCalls.get());
+    }
+
+    @Test
+    void run_SlowStageAppliesBackpressureWithinQueueCapacity() throws Exception {
+        // Given
+        EventPipeline pipeline = EventPipeline.builder()
+                .queueCapacity(3)
+                .stage("fast", 4, context -> {
+                })
+                .stage("slow", 1, context -> Thread.sleep(5))
+                .build();
+        // When
+        RunSummary summary = pipeline.run(events(30));
+        // Then
+        assertEquals(30, summary.getTotal());
+        List<StageStats> stats = pipeline.getStageStats();
+        assertEquals(EventPipeline.FETCH_STAGE, stats.get(0).stage());
+        assertEquals(30, stats.get(0).processed());
+        StageStats slow = stats.get(2);
+        assertEquals("slow", slow.stage());
+        assertEquals(30, slow.processed());
+        assertTrue(slow.maxQueueDepth() <= 3, "Queue depth must not exceed its capacity");
+        assertTrue(slow.averageServiceMillis() >= 5);
+    }
+
+    @Test
+    void run_StageExceptionFailsOnlyThatEvent() throws Exception {
+        // Given
+        EventPipeline pipeline = EventPipeline.builder()
+                .stage("unstable", 1, context -> {
+                    if ("3".equals(context.getEventId())) {
+                        throw new IllegalStateException("backend down");
+                    }
+                })
+                .build();
+        // When
+        RunSummary summary = pipeline.run(events(5));
+        // Then
+        assertEquals(1, summary.getFailures().size());
+        assertEquals("backend down", summary.getFailures().get(0).message());
+        assertEquals(4, summary.getCount(EventProcessingResult.Status.COMPLETED));
+    }
+
+    private static List<CalendarEvent> events(int count) {
+        List<CalendarEvent> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            CalendarEvent event = new CalendarEvent();
+            event.setId(String.valueOf(i));
+            events.add(event);
+        }
+        return events;
+    }
+}
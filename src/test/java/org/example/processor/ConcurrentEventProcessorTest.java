@@ -0,0 +1,77 @@
+package org.example.processor;
+
+import org.example.entity.google.CalendarEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrentEventProcessorTest {
+
+    @Mock
+    private EventProcessor eventProcessor;
+
+    @Test
+    void processAll_CollectsResultsAndFailuresIntoSummary() throws Exception {
+        // Given
+        BackendLimiter limiter = new BackendLimiter(Map.of(Backend.GOOGLE_MAPS, 2, Backend.ZOHO, 2, Backend.DYNAMODB, 2));
+        List<CalendarEvent> events = List.of(event("1"), event("2"), event("3"));
+        when(eventProcessor.process(any(CalendarEvent.class))).thenAnswer(invocation -> {
+            String id = invocation.<CalendarEvent>getArgument(0).getId();
+            return switch (id) {
+                case "1" -> EventProcessingResult.of(id, EventProcessingResult.Status.COMPLETED);
+                case "2" -> EventProcessingResult.of(id, EventProcessingResult.Status.ALREADY_PROCESSED);
+                default -> new EventProcessingResult(id, EventProcessingResult.Status.CONTACT_FAILED, "boom");
+            };
+        });
+        // When
+        RunSummary summary = new ConcurrentEventProcessor(eventProcessor, limiter).processAll(events);
+        // Then
+        assertEquals(3, summary.getTotal());
+        assertEquals(1, summary.getCount(EventProcessingResult.Status.COMPLETED));
+        assertEquals(1, summary.getCount(EventProcessingResult.Status.ALREADY_PROCESSED));
+        assertEquals(1, summary.getFailures().size());
+        assertEquals("3", summary.getFailures().get(0).eventId());
+        verify(eventProcessor, times(3)).process(any(CalendarEvent.class));
+    }
+
+    @Test
+    void backendLimiter_NeverExceedsLimit() throws Exception {
+        // Given
+        BackendLimiter limiter = new BackendLimiter(Map.of(Backend.ZOHO, 2));
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(eventProcessor.process(any(CalendarEvent.class))).thenAnswer(invocation -> limiter.call(Backend.ZOHO, () -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            inFlight.decrementAndGet();
+            return EventProcessingResult.of(invocation.<CalendarEvent>getArgument(0).getId(), EventProcessingResult.Status.COMPLETED);
+        }));
+        List<CalendarEvent> events = List.of(event("1"), event("2"), event("3"), event("4"), event("5"), event("6"));
+        // When
+        RunSummary summary = new ConcurrentEventProcessor(eventProcessor, limiter).processAll(events);
+        // Then
+        assertEquals(6, summary.getCount(EventProcessingResult.Status.COMPLETED));
+        assertTrue(maxInFlight.get() <= 2, "At most two Zoho calls may be in flight");
+    }
+
+    @Test
+    void backendLimiter_RejectsNonPositiveLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new BackendLimiter(Map.of(Backend.ZOHO, 0)));
+    }
+
+    private static CalendarEvent event(String id) {
+        CalendarEvent event = new CalendarEvent();
+        event.setId(id);
+        return event;
+    }
+}
@@ -0,0 +1,131 @@
+package org.example.processor;
+
+import org.example.entity.Customer;
+import org.example.entity.google.CalendarEvent;
+import org.example.service.EventDeduplicationStore;
+import org.example.service.RouteService;
+import org.example.service.route.DayRoute;
+import org.example.service.route.RouteLeg;
+import org.example.service.route.Visit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventProcessorRouteNoteTest {
+    private static final String OFFICE = "Office";
+    private static final String ADDRESS = "1 Main St";
+
+    @Mock
+    private RouteService routeService;
+    @Mock
+    private EventDeduplicationStore deduplicationStore;
+    private EventProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        processor = new EventProcessor(deduplicationStore, new GoogleEventParser(), routeService, null, null,
+                "org", OFFICE, BackendLimiter.sequential());
+    }
+
+    @Test
+    void addRouteNote_WithPlannedRoundTrip_WritesBothLegsWithoutRequest() throws Exception {
+        // Given
+        processor.useRoundTrips(List.of(dayRoute(new RouteLeg(OFFICE, ADDRESS, 16093, 1200, true),
+                new RouteLeg(ADDRESS, OFFICE, 17702, 1500, true))));
+        Customer customer = customer();
+
+        // When
+        processor.addRouteNote("event-1", customer);
+
+        // Then
+        assertEquals("Round trip to customer: 21.00 miles, duration: 45 min (to customer 10.00 miles, 20 min; back 11.00 miles, 25 min)",
+                customer.getNote());
+        verifyNoInteractions(routeService);
+    }
+
+    @Test
+    void addRouteNote_WithIncompleteRoundTrip_RequestsOneWayRoute() throws Exception {
+        // Given
+        processor.useRoundTrips(List.of(dayRoute(new RouteLeg(OFFICE, ADDRESS, 16093, 1200, true),
+                RouteLeg.notFound(ADDRESS, OFFICE))));
+        when(routeService.getRouteEstimate(anyString(), anyString())).thenReturn(Optional.empty());
+
+        // When
+        processor.addRouteNote("event-1", customer());
+
+        // Then
+        verify(routeService).getRouteEstimate(OFFICE, ADDRESS);
+    }
+
+    @Test
+    void prefetchRoutes_WithPlannedRoundTrip_SkipsEvent() throws Exception {
+        // Given
+        processor.useRoundTrips(List.of(dayRoute(new RouteLeg(OFFICE, ADDRESS, 16093, 1200, true),
+                new RouteLeg(ADDRESS, OFFICE, 17702, 1500, true))));
+        CalendarEvent event = new CalendarEvent();
+        event.setId("event-1");
+        event.setSummary("# John Smith 812-929-2381");
+        event.setLocation(ADDRESS);
+
+        // When
+        processor.prefetchRoutes(List.of(event));
+
+        // Then
+        verifyNoInteractions(routeService);
+    }
+
+    @Test
+    void prefetchProcessed_WithPlannedRoundTrip_ChecksEventInBulk() throws Exception {
+        // Given
+        processor.useRoundTrips(List.of(dayRoute(new RouteLeg(OFFICE, ADDRESS, 16093, 1200, true),
+                new RouteLeg(ADDRESS, OFFICE, 17702, 1500, true))));
+        when(deduplicationStore.findProcessedEvents(List.of("event-1", "event-2"))).thenReturn(Set.of("event-2"));
+
+        // When
+        processor.prefetchProcessed(List.of(event("event-1"), event("event-2")));
+
+        // Then
+        assertTrue(processor.isPending("event-1"));
+        assertFalse(processor.isPending("event-2"));
+        assertFalse(processor.isAlreadyProcessed("event-1"));
+        assertTrue(processor.isAlreadyProcessed("event-2"));
+        verify(deduplicationStore, never()).isEventProcessed(anyString());
+    }
+
+    private static CalendarEvent event(String id) {
+        CalendarEvent event = new CalendarEvent();
+        event.setId(id);
+        return event;
+    }
+
+    private static DayRoute dayRoute(RouteLeg outbound, RouteLeg inbound) {
+        Visit visit = new Visit("event-1", ADDRESS, OffsetDateTime.parse("2025-01-14T10:00:00-05:00"));
+        return new DayRoute(LocalDate.of(2025, 1, 14), List.of(visit), List.of(outbound, inbound),
+                List.of(new DayRoute.RoundTrip(visit, outbound, inbound)));
+    }
+
+    private static Customer customer() {
+        Customer customer = new Customer();
+        customer.setFirstName("John");
+        customer.setAddress(ADDRESS);
+        return customer;
+    }
+}
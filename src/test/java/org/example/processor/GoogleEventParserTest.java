@@ -3,12 +3,14 @@ package org.example.processor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.val;
 import org.example.entity.Customer;
+import org.example.entity.google.CalendarEvent;
 import org.example.service.google.GoogleCalendarService;
 import org.junit.jupiter.api.Test;
 
 import java.io.InputStream;
 import java.net.http.HttpClient;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -74,4 +76,88 @@ class GoogleEventParserTest {
         String resultMobilePhone = googleEventParser.parseMobilePhone(calandyDescription);
         assertEquals(expectedMobilePhone, resultMobilePhone);
     }
+
+    @Test
+    void retrieveCustomer_ManualEntry_ReadsNamePhoneAndAddress() {
+        // Given
+        CalendarEvent event = event("# Alex  Farabaugh 400-942-5598 dishwasher", null, "1601 Willow Road, Menlo Park, CA 94025");
+
+        // When
+        Optional<Customer> customer = googleEventParser.retrieveCustomer(event, delimiter);
+
+        // Then
+        assertTrue(customer.isPresent());
+        assertEquals("Alex", customer.get().getFirstName());
+        assertEquals("Farabaugh", customer.get().getSecondName());
+        assertEquals("400-942-5598", customer.get().getPhone());
+        assertEquals("1601 Willow Road, Menlo Park, CA 94025", customer.get().getAddress());
+        assertNull(customer.get().getEmail());
+    }
+
+    @Test
+    void retrieveCustomer_Calendly_ReadsPhoneFromDescriptionAndEmailFromGuest() {
+        // Given
+        CalendarEvent event = event("John Kit and Service", calandyDescription, "92 W Ratliff Rd, Liusville, IN 47460");
+        event.setAttendees(List.of(attendee("office@example.com", true), attendee("johns@yahoo.com", false)));
+
+        // When
+        Optional<Customer> customer = googleEventParser.retrieveCustomer(event, delimiter);
+
+        // Then
+        assertTrue(customer.isPresent());
+        assertEquals("John", customer.get().getFirstName());
+        assertEquals("Kit", customer.get().getSecondName());
+        assertEquals("+1 312-922-2388", customer.get().getPhone());
+        assertEquals("johns@yahoo.com", customer.get().getEmail());
+        assertEquals("92 W Ratliff Rd, Liusville, IN 47460", customer.get().getAddress());
+    }
+
+    @Test
+    void retrieveCustomer_CustomRule_ExtractsNewBookingSource() {
+        // Given
+        CustomerExtractionRule booking = new CustomerExtractionRule("booking", CustomerExtractionRule.EventField.SUMMARY,
+                "Booked:", CustomerExtractionRule.EventField.SUMMARY, 1, CustomerExtractionRule.EventField.DESCRIPTION,
+                CustomerExtractionRule.NO_GUEST, CustomerExtractionRule.EventField.LOCATION);
+        GoogleEventParser parser = new GoogleEventParser(List.of(booking));
+        CalendarEvent event = event("Booked: Mary Jones", "Call (317) 555-0142 before", "12 Main St");
+
+        // When
+        Optional<Customer> customer = parser.retrieveCustomer(event, delimiter);
+
+        // Then
+        assertTrue(customer.isPresent());
+        assertEquals("Mary", customer.get().getFirstName());
+        assertEquals("Jones", customer.get().getSecondName());
+        assertEquals("(317) 555-0142", customer.get().getPhone());
+        assertTrue(googleEventParser.retrieveCustomer(event, delimiter).isEmpty());
+    }
+
+    @Test
+    void retrieveCustomer_NoRuleMatches_ReturnsEmpty() {
+        assertTrue(googleEventParser.retrieveCustomer(event("Team meeting", "Agenda", null), delimiter).isEmpty());
+        assertTrue(googleEventParser.retrieveCustomer(event(" ", calandyDescription, null), delimiter).isEmpty());
+        assertTrue(googleEventParser.retrieveCustomer(event("#", null, null), delimiter).isEmpty());
+        assertTrue(googleEventParser.retrieveCustomer(null, delimiter).isEmpty());
+    }
+
+    @Test
+    void parseMobilePhone_NoPhone_ReturnsEmpty() {
+        assertEquals("", googleEventParser.parseMobilePhone("No phone given"));
+        assertEquals("", googleEventParser.parseMobilePhone(null));
+    }
+
+    private static CalendarEvent event(String summary, String description, String location) {
+        CalendarEvent event = new CalendarEvent();
+        event.setSummary(summary);
+        event.setDescription(description);
+        event.setLocation(location);
+        return event;
+    }
+
+    private static CalendarEvent.Attendee attendee(String email, boolean organizer) {
+        CalendarEvent.Attendee attendee = new CalendarEvent.Attendee();
+        attendee.setEmail(email);
+        attendee.setOrganizer(organizer);
+        return attendee;
+    }
 }
@@ -0,0 +1,94 @@
+package org.example.processor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StageJournalTest {
+    private static final String EVENT_ID = "rn1nbm9c1u5lutjt1smo062f7k";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void record_IsRestoredAfterReopen() throws Exception {
+        // Given
+        Path path = tempDir.resolve("journal.bin");
+        try (StageJournal journal = StageJournal.open(path)) {
+            journal.record(EVENT_ID, ProcessingStage.ROUTE, "Distance to customer: 12 km");
+            journal.record(EVENT_ID, ProcessingStage.CONTACT, "5971371000000123001");
+            journal.record(EVENT_ID, ProcessingStage.MARKED_PROCESSED, null);
+        }
+        // When
+        try (StageJournal journal = StageJournal.open(path)) {
+            EventCheckpoint checkpoint = journal.get(EVENT_ID);
+            // Then
+            assertEquals("Distance to customer: 12 km", checkpoint.routeNote());
+            assertEquals(5971371000000123001L, (long) checkpoint.contactId());
+            assertTrue(checkpoint.markedProcessed());
+            assertNull(checkpoint.estimateId());
+            assertFalse(checkpoint.isComplete());
+            assertTrue(journal.get("unknown").isEmpty());
+        }
+    }
+
+    @Test
+    void routeWithoutData_IsRecordedAsEmptyNote() throws Exception {
+        Path path = tempDir.resolve("journal.bin");
+        try (StageJournal journal = StageJournal.open(path)) {
+            journal.record(EVENT_ID, ProcessingStage.ROUTE, null);
+        }
+        try (StageJournal journal = StageJournal.open(path)) {
+            assertEquals("", journal.get(EVENT_ID).routeNote());
+        }
+    }
+
+    @Test
+    void journal_GrowsBeyondInitialSize() throws Exception {
+        // Given
+        Path path = tempDir.resolve("journal.bin");
+        try (StageJournal journal = new StageJournal(path, 128, 8, Duration.ofSeconds(1))) {
+            for (int i = 0; i < 100; i++) {
+                journal.record("event-" + i, ProcessingStage.ESTIMATE, "estimate-" + i);
+            }
+        }
+        // When
+        try (StageJournal journal = StageJournal.open(path)) {
+            // Then
+            assertEquals("estimate-0", journal.get("event-0").estimateId());
+            assertEquals("estimate-99", journal.get("event-99").estimateId());
+            assertTrue(journal.get("event-99").isComplete());
+        }
+    }
+
+    @Test
+    void tornRecord_IsDroppedOnReplay() throws Exception {
+        // Given
+        Path path = tempDir.resolve("journal.bin");
+        try (StageJournal journal = StageJournal.open(path)) {
+            journal.record(EVENT_ID, ProcessingStage.CONTACT, "42");
+            journal.record("second", ProcessingStage.CONTACT, "43");
+        }
+        // header (4) + first record (8 + 1 + 2 + 26 + 2 + 2)
+        long tornOffset = 4 + 8 + 1 + 2 + EVENT_ID.length() + 2 + 2;
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(tornOffset + 8 + 3); // corrupt the payload of the second record
+            file.write('X');
+        }
+        // When
+        try (StageJournal journal = StageJournal.open(path)) {
+            // Then
+            assertEquals(42L, (long) journal.get(EVENT_ID).contactId());
+            assertTrue(journal.get("second").isEmpty());
+            journal.record("third", ProcessingStage.CONTACT, "44");
+        }
+        try (StageJournal journal = StageJournal.open(path)) {
+            assertEquals(44L, (long) journal.get("third").contactId());
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package org.example.service;
 
+import org.example.service.aws.DynamoDbBatchWriter;
 import org.example.service.aws.DynamoDbEventDeduplicationService;
+import org.example.service.aws.EventFingerprintSet;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,7 +12,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.*;
 
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -181,4 +188,150 @@ class DynamoDbEventDeduplicationServiceTest {
         assertTrue(expiresAt > now + 29 * 24 * 60 * 60);
         assertTrue(expiresAt <= now + 30 * 24 * 60 * 60 + 5); // +5 sec for test
     }
+
+    @Test
+    void testFindProcessedEvents_ChunksOf100WithKeyProjection() throws Exception {
+        // Given
+        List<String> eventIds = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            eventIds.add("event-" + i);
+        }
+        when(dynamoDbClient.batchGetItem(any(BatchGetItemRequest.class)))
+                .thenReturn(batchResponse(List.of("event-1", "event-120"), null));
+
+        // When
+        Set<String> processed = service.findProcessedEvents(eventIds);
+
+        // Then
+        ArgumentCaptor<BatchGetItemRequest> captor = ArgumentCaptor.forClass(BatchGetItemRequest.class);
+        verify(dynamoDbClient, times(2)).batchGetItem(captor.capture());
+        List<BatchGetItemRequest> requests = captor.getAllValues();
+        assertEquals(100, requests.get(0).requestItems().get(TABLE_NAME).keys().size());
+        assertEquals(50, requests.get(1).requestItems().get(TABLE_NAME).keys().size());
+        assertEquals("event_id, expires_at", requests.get(0).requestItems().get(TABLE_NAME).projectionExpression());
+        assertEquals(Set.of("event-1", "event-120"), processed);
+    }
+
+    @Test
+    void testFindProcessedEvents_UnprocessedKeys_AreRetried() throws Exception {
+        // Given
+        KeysAndAttributes unprocessed = KeysAndAttributes.builder()
+                .keys(Map.of("event_id", AttributeValue.builder().s("event-2").build()))
+                .build();
+        when(dynamoDbClient.batchGetItem(any(BatchGetItemRequest.class)))
+                .thenReturn(batchResponse(List.of("event-1"), unprocessed))
+                .thenReturn(batchResponse(List.of("event-2"), null));
+
+        // When
+        Set<String> processed = service.findProcessedEvents(List.of("event-1", "event-2", "event-3"));
+
+        // Then
+        ArgumentCaptor<BatchGetItemRequest> captor = ArgumentCaptor.forClass(BatchGetItemRequest.class);
+        verify(dynamoDbClient, times(2)).batchGetItem(captor.capture());
+        assertEquals(1, captor.getAllValues().get(1).requestItems().get(TABLE_NAME).keys().size());
+        assertEquals(Set.of("event-1", "event-2"), processed);
+    }
+
+    @Test
+    void testFindProcessedEvents_TableNotFound_ReturnsEmpty() throws Exception {
+        // Given
+        when(dynamoDbClient.batchGetItem(any(BatchGetItemRequest.class)))
+                .thenThrow(ResourceNotFoundException.builder().message("Table not found").build());
+
+        // When
+        Set<String> processed = service.findProcessedEvents(List.of(VALID_EVENT_ID));
+
+        // Then
+        assertTrue(processed.isEmpty());
+    }
+
+    @Test
+    void testFindProcessedEvents_InvalidEventId_ThrowsException() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> service.findProcessedEvents(List.of(VALID_EVENT_ID, " ")));
+        verify(dynamoDbClient, never()).batchGetItem(any(BatchGetItemRequest.class));
+    }
+
+    @Test
+    void testIsEventProcessed_MarkedWithLocalSet_SkipsDynamoDb() {
+        // Given
+        DynamoDbEventDeduplicationService localService = new DynamoDbEventDeduplicationService(
+                dynamoDbClient, TABLE_NAME, TTL_DAYS, new EventFingerprintSet(Clock.systemUTC()));
+        when(dynamoDbClient.putItem(any(PutItemRequest.class))).thenReturn(PutItemResponse.builder().build());
+        localService.markEventProcessed(VALID_EVENT_ID);
+
+        // When
+        boolean result = localService.isEventProcessed(VALID_EVENT_ID);
+
+        // Then
+        assertTrue(result);
+        verify(dynamoDbClient, never()).getItem(any(GetItemRequest.class));
+    }
+
+    @Test
+    void testFindProcessedEvents_KnownLocally_AreNotLookedUp() throws Exception {
+        // Given
+        DynamoDbEventDeduplicationService localService = new DynamoDbEventDeduplicationService(
+                dynamoDbClient, TABLE_NAME, TTL_DAYS, new EventFingerprintSet(Clock.systemUTC()));
+        when(dynamoDbClient.putItem(any(PutItemRequest.class))).thenReturn(PutItemResponse.builder().build());
+        localService.markEventProcessed("event-1");
+        when(dynamoDbClient.batchGetItem(any(BatchGetItemRequest.class)))
+                .thenReturn(batchResponse(List.of("event-2"), null));
+
+        // When
+        Set<String> processed = localService.findProcessedEvents(List.of("event-1", "event-2"));
+
+        // Then
+        ArgumentCaptor<BatchGetItemRequest> captor = ArgumentCaptor.forClass(BatchGetItemRequest.class);
+        verify(dynamoDbClient).batchGetItem(captor.capture());
+        assertEquals(1, captor.getValue().requestItems().get(TABLE_NAME).keys().size());
+        assertEquals(Set.of("event-1", "event-2"), processed);
+        assertTrue(localService.isEventProcessed("event-2"));
+        verify(dynamoDbClient, never()).getItem(any(GetItemRequest.class));
+    }
+
+    @Test
+    void testMarkEventProcessed_WithBatchWriter_WritesThroughBatch() {
+        // Given
+        DynamoDbBatchWriter batchWriter = mock(DynamoDbBatchWriter.class);
+        when(batchWriter.put(any())).thenReturn(CompletableFuture.completedFuture(null));
+        DynamoDbEventDeduplicationService batchService = new DynamoDbEventDeduplicationService(
+                dynamoDbClient, TABLE_NAME, TTL_DAYS, new EventFingerprintSet(Clock.systemUTC()), batchWriter);
+
+        // When
+        batchService.markEventProcessed(VALID_EVENT_ID);
+
+        // Then
+        ArgumentCaptor<Map<String, AttributeValue>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(batchWriter).put(captor.capture());
+        assertEquals(VALID_EVENT_ID, captor.getValue().get("event_id").s());
+        verify(dynamoDbClient, never()).putItem(any(PutItemRequest.class));
+        assertTrue(batchService.isEventProcessed(VALID_EVENT_ID));
+    }
+
+    @Test
+    void testMarkEventProcessed_BatchWriteFails_ThrowsRuntimeException() {
+        // Given
+        DynamoDbBatchWriter batchWriter = mock(DynamoDbBatchWriter.class);
+        when(batchWriter.put(any())).thenReturn(CompletableFuture.failedFuture(
+                DynamoDbException.builder().message("Service unavailable").build()));
+        DynamoDbEventDeduplicationService batchService = new DynamoDbEventDeduplicationService(
+                dynamoDbClient, TABLE_NAME, TTL_DAYS, null, batchWriter);
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> batchService.markEventProcessed(VALID_EVENT_ID));
+        assertTrue(exception.getCause() instanceof DynamoDbException);
+    }
+
+    private static BatchGetItemResponse batchResponse(List<String> foundIds, KeysAndAttributes unprocessed) {
+        List<Map<String, AttributeValue>> items = foundIds.stream()
+                .map(id -> Map.of("event_id", AttributeValue.builder().s(id).build()))
+                .toList();
+        BatchGetItemResponse.Builder builder = BatchGetItemResponse.builder()
+                .responses(Map.of(TABLE_NAME, items));
+        if (unprocessed != null) {
+            builder.unprocessedKeys(Map.of(TABLE_NAME, unprocessed));
+        }
+        return builder.build();
+    }
 }
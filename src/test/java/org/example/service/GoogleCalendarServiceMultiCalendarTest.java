@@ -0,0 +1,133 @@
+package org.example.service;
+
+import org.example.MockHttpResponse;
+import org.example.entity.google.CalendarEvent;
+import org.example.entity.google.GoogleCalendar;
+import org.example.service.AccessTokenProvider;
+import org.example.service.google.GoogleCalendarService;
+import org.example.utils.JsonUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.example.MockHttpResponse.handle;
+import static org.example.MockHttpResponse.respond;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GoogleCalendarServiceMultiCalendarTest {
+    private static final String TIME_MIN = "2025-01-14T00:00:00Z";
+    private static final String TIME_MAX = "2025-01-17T00:00:00Z";
+
+    @Mock
+    private HttpClient httpClient;
+    private GoogleCalendarService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new GoogleCalendarService("access_token", httpClient, JsonUtils.OBJECT_MAPPER);
+    }
+
+    @Test
+    void getCalendarList_FollowsPagesAndMapsCalendars() throws Exception {
+        // Given
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(respond(new MockHttpResponse(200, """
+                        {"kind": "calendar#calendarList", "nextPageToken": "page-2",
+                         "items": [{"id": "primary@example.com", "summary": "Office", "primary": true, "selected": true}]}""")))
+                .thenAnswer(respond(new MockHttpResponse(200, """
+                        {"items": [{"id": "tech1@group.calendar.google.com", "summary": "Technician 1", "selected": true},
+                                   {"id": "holidays@group.v.calendar.google.com", "summary": "Holidays"}]}""")));
+
+        // When
+        List<GoogleCalendar> calendars = service.getCalendarList();
+
+        // Then
+        assertEquals(3, calendars.size());
+        assertTrue(calendars.get(0).isPrimary());
+        assertEquals("Technician 1", calendars.get(1).getSummary());
+        assertFalse(calendars.get(2).isSelected());
+    }
+
+    @Test
+    void getCalendarList_OnErrorStatus_ThrowsIOException() throws Exception {
+        // Given
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(respond(new MockHttpResponse(403, "{\"error\": {\"code\": 403}}")));
+
+        // When & Then
+        assertThrows(IOException.class, () -> service.getCalendarList());
+    }
+
+    @Test
+    void getCalendarList_OnUnauthorized_RefreshesTokenAndReplaysOnce() throws Exception {
+        // Given
+        AccessTokenProvider tokenProvider = mock(AccessTokenProvider.class);
+        when(tokenProvider.getAccessToken()).thenReturn("expired");
+        when(tokenProvider.refreshAccessToken("expired")).thenReturn(Optional.of("fresh"));
+        GoogleCalendarService refreshingService = new GoogleCalendarService(tokenProvider, httpClient, JsonUtils.OBJECT_MAPPER, null);
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class))).thenAnswer(invocation -> {
+            HttpRequest request = invocation.getArgument(0);
+            return handle(invocation.getArgument(1), "Bearer fresh".equals(request.headers().firstValue("Authorization").orElse(null))
+                    ? new MockHttpResponse(200, "{\"items\": [{\"id\": \"primary@example.com\", \"primary\": true}]}")
+                    : new MockHttpResponse(401, "{\"error\": {\"code\": 401}}"));
+        });
+
+        // When
+        List<GoogleCalendar> calendars = refreshingService.getCalendarList();
+
+        // Then
+        assertEquals(1, calendars.size());
+        verify(tokenProvider, times(1)).refreshAccessToken("expired");
+    }
+
+    @Test
+    void getEventsFromCalendars_MergesByStartTime() throws Exception {
+        // Given
+        Map<String, HttpResponse<InputStream>> pages = Map.of(
+                "tech1", page("""
+                        {"items": [
+                          {"id": "a1", "start": {"dateTime": "2025-01-14T09:00:00-05:00"}},
+                          {"id": "shared", "start": {"dateTime": "2025-01-14T12:00:00-05:00"}},
+                          {"id": "a3", "start": {"dateTime": "2025-01-15T09:00:00-05:00"}}]}"""),
+                "tech2", page("""
+                        {"items": [
+                          {"id": "b0", "start": {"date": "2025-01-14"}},
+                          {"id": "b1", "start": {"dateTime": "2025-01-14T15:30:00Z"}},
+                          {"id": "shared", "start": {"dateTime": "2025-01-14T12:00:00-05:00"}}]}"""));
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class))).thenAnswer(invocation -> {
+            HttpRequest request = invocation.getArgument(0);
+            String path = request.uri().getPath();
+            return path.contains("tech1") ? pages.get("tech1") : pages.get("tech2");
+        });
+
+        // When
+        List<CalendarEvent> events = service.getEventsFromCalendars(List.of("tech1", "tech2"), TIME_MIN, TIME_MAX);
+
+        // Then
+        assertEquals(List.of("b0", "a1", "b1", "shared", "a3"), events.stream().map(CalendarEvent::getId).toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpResponse<InputStream> page(String body) {
+        HttpResponse<InputStream> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(200);
+        when(response.body()).thenReturn(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        return response;
+    }
+}
@@ -0,0 +1,143 @@
+package org.example.service;
+
+import org.example.entity.google.CalendarEvent;
+import org.example.service.google.GoogleCalendarService;
+import org.example.utils.JsonUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GoogleCalendarServiceStreamingTest {
+    private static final String TIME_MIN = "2025-01-14T00:00:00Z";
+    private static final String TIME_MAX = "2025-01-17T00:00:00Z";
+
+    @Mock
+    private HttpClient httpClient;
+    private GoogleCalendarService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new GoogleCalendarService("access_token", httpClient, JsonUtils.OBJECT_MAPPER);
+    }
+
+    @Test
+    void streamEventsByDate_FollowsPageTokens() throws Exception {
+        // Given
+        HttpResponse<InputStream> firstPage = page(200, """
+                {"kind": "calendar#events", "nextPageToken": "page-2", "defaultReminders": [{"method": "popup"}],
+                 "items": [{"id": "event-1", "start": {"dateTime": "2025-01-14T17:45:00-05:00"}}, {"id": "event-2"}]}""");
+        // the page token may also come after the items
+        HttpResponse<InputStream> secondPage = page(200, """
+                {"items": [{"id": "event-3", "attendees": [{"email": "a@b.c"}]}], "summary": "Calendar", "nextPageToken": "page-3"}""");
+        HttpResponse<InputStream> lastPage = page(200, """
+                {"items": []}""");
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(firstPage, secondPage, lastPage);
+
+        // When
+        List<String> ids;
+        try (Stream<CalendarEvent> events = service.streamEventsByDate(TIME_MIN, TIME_MAX)) {
+            ids = events.map(CalendarEvent::getId).toList();
+        }
+
+        // Then
+        assertEquals(List.of("event-1", "event-2", "event-3"), ids);
+        ArgumentCaptor<HttpRequest> captor = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient, times(3)).send(captor.capture(), any(HttpResponse.BodyHandler.class));
+        assertFalse(captor.getAllValues().get(0).uri().toString().contains("pageToken"));
+        assertTrue(captor.getAllValues().get(1).uri().toString().contains("pageToken=page-2"));
+        assertTrue(captor.getAllValues().get(2).uri().toString().contains("pageToken=page-3"));
+    }
+
+    @Test
+    void streamEventsByDate_RequestsBoundFieldsAndSearchQuery() throws Exception {
+        // Given
+        service.setSearchQuery("#");
+        HttpResponse<InputStream> onlyPage = page(200, """
+                {"items": [{"id": "event-1", "summary": "# John Smith"}]}""");
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class))).thenReturn(onlyPage);
+
+        // When
+        try (Stream<CalendarEvent> events = service.streamEventsByDate(TIME_MIN, TIME_MAX)) {
+            assertEquals(1, events.count());
+        }
+
+        // Then
+        ArgumentCaptor<HttpRequest> captor = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient).send(captor.capture(), any(HttpResponse.BodyHandler.class));
+        String query = captor.getValue().uri().getQuery();
+        assertTrue(query.contains("fields=items("));
+        assertTrue(query.contains("start(dateTime,date,timeZone)"));
+        assertTrue(query.contains("attendees(email,organizer,self,responseStatus)"));
+        assertTrue(query.contains("iCalUID"));
+        assertTrue(query.contains("),nextPageToken"));
+        assertTrue(query.contains("&q=#"));
+    }
+
+    @Test
+    void streamEventsByDate_FetchesPagesLazily() throws Exception {
+        // Given
+        HttpResponse<InputStream> firstPage = page(200, """
+                {"items": [{"id": "event-1"}], "nextPageToken": "page-2"}""");
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class))).thenReturn(firstPage);
+
+        // When
+        try (Stream<CalendarEvent> events = service.streamEventsByDate(TIME_MIN, TIME_MAX)) {
+            Iterator<CalendarEvent> iterator = events.iterator();
+            assertEquals("event-1", iterator.next().getId());
+        }
+
+        // Then
+        verify(httpClient, times(1)).send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+    }
+
+    @Test
+    void getEventsByDate_OnErrorStatus_ThrowsIOException() throws Exception {
+        // Given
+        HttpResponse<InputStream> errorPage = page(401, "{\"error\": {\"code\": 401}}");
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class))).thenReturn(errorPage);
+
+        // When & Then
+        assertThrows(IOException.class, () -> service.getEventsByDate(TIME_MIN, TIME_MAX));
+    }
+
+    @Test
+    void streamEventsByDate_OnMalformedPage_ThrowsUncheckedIOException() throws Exception {
+        // Given
+        HttpResponse<InputStream> malformedPage = page(200, "{\"items\": [{invalid json}]}");
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class))).thenReturn(malformedPage);
+
+        // When & Then
+        try (Stream<CalendarEvent> events = service.streamEventsByDate(TIME_MIN, TIME_MAX)) {
+            assertThrows(UncheckedIOException.class, events::toList);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpResponse<InputStream> page(int status, String body) {
+        HttpResponse<InputStream> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(status);
+        when(response.body()).thenReturn(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        return response;
+    }
+}
@@ -0,0 +1,174 @@
+package org.example.service;
+
+import org.example.MockHttpResponse;
+import org.example.entity.google.CalendarEvent;
+import org.example.service.google.ChangedEvents;
+import org.example.service.google.GoogleCalendarService;
+import org.example.service.google.SyncTokenStore;
+import org.example.utils.JsonUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.example.MockHttpResponse.respond;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GoogleCalendarServiceSyncTest {
+    private static final String TIME_MIN = "2025-01-14T00:00:00Z";
+
+    @Mock
+    private HttpClient httpClient;
+    private GoogleCalendarService service;
+    private InMemorySyncTokenStore syncTokenStore;
+
+    @BeforeEach
+    void setUp() {
+        service = new GoogleCalendarService("access_token", httpClient, JsonUtils.OBJECT_MAPPER);
+        syncTokenStore = new InMemorySyncTokenStore();
+    }
+
+    @Test
+    void getChangedEvents_WithoutToken_DoesFullSyncAcrossPagesAndReturnsToken() throws Exception {
+        // Given
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(respond(new MockHttpResponse(200, """
+                        {"items": [{"id": "event-1", "status": "confirmed"}], "nextPageToken": "page-2"}""")))
+                .thenAnswer(respond(new MockHttpResponse(200, """
+                        {"items": [{"id": "event-2", "status": "confirmed"}, {"id": "event-3", "status": "cancelled"}],
+                         "nextSyncToken": "sync-1"}""")));
+
+        // When
+        ChangedEvents changed = service.getChangedEvents(syncTokenStore, TIME_MIN);
+
+        // Then
+        assertEquals(List.of("event-1", "event-2"), changed.events().stream().map(CalendarEvent::getId).toList());
+        assertEquals("sync-1", changed.nextSyncToken());
+        assertEquals(Optional.empty(), syncTokenStore.load(GoogleCalendarService.PRIMARY_CALENDAR_ID));
+        List<HttpRequest> requests = capturedRequests(2);
+        assertTrue(requests.get(0).uri().toString().contains("timeMin=" + TIME_MIN));
+        assertTrue(requests.get(1).uri().toString().contains("pageToken=page-2"));
+    }
+
+    @Test
+    void getChangedEvents_WithToken_RequestsOnlyChanges() throws Exception {
+        // Given
+        syncTokenStore.save(GoogleCalendarService.PRIMARY_CALENDAR_ID, "sync-1");
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(respond(new MockHttpResponse(200, """
+                        {"items": [{"id": "event-4", "status": "confirmed"}], "nextSyncToken": "sync-2"}""")));
+
+        // When
+        ChangedEvents changed = service.getChangedEvents(syncTokenStore, TIME_MIN);
+
+        // Then
+        assertEquals(1, changed.events().size());
+        assertEquals(Optional.of("sync-1"), syncTokenStore.load(GoogleCalendarService.PRIMARY_CALENDAR_ID));
+        String uri = capturedRequests(1).get(0).uri().toString();
+        assertTrue(uri.contains("syncToken=sync-1"));
+        assertFalse(uri.contains("timeMin"));
+    }
+
+    @Test
+    void getChangedEvents_WithExpiredToken_DoesFullResync() throws Exception {
+        // Given
+        syncTokenStore.save(GoogleCalendarService.PRIMARY_CALENDAR_ID, "expired");
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(respond(new MockHttpResponse(410, "{\"error\": {\"code\": 410}}")))
+                .thenAnswer(respond(new MockHttpResponse(200, """
+                        {"items": [{"id": "event-1", "status": "confirmed"}], "nextSyncToken": "fresh"}""")));
+
+        // When
+        ChangedEvents changed = service.getChangedEvents(syncTokenStore, TIME_MIN);
+
+        // Then
+        assertEquals(1, changed.events().size());
+        assertEquals("fresh", changed.nextSyncToken());
+        assertEquals(Optional.empty(), syncTokenStore.load(GoogleCalendarService.PRIMARY_CALENDAR_ID));
+        assertTrue(capturedRequests(2).get(1).uri().toString().contains("timeMin=" + TIME_MIN));
+    }
+
+    @Test
+    void getChangedEvents_OnError_KeepsPreviousToken() throws Exception {
+        // Given
+        syncTokenStore.save(GoogleCalendarService.PRIMARY_CALENDAR_ID, "sync-1");
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(respond(new MockHttpResponse(500, "{}")));
+
+        // When & Then
+        assertThrows(java.io.IOException.class, () -> service.getChangedEvents(syncTokenStore, TIME_MIN));
+        assertEquals(Optional.of("sync-1"), syncTokenStore.load(GoogleCalendarService.PRIMARY_CALENDAR_ID));
+    }
+
+    @Test
+    void commit_AfterProcessing_StoresToken() throws Exception {
+        // Given
+        syncTokenStore.save(GoogleCalendarService.PRIMARY_CALENDAR_ID, "sync-1");
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(respond(new MockHttpResponse(200, """
+                        {"items": [{"id": "event-4", "status": "confirmed"}], "nextSyncToken": "sync-2"}""")));
+        ChangedEvents changed = service.getChangedEvents(syncTokenStore, TIME_MIN);
+
+        // When
+        changed.commit();
+
+        // Then
+        assertEquals(Optional.of("sync-2"), syncTokenStore.load(GoogleCalendarService.PRIMARY_CALENDAR_ID));
+    }
+
+    @Test
+    void commit_WithoutNextToken_KeepsPreviousToken() throws Exception {
+        // Given
+        syncTokenStore.save(GoogleCalendarService.PRIMARY_CALENDAR_ID, "sync-1");
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(respond(new MockHttpResponse(200, "{\"items\": []}")));
+        ChangedEvents changed = service.getChangedEvents(syncTokenStore, TIME_MIN);
+
+        // When
+        changed.commit();
+
+        // Then
+        assertEquals(Optional.of("sync-1"), syncTokenStore.load(GoogleCalendarService.PRIMARY_CALENDAR_ID));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<HttpRequest> capturedRequests(int count) throws Exception {
+        ArgumentCaptor<HttpRequest> captor = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient, times(count)).send(captor.capture(), any(HttpResponse.BodyHandler.class));
+        return captor.getAllValues();
+    }
+
+    private static class InMemorySyncTokenStore implements SyncTokenStore {
+        private final Map<String, String> tokens = new HashMap<>();
+
+        @Override
+        public Optional<String> load(String calendarId) {
+            return Optional.ofNullable(tokens.get(calendarId));
+        }
+
+        @Override
+        public void save(String calendarId, String syncToken) {
+            tokens.put(calendarId, syncToken);
+        }
+
+        @Override
+        public void clear(String calendarId) {
+            tokens.remove(calendarId);
+        }
+    }
+}
@@ -4,11 +4,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.MockHttpResponse;
 import org.example.entity.google.DistanceGoogleMatrix;
 import org.example.entity.google.GoogleMatrixStatus;
+import org.example.entity.google.RouteMatrixElement;
 import org.example.service.google.GoogleRouteService;
 import org.example.utils.JsonUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -16,9 +18,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static org.example.MockHttpResponse.respond;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
@@ -45,10 +54,9 @@ class GoogleRouteServiceTest {
                      "status": "INVALID_REQUEST"
                  }
                 """;
-        HttpResponse.BodyHandler<String> bodyHandler = HttpResponse.BodyHandlers.ofString();
 
         // When
-        when(httpClient.send(any(HttpRequest.class), eq(bodyHandler))).thenReturn(new MockHttpResponse(401, jsonResponse));
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class))).thenAnswer(respond(new MockHttpResponse(401, jsonResponse)));
         Optional<DistanceGoogleMatrix> result = googleRouteService.getRouteEstimate("New York, NY, USA", "Washington, DC, USA");
         // Then
         assertTrue(result.isEmpty());
@@ -85,9 +93,8 @@ class GoogleRouteServiceTest {
                      "status": "OK"
                  }
                 """;
-        HttpResponse.BodyHandler<String> bodyHandler = HttpResponse.BodyHandlers.ofString();
         // When
-        when(httpClient.send(any(HttpRequest.class), eq(bodyHandler))).thenReturn(new MockHttpResponse(200, jsonResponse));
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class))).thenAnswer(respond(new MockHttpResponse(200, jsonResponse)));
         Optional<DistanceGoogleMatrix> result = googleRouteService.getRouteEstimate("New York, NY, USA", "Washington, DC, USA");
         // Then
         assertTrue(result.isPresent());
@@ -95,5 +102,64 @@ class GoogleRouteServiceTest {
         assertEquals("228 mi", result.get().getRows()[0].getElements()[0].getDistance().getText());
         assertEquals("3 hours 49 mins", result.get().getRows()[0].getElements()[0].getDuration().getText());
     }
-}
 
+    @Test
+    void getRouteEstimates_BatchesDestinationsAndMapsElementsBack() throws Exception {
+        // Given
+        List<String> destinations = IntStream.range(0, 30).mapToObj(i -> i + " Main St, Indianapolis, IN").toList();
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(respond(new MockHttpResponse(200, matrixJson(0, 25, 3))))
+                .thenAnswer(respond(new MockHttpResponse(200, matrixJson(25, 5, -1))));
+
+        // When
+        Map<String, RouteMatrixElement> routes = googleRouteService.getRouteEstimates("55 E Michigan St, Indianapolis, IN", destinations);
+
+        // Then
+        ArgumentCaptor<HttpRequest> captor = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient, times(2)).send(captor.capture(), any(HttpResponse.BodyHandler.class));
+        assertEquals(24, captor.getAllValues().get(0).uri().getRawQuery().split("%7C").length - 1);
+        assertEquals(29, routes.size());
+        assertFalse(routes.containsKey(destinations.get(3)));
+        assertEquals(1000, routes.get(destinations.get(0)).getDistance().getValue());
+        assertEquals(1029, routes.get(destinations.get(29)).getDistance().getValue());
+    }
+
+    @Test
+    void getDistanceMatrix_SplitsOriginsToStayWithinElementLimit() throws Exception {
+        // Given
+        List<String> places = IntStream.range(0, 12).mapToObj(i -> i + " Main St, Indianapolis, IN").toList();
+        // 100 elements per request allow 8 origin rows of 12 destinations
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(respond(new MockHttpResponse(200, squareBlockJson(8, 12))))
+                .thenAnswer(respond(new MockHttpResponse(200, squareBlockJson(4, 12))));
+
+        // When
+        Optional<DistanceGoogleMatrix> matrix = googleRouteService.getDistanceMatrix(places);
+
+        // Then
+        verify(httpClient, times(2)).send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+        assertTrue(matrix.isPresent());
+        assertEquals(12, matrix.get().getRows().length);
+        assertEquals(12, matrix.get().getRows()[11].getElements().length);
+    }
+
+    private static String squareBlockJson(int rows, int columns) {
+        String row = "{\"elements\": [" + IntStream.range(0, columns)
+                .mapToObj(i -> "{\"distance\": {\"value\": 1000}, \"duration\": {\"value\": 60}, \"status\": \"OK\"}")
+                .collect(Collectors.joining(",")) + "]}";
+        return "{\"rows\": [" + String.join(",", Collections.nCopies(rows, row)) + "], \"status\": \"OK\"}";
+    }
+
+    /**
+     * Builds a one-row matrix whose element i has a distance of 1000 + offset + i meters.
+     */
+    private static String matrixJson(int offset, int count, int notFoundIndex) {
+        String elements = IntStream.range(0, count)
+                .mapToObj(i -> i == notFoundIndex
+                        ? "{\"status\": \"NOT_FOUND\"}"
+                        : "{\"distance\": {\"text\": \"1 km\", \"value\": " + (1000 + offset + i) + "},"
+                        + " \"duration\": {\"text\": \"2 mins\", \"value\": 120}, \"status\": \"OK\"}")
+                .collect(Collectors.joining(","));
+        return "{\"rows\": [{\"elements\": [" + elements + "]}], \"status\": \"OK\"}";
+    }
+}
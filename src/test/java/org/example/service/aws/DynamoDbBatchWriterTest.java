@@ -0,0 +1,138 @@
+package org.example.service.aws;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DynamoDbBatchWriterTest {
+    private static final String TABLE_NAME = "event-deduplication";
+
+    private DynamoDbClient dynamoDbClient;
+    private DynamoDbBatchWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        dynamoDbClient = mock(DynamoDbClient.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    @Test
+    void put_FullBatch_IsWrittenWithoutWaitingForTheDelay() throws Exception {
+        // Given
+        writer = new DynamoDbBatchWriter(dynamoDbClient, TABLE_NAME, "event_id", 25, Duration.ofHours(1));
+        when(dynamoDbClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(BatchWriteItemResponse.builder().build());
+
+        // When
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            futures.add(writer.put(item("event-" + i)));
+        }
+
+        // Then
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        ArgumentCaptor<BatchWriteItemRequest> captor = ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+        verify(dynamoDbClient, times(1)).batchWriteItem(captor.capture());
+        assertEquals(25, captor.getValue().requestItems().get(TABLE_NAME).size());
+    }
+
+    @Test
+    void put_PartialBatch_IsWrittenAfterTheDelay() throws Exception {
+        // Given
+        writer = new DynamoDbBatchWriter(dynamoDbClient, TABLE_NAME, "event_id", 25, Duration.ofMillis(20));
+        when(dynamoDbClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(BatchWriteItemResponse.builder().build());
+
+        // When
+        CompletableFuture<Void> first = writer.put(item("event-1"));
+        CompletableFuture<Void> second = writer.put(item("event-2"));
+        CompletableFuture<Void> duplicate = writer.put(item("event-1"));
+
+        // Then
+        CompletableFuture.allOf(first, second, duplicate).get(5, TimeUnit.SECONDS);
+        ArgumentCaptor<BatchWriteItemRequest> captor = ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+        verify(dynamoDbClient, times(1)).batchWriteItem(captor.capture());
+        assertEquals(2, captor.getValue().requestItems().get(TABLE_NAME).size());
+    }
+
+    @Test
+    void put_UnprocessedItems_AreRetried() throws Exception {
+        // Given
+        writer = new DynamoDbBatchWriter(dynamoDbClient, TABLE_NAME, "event_id", 2, Duration.ofHours(1));
+        WriteRequest unprocessed = WriteRequest.builder()
+                .putRequest(PutRequest.builder().item(item("event-2")).build())
+                .build();
+        when(dynamoDbClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(BatchWriteItemResponse.builder().unprocessedItems(Map.of(TABLE_NAME, List.of(unprocessed))).build())
+                .thenReturn(BatchWriteItemResponse.builder().build());
+
+        // When
+        CompletableFuture<Void> first = writer.put(item("event-1"));
+        CompletableFuture<Void> second = writer.put(item("event-2"));
+
+        // Then
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+        ArgumentCaptor<BatchWriteItemRequest> captor = ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+        verify(dynamoDbClient, times(2)).batchWriteItem(captor.capture());
+        assertEquals(1, captor.getAllValues().get(1).requestItems().get(TABLE_NAME).size());
+    }
+
+    @Test
+    void put_WriteFails_CompletesExceptionally() {
+        // Given
+        writer = new DynamoDbBatchWriter(dynamoDbClient, TABLE_NAME, "event_id", 1, Duration.ofHours(1));
+        when(dynamoDbClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenThrow(DynamoDbException.builder().message("Service unavailable").build());
+
+        // When
+        CompletableFuture<Void> written = writer.put(item("event-1"));
+
+        // Then
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> written.get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof DynamoDbException);
+    }
+
+    @Test
+    void close_WritesQueuedItems() {
+        // Given
+        writer = new DynamoDbBatchWriter(dynamoDbClient, TABLE_NAME, "event_id", 25, Duration.ofHours(1));
+        when(dynamoDbClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(BatchWriteItemResponse.builder().build());
+        CompletableFuture<Void> written = writer.put(item("event-1"));
+
+        // When
+        writer.close();
+
+        // Then
+        assertTrue(written.isDone());
+        assertFalse(written.isCompletedExceptionally());
+        assertTrue(writer.put(item("event-2")).isCompletedExceptionally());
+    }
+
+    private static Map<String, AttributeValue> item(String eventId) {
+        return Map.of(
+                "event_id", AttributeValue.builder().s(eventId).build(),
+                "expires_at", AttributeValue.builder().n("1752362040").build());
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.service.aws;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventFingerprintSetTest {
+    private static final Instant NOW = Instant.parse("2025-01-14T12:00:00Z");
+
+    private MutableClock clock;
+    private EventFingerprintSet set;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(NOW);
+        set = new EventFingerprintSet(clock);
+    }
+
+    @Test
+    void contains_AddedEvent_ReturnsTrue() {
+        // Given
+        set.add("rn1nbm9c1u5lutjt1smo062f7k", expiresIn(Duration.ofDays(30)));
+
+        // When & Then
+        assertTrue(set.contains("rn1nbm9c1u5lutjt1smo062f7k"));
+        assertFalse(set.contains("rn1nbm9c1u5lutjt1smo062f7j"));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void contains_AfterExpiryDay_ReturnsFalse() {
+        // Given
+        set.add("short", expiresIn(Duration.ofDays(1)));
+        set.add("long", expiresIn(Duration.ofDays(30)));
+
+        // When
+        clock.advance(Duration.ofDays(2));
+
+        // Then
+        assertFalse(set.contains("short"));
+        assertTrue(set.contains("long"));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void add_AlreadyExpired_IsIgnored() {
+        // When
+        set.add("expired", expiresIn(Duration.ofDays(-2)));
+
+        // Then
+        assertFalse(set.contains("expired"));
+        assertEquals(0, set.size());
+    }
+
+    @Test
+    void add_SameEventTwice_IsCountedOnce() {
+        // When
+        set.add("event", expiresIn(Duration.ofDays(30)));
+        set.add("event", expiresIn(Duration.ofDays(31)));
+
+        // Then
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void add_ManyEvents_AllFound() {
+        // Given
+        int count = 100_000;
+        for (int i = 0; i < count; i++) {
+            set.add("event-" + i, expiresIn(Duration.ofDays(i % 30 + 1)));
+        }
+
+        // When & Then
+        assertEquals(count, set.size());
+        for (int i = 0; i < count; i++) {
+            assertTrue(set.contains("event-" + i));
+        }
+        assertFalse(set.contains("event-" + count));
+    }
+
+    private static long expiresIn(Duration duration) {
+        return NOW.plus(duration).getEpochSecond();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.service.dedup;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedEventDeduplicationStoreTest {
+    private static final String EVENT_ID = "rn1nbm9c1u5lutjt1smo062f7k";
+    private static final Instant NOW = Instant.parse("2025-01-14T12:00:00Z");
+    private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void markEventProcessed_IsRestoredAfterReopen() throws Exception {
+        // Given
+        Path path = tempDir.resolve("processed.dedup");
+        try (MappedEventDeduplicationStore store = MappedEventDeduplicationStore.open(path, 30, CLOCK)) {
+            assertFalse(store.isEventProcessed(EVENT_ID));
+            store.markEventProcessed(EVENT_ID);
+            store.markEventProcessed(EVENT_ID);
+        }
+        // When
+        try (MappedEventDeduplicationStore store = MappedEventDeduplicationStore.open(path, 30, CLOCK)) {
+            // Then
+            assertTrue(store.isEventProcessed(EVENT_ID));
+            assertFalse(store.isEventProcessed("unknown"));
+            assertEquals(1, store.size());
+        }
+    }
+
+    @Test
+    void isEventProcessed_AfterTtl_ReturnsFalseAndSweepRemovesIt() throws Exception {
+        // Given
+        Path path = tempDir.resolve("processed.dedup");
+        try (MappedEventDeduplicationStore store = MappedEventDeduplicationStore.open(path, 30, CLOCK)) {
+            store.markEventProcessed(EVENT_ID);
+        }
+        Clock later = Clock.fixed(NOW.plus(Duration.ofDays(31)), ZoneOffset.UTC);
+        // When
+        try (MappedEventDeduplicationStore store = new MappedEventDeduplicationStore(path, 30, later)) {
+            // Then
+            assertFalse(store.isEventProcessed(EVENT_ID));
+            assertEquals(0, store.size());
+        }
+    }
+
+    @Test
+    void store_GrowsBeyondInitialCapacity() throws Exception {
+        // Given
+        Path path = tempDir.resolve("processed.dedup");
+        int count = MappedEventDeduplicationStore.MIN_CAPACITY * 2;
+        try (MappedEventDeduplicationStore store = MappedEventDeduplicationStore.open(path, 30, CLOCK)) {
+            for (int i = 0; i < count; i++) {
+                store.markEventProcessed("event-" + i);
+            }
+        }
+        // When
+        try (MappedEventDeduplicationStore store = MappedEventDeduplicationStore.open(path, 30, CLOCK)) {
+            // Then
+            assertEquals(count, store.size());
+            for (int i = 0; i < count; i++) {
+                assertTrue(store.isEventProcessed("event-" + i));
+            }
+            assertFalse(store.isEventProcessed("event-" + count));
+        }
+        assertFalse(Files.exists(tempDir.resolve("processed.dedup.tmp")));
+    }
+
+    @Test
+    void open_NotAStore_Throws() throws Exception {
+        // Given
+        Path path = tempDir.resolve("other.bin");
+        Files.write(path, new byte[64]);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> MappedEventDeduplicationStore.open(path, 30, CLOCK));
+    }
+
+    @Test
+    void markEventProcessed_BlankId_Throws() throws Exception {
+        try (MappedEventDeduplicationStore store = MappedEventDeduplicationStore.open(tempDir.resolve("processed.dedup"), 30, CLOCK)) {
+            assertThrows(IllegalArgumentException.class, () -> store.markEventProcessed(" "));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.service.google;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import org.example.entity.google.DistanceGoogleMatrix;
+import org.example.entity.google.GoogleMatrixStatus;
+import org.example.entity.google.RouteMatrixElement;
+import org.example.utils.JsonBody;
+import org.example.utils.JsonUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DistanceMatrixDecoderTest {
+    private static final String RESPONSE = """
+            {
+                "destination_addresses": ["New York, NY, USA", "Boston, MA, USA"],
+                "origin_addresses": ["Washington, DC, USA"],
+                "rows": [
+                    {
+                        "elements": [
+                            {
+                                "distance": {"text": "228 mi", "value": 367309},
+                                "duration": {"text": "3 hours 49 mins", "value": 13756},
+                                "duration_in_traffic": {"text": "4 hours 2 mins", "value": 14520},
+                                "fare": {"currency": "USD", "value": 6, "text": "$6.00"},
+                                "status": "OK"
+                            },
+                            {
+                                "status": "ZERO_RESULTS"
+                            }
+                        ]
+                    }
+                ],
+                "status": "OK"
+            }
+            """;
+
+    @Test
+    void decode_ReadsRoutesLikeFullBinding() throws Exception {
+        // When
+        DistanceGoogleMatrix decoded = decode(RESPONSE);
+        DistanceGoogleMatrix bound = JsonUtils.CODECS.reader(DistanceGoogleMatrix.class).readValue(RESPONSE);
+
+        // Then
+        assertEquals(bound.getStatus(), decoded.getStatus());
+        assertEquals(GoogleMatrixStatus.OK, decoded.getStatus());
+        assertEquals(1, decoded.getRows().length);
+        RouteMatrixElement[] elements = decoded.getRows()[0].getElements();
+        RouteMatrixElement[] boundElements = bound.getRows()[0].getElements();
+        assertEquals(boundElements.length, elements.length);
+        for (int i = 0; i < elements.length; i++) {
+            assertEquals(boundElements[i].getStatus(), elements[i].getStatus());
+        }
+        assertEquals("228 mi", elements[0].getDistance().getText());
+        assertEquals(367309, elements[0].getDistance().getValue());
+        assertEquals("3 hours 49 mins", elements[0].getDuration().getText());
+        assertEquals(13756, elements[0].getDuration().getValue());
+        assertNull(elements[1].getDistance());
+        assertNull(decoded.getOriginAddresses());
+        assertNull(decoded.getDestinationAddresses());
+    }
+
+    @Test
+    void decode_StatusOnly_HasNoRows() throws Exception {
+        // When
+        DistanceGoogleMatrix decoded = decode("{\"error_message\": \"Over quota\", \"rows\": [], \"status\": \"OVER_QUERY_LIMIT\"}");
+
+        // Then
+        assertEquals(GoogleMatrixStatus.OVER_QUERY_LIMIT, decoded.getStatus());
+        assertEquals(0, decoded.getRows().length);
+    }
+
+    @Test
+    void decode_Null_ReturnsNull() throws Exception {
+        assertNull(decode("null"));
+    }
+
+    @Test
+    void decode_StructureInsteadOfScalar_Throws() {
+        assertThrows(JsonParseException.class, () -> decode("{\"status\": {\"code\": \"OK\"}, \"rows\": []}"));
+    }
+
+    private static DistanceGoogleMatrix decode(String json) throws Exception {
+        return JsonBody.of(json).decode(JsonUtils.CODECS.reader(DistanceGoogleMatrix.class), DistanceMatrixDecoder::decode);
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.service.google;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+import org.example.utils.JsonUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FieldMaskTest {
+
+    @Getter
+    @Setter
+    static class Visit {
+        private String id;
+        @JsonProperty("iCalUID")
+        private String iCalUID;
+        private When start;
+        private List<Guest> guests;
+        private List<String> tags;
+        @JsonIgnore
+        private String localNote;
+    }
+
+    @Getter
+    @Setter
+    static class When {
+        private String dateTime;
+        private String date;
+    }
+
+    @Getter
+    @Setter
+    static class Guest {
+        private String email;
+        private boolean organizer;
+    }
+
+    @Getter
+    @Setter
+    static class Node {
+        private String id;
+        private Node parent;
+    }
+
+    @Test
+    void of_SelectsBoundPropertiesAndNestedBeans() {
+        // When
+        String mask = FieldMask.of(JsonUtils.OBJECT_MAPPER, Visit.class);
+
+        // Then
+        assertEquals("id,start(dateTime,date),guests(email,organizer),tags,iCalUID", mask);
+    }
+
+    @Test
+    void of_RecursiveType_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> FieldMask.of(JsonUtils.OBJECT_MAPPER, Node.class));
+    }
+}
@@ -0,0 +1,153 @@
+package org.example.service.ratelimit;
+
+import org.example.MockHttpResponse;
+import org.example.entity.EndPoint;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RateGovernorTest {
+    private static final long SECOND = 1_000_000_000L;
+    private static final HttpRequest REQUEST = HttpRequest.newBuilder().uri(URI.create(EndPoint.ZOHO_INVOICE.getUrl() + "contacts")).GET().build();
+
+    @Mock
+    private HttpClient httpClient;
+
+    @Test
+    void reserve_ConcurrentRequests_AreSpacedByRate() {
+        // Given
+        TokenBucket bucket = new TokenBucket(RateLimit.perSecond(2), 0);
+
+        // When
+        long first = bucket.reserve(0);
+        long second = bucket.reserve(0);
+        long third = bucket.reserve(0);
+        long fourth = bucket.reserve(0);
+
+        // Then
+        assertEquals(0, first);
+        assertEquals(SECOND / 2, second);
+        assertEquals(SECOND, third);
+        assertEquals(SECOND + SECOND / 2, fourth);
+    }
+
+    @Test
+    void reserve_AfterIdleTime_NeverExceedsQuotaInAnyPeriod() {
+        // Given
+        RateLimit limit = RateLimit.perMinute(100);
+        long period = limit.period().toNanos();
+        TokenBucket bucket = new TokenBucket(limit, 0);
+        List<Long> sendTimes = new ArrayList<>();
+
+        // When
+        // a steady trickle, an idle time of three periods, then a burst of callers at once and a second wave
+        for (long now = 0; now < period; now += period / 10) {
+            sendTimes.add(now + bucket.reserve(now));
+        }
+        long afterIdle = 4 * period;
+        for (int i = 0; i < 150; i++) {
+            sendTimes.add(afterIdle + bucket.reserve(afterIdle));
+        }
+        long secondWave = afterIdle + period / 2;
+        for (int i = 0; i < 150; i++) {
+            sendTimes.add(secondWave + bucket.reserve(secondWave));
+        }
+
+        // Then
+        Collections.sort(sendTimes);
+        for (int from = 0; from < sendTimes.size(); from++) {
+            int inPeriod = 0;
+            for (int i = from; i < sendTimes.size() && sendTimes.get(i) < sendTimes.get(from) + period; i++) {
+                inPeriod++;
+            }
+            assertTrue(inPeriod <= limit.permits(), "Requests in the period starting at " + sendTimes.get(from) + ": " + inPeriod);
+        }
+    }
+
+    @Test
+    void throttle_HalvesRateAndWaitsForRetryAfter() {
+        // Given
+        TokenBucket bucket = new TokenBucket(RateLimit.perSecond(10), 0);
+
+        // When
+        bucket.throttle(0, 3 * SECOND);
+        long wait = bucket.reserve(SECOND);
+
+        // Then
+        // the first permit after the pause is paid at the halved rate
+        assertEquals(2 * SECOND + SECOND / 5, wait);
+        assertEquals(5.0, bucket.getRate(), 0.001);
+        bucket.recover();
+        assertEquals(5.5, bucket.getRate(), 0.001);
+    }
+
+    @Test
+    void send_TooManyRequests_IsRetriedAndLowersRate() throws Exception {
+        // Given
+        RateGovernor governor = new RateGovernor(Map.of(EndPoint.ZOHO_INVOICE, RateLimit.perSecond(1000)));
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(new MockHttpResponse(429, "{\"code\": 1038}", Map.of(RateGovernor.RETRY_AFTER_HEADER, List.of("0"))))
+                .thenReturn(new MockHttpResponse(200, "{\"code\": 0}"));
+
+        // When
+        HttpResponse<String> response = governor.send(EndPoint.ZOHO_INVOICE, httpClient, REQUEST, HttpResponse.BodyHandlers.ofString());
+
+        // Then
+        assertEquals(200, response.statusCode());
+        verify(httpClient, times(2)).send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+        assertTrue(governor.getRate(EndPoint.ZOHO_INVOICE) < 1000);
+    }
+
+    @Test
+    void send_KeepsBeingThrottled_ReturnsLastResponse() throws Exception {
+        // Given
+        RateGovernor governor = new RateGovernor(Map.of(EndPoint.ZOHO_INVOICE, RateLimit.perSecond(1000)));
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(new MockHttpResponse(429, "", Map.of(RateGovernor.RETRY_AFTER_HEADER, List.of("0"))));
+
+        // When
+        HttpResponse<String> response = governor.send(EndPoint.ZOHO_INVOICE, httpClient, REQUEST, HttpResponse.BodyHandlers.ofString());
+
+        // Then
+        assertEquals(429, response.statusCode());
+        verify(httpClient, times(RateGovernor.MAX_THROTTLED_RETRIES + 1)).send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+    }
+
+    @Test
+    void send_EndpointWithoutLimit_IsNotRetried() throws Exception {
+        // Given
+        RateGovernor governor = new RateGovernor(Map.of());
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(new MockHttpResponse(429, ""));
+
+        // When
+        HttpResponse<String> response = governor.send(EndPoint.GOOGLE_CALENDAR, httpClient, REQUEST, HttpResponse.BodyHandlers.ofString());
+
+        // Then
+        assertEquals(429, response.statusCode());
+        verify(httpClient, times(1)).send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+    }
+
+    @Test
+    void parseRetryAfter_AcceptsSecondsAndRejectsGarbage() {
+        assertEquals(Optional.of(Duration.ofSeconds(30)), RateGovernor.parseRetryAfter(" 30 "));
+        assertEquals(Optional.empty(), RateGovernor.parseRetryAfter("soon"));
+    }
+}
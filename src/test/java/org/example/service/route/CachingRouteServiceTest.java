@@ -0,0 +1,190 @@
+package org.example.service.route;
+
+import org.example.entity.google.DistanceGoogleMatrix;
+import org.example.entity.google.GoogleMatrixRow;
+import org.example.entity.google.RouteMatrixElement;
+import org.example.service.RouteService;
+import org.example.utils.JsonUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingRouteServiceTest {
+    private static final String OFFICE = "55 E Michigan St, Indianapolis, IN 46204, USA";
+    private static final String CUSTOMER = "1534 Okley Drive, Chicago";
+    private static final Duration TTL = Duration.ofDays(30);
+
+    @Mock
+    private RouteService delegate;
+    @TempDir
+    Path tempDir;
+    private MutableClock clock;
+    private Path cachePath;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-14T00:00:00Z"));
+        cachePath = tempDir.resolve("route-cache.jsonl");
+    }
+
+    @Test
+    void getRouteEstimate_RepeatedWithDifferentSpelling_IsServedFromMemory() throws Exception {
+        // Given
+        when(delegate.getRouteEstimate(anyString(), anyString())).thenReturn(Optional.of(matrix(12000)));
+        try (RouteCacheStore store = new RouteCacheStore(cachePath, JsonUtils.OBJECT_MAPPER, TTL, clock)) {
+            CachingRouteService service = new CachingRouteService(delegate, store, 10, TTL, clock);
+
+            // When
+            service.getRouteEstimate(OFFICE, CUSTOMER);
+            Optional<DistanceGoogleMatrix> cached = service.getRouteEstimate(OFFICE, "1534 okley drive   chicago.");
+
+            // Then
+            verify(delegate, times(1)).getRouteEstimate(anyString(), anyString());
+            assertEquals(12000, cached.get().getRows()[0].getElements()[0].getDistance().getValue());
+            RouteCacheStats stats = service.getStats();
+            assertEquals(1, stats.memoryHits());
+            assertEquals(1, stats.misses());
+        }
+    }
+
+    @Test
+    void getRouteEstimate_AfterRestart_IsServedFromDisk() throws Exception {
+        // Given
+        when(delegate.getRouteEstimate(OFFICE, CUSTOMER)).thenReturn(Optional.of(matrix(12000)));
+        try (RouteCacheStore store = new RouteCacheStore(cachePath, JsonUtils.OBJECT_MAPPER, TTL, clock)) {
+            new CachingRouteService(delegate, store, 10, TTL, clock).getRouteEstimate(OFFICE, CUSTOMER);
+        }
+
+        // When
+        try (RouteCacheStore store = new RouteCacheStore(cachePath, JsonUtils.OBJECT_MAPPER, TTL, clock)) {
+            CachingRouteService service = new CachingRouteService(delegate, store, 10, TTL, clock);
+            Optional<DistanceGoogleMatrix> cached = service.getRouteEstimate(OFFICE, CUSTOMER);
+
+            // Then
+            verify(delegate, times(1)).getRouteEstimate(anyString(), anyString());
+            assertEquals("2 mins", cached.get().getRows()[0].getElements()[0].getDuration().getText());
+            assertEquals(1, service.getStats().diskHits());
+        }
+    }
+
+    @Test
+    void getRouteEstimate_AfterTtl_IsRequestedAgain() throws Exception {
+        // Given
+        when(delegate.getRouteEstimate(OFFICE, CUSTOMER)).thenReturn(Optional.of(matrix(12000)));
+        try (RouteCacheStore store = new RouteCacheStore(cachePath, JsonUtils.OBJECT_MAPPER, TTL, clock)) {
+            CachingRouteService service = new CachingRouteService(delegate, store, 10, TTL, clock);
+            service.getRouteEstimate(OFFICE, CUSTOMER);
+
+            // When
+            clock.advance(TTL.plusMinutes(1));
+            service.getRouteEstimate(OFFICE, CUSTOMER);
+
+            // Then
+            verify(delegate, times(2)).getRouteEstimate(OFFICE, CUSTOMER);
+        }
+    }
+
+    @Test
+    void memoryTier_EvictsLeastRecentlyUsed() throws Exception {
+        // Given
+        when(delegate.getRouteEstimate(eq(OFFICE), anyString())).thenReturn(Optional.of(matrix(12000)));
+        CachingRouteService service = new CachingRouteService(delegate, null, 1, TTL, clock);
+
+        // When
+        service.getRouteEstimate(OFFICE, CUSTOMER);
+        service.getRouteEstimate(OFFICE, "10 Main St, Carmel");
+        service.getRouteEstimate(OFFICE, CUSTOMER);
+
+        // Then
+        verify(delegate, times(2)).getRouteEstimate(OFFICE, CUSTOMER);
+        assertEquals(2, service.getStats().evictions());
+        assertEquals(1, service.getStats().memorySize());
+    }
+
+    @Test
+    void getRouteEstimates_RequestsOnlyMissingDestinations() throws Exception {
+        // Given
+        when(delegate.getRouteEstimate(OFFICE, CUSTOMER)).thenReturn(Optional.of(matrix(12000)));
+        when(delegate.getRouteEstimates(OFFICE, List.of("10 Main St, Carmel")))
+                .thenReturn(Map.of("10 Main St, Carmel", element(30000)));
+        CachingRouteService service = new CachingRouteService(delegate, null, 10, TTL, clock);
+        service.getRouteEstimate(OFFICE, CUSTOMER);
+
+        // When
+        Map<String, RouteMatrixElement> routes = service.getRouteEstimates(OFFICE, List.of(CUSTOMER, "10 Main St, Carmel"));
+
+        // Then
+        assertEquals(12000, routes.get(CUSTOMER).getDistance().getValue());
+        assertEquals(30000, routes.get("10 Main St, Carmel").getDistance().getValue());
+        verify(delegate).getRouteEstimates(OFFICE, List.of("10 Main St, Carmel"));
+    }
+
+    private static DistanceGoogleMatrix matrix(int meters) {
+        GoogleMatrixRow row = new GoogleMatrixRow();
+        row.setElements(new RouteMatrixElement[]{element(meters)});
+        DistanceGoogleMatrix matrix = new DistanceGoogleMatrix();
+        matrix.setRows(new GoogleMatrixRow[]{row});
+        matrix.setStatus("OK");
+        return matrix;
+    }
+
+    private static RouteMatrixElement element(int meters) {
+        RouteMatrixElement.ResultRepresentation distance = new RouteMatrixElement.ResultRepresentation();
+        distance.setText(meters / 1000 + " km");
+        distance.setValue(meters);
+        RouteMatrixElement.ResultRepresentation duration = new RouteMatrixElement.ResultRepresentation();
+        duration.setText("2 mins");
+        duration.setValue(120);
+        RouteMatrixElement element = new RouteMatrixElement();
+        element.setDistance(distance);
+        element.setDuration(duration);
+        element.setStatus("OK");
+        return element;
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.service.route;
+
+import org.example.utils.JsonUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RouteCacheStoreTest {
+    private static final Duration TTL = Duration.ofDays(30);
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-01-14T00:00:00Z"), ZoneOffset.UTC);
+
+    @TempDir
+    Path tempDir;
+    private Path cachePath;
+
+    @BeforeEach
+    void setUp() {
+        cachePath = tempDir.resolve("route-cache.jsonl");
+    }
+
+    @Test
+    void get_AfterOverwriteAndReopen_ReadsLastRouteFromFile() throws Exception {
+        // Given
+        try (RouteCacheStore store = new RouteCacheStore(cachePath, JsonUtils.OBJECT_MAPPER, TTL, CLOCK)) {
+            store.put(route("a", 1000));
+            store.put(route("b", 2000));
+            store.put(route("a", 3000));
+
+            // When & Then
+            assertEquals(3000, store.get(RouteKey.of("office", "a")).get().distanceMeters());
+        }
+        try (RouteCacheStore reopened = new RouteCacheStore(cachePath, JsonUtils.OBJECT_MAPPER, TTL, CLOCK)) {
+            assertEquals(2, reopened.size());
+            assertEquals(3000, reopened.get(RouteKey.of("office", "a")).get().distanceMeters());
+            assertEquals(2000, reopened.get(RouteKey.of("office", "b")).get().distanceMeters());
+        }
+    }
+
+    @Test
+    void open_TornLastLine_IsSkippedAndNextRouteIsReadable() throws Exception {
+        // Given
+        try (RouteCacheStore store = new RouteCacheStore(cachePath, JsonUtils.OBJECT_MAPPER, TTL, CLOCK)) {
+            store.put(route("a", 1000));
+        }
+        Files.writeString(cachePath, "{\"origin\": \"office\", \"desti", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        // When
+        try (RouteCacheStore store = new RouteCacheStore(cachePath, JsonUtils.OBJECT_MAPPER, TTL, CLOCK)) {
+            store.put(route("b", 2000));
+        }
+
+        // Then
+        try (RouteCacheStore reopened = new RouteCacheStore(cachePath, JsonUtils.OBJECT_MAPPER, TTL, CLOCK)) {
+            assertEquals(1000, reopened.get(RouteKey.of("office", "a")).get().distanceMeters());
+            assertEquals(2000, reopened.get(RouteKey.of("office", "b")).get().distanceMeters());
+        }
+    }
+
+    @Test
+    void open_ManyStaleLines_CompactsAndKeepsOffsets() throws Exception {
+        // Given
+        try (RouteCacheStore store = new RouteCacheStore(cachePath, JsonUtils.OBJECT_MAPPER, TTL, CLOCK)) {
+            for (int i = 0; i < 200; i++) {
+                store.put(route("a", i));
+            }
+            store.put(route("b", 5000));
+        }
+
+        // When
+        try (RouteCacheStore store = new RouteCacheStore(cachePath, JsonUtils.OBJECT_MAPPER, TTL, CLOCK)) {
+
+            // Then
+            assertEquals(2, Files.readAllLines(cachePath).size());
+            assertEquals(199, store.get(RouteKey.of("office", "a")).get().distanceMeters());
+            assertEquals(5000, store.get(RouteKey.of("office", "b")).get().distanceMeters());
+            assertEquals(Optional.empty(), store.get(RouteKey.of("office", "c")));
+        }
+    }
+
+    private static CachedRoute route(String destination, int meters) {
+        return new CachedRoute("office", destination, meters + " m", meters, "1 min", 60, CLOCK.millis());
+    }
+}
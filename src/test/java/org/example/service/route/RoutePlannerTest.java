@@ -0,0 +1,109 @@
+package org.example.service.route;
+
+import org.example.entity.google.DistanceGoogleMatrix;
+import org.example.entity.google.GoogleMatrixRow;
+import org.example.entity.google.RouteMatrixElement;
+import org.example.service.google.GoogleRouteService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoutePlannerTest {
+    private static final String OFFICE = "55 E Michigan St, Indianapolis";
+    private static final String CUSTOMER_A = "10 Main St, Carmel";
+    private static final String CUSTOMER_B = "1534 Okley Drive, Fishers";
+
+    @Mock
+    GoogleRouteService routeService;
+    @InjectMocks
+    RoutePlanner routePlanner;
+
+    @Test
+    void planDays_ComputesRoundTripsAndOrderedDayRouteFromOneMatrixPerDay() throws Exception {
+        // Given
+        // meters between office (0), customer B (1) and customer A (2); B is visited first
+        int[][] meters = {
+                {0, 20000, 30000},
+                {21000, 0, 15000},
+                {31000, 16000, 0}};
+        when(routeService.getDistanceMatrix(List.of(OFFICE, CUSTOMER_B, CUSTOMER_A))).thenReturn(Optional.of(matrix(meters)));
+        when(routeService.getDistanceMatrix(List.of(OFFICE, CUSTOMER_A))).thenReturn(Optional.of(matrix(new int[][]{{0, 30000}, {31000, 0}})));
+        List<Visit> visits = List.of(
+                new Visit("event-a", CUSTOMER_A, OffsetDateTime.parse("2025-01-14T13:00:00-05:00")),
+                new Visit("event-b", CUSTOMER_B, OffsetDateTime.parse("2025-01-14T09:00:00-05:00")),
+                new Visit("event-c", CUSTOMER_A, OffsetDateTime.parse("2025-01-15T10:00:00-05:00")));
+
+        // When
+        Map<LocalDate, DayRoute> routes = routePlanner.planDays(OFFICE, visits);
+
+        // Then
+        assertEquals(2, routes.size());
+        DayRoute firstDay = routes.get(LocalDate.of(2025, 1, 14));
+        assertEquals(List.of("event-b", "event-a"), firstDay.visits().stream().map(Visit::eventId).toList());
+        // office -> B -> A -> office
+        assertEquals(20000 + 15000 + 31000, firstDay.totalMeters());
+        assertTrue(firstDay.isComplete());
+        assertEquals(20000 + 21000, firstDay.roundTrips().get(0).totalMeters());
+        assertEquals(30000 + 31000, firstDay.roundTrips().get(1).totalMeters());
+        assertEquals(61000, routes.get(LocalDate.of(2025, 1, 15)).totalMeters());
+        verify(routeService, times(2)).getDistanceMatrix(anyList());
+    }
+
+    @Test
+    void planDay_MarksMissingLegAsIncomplete() throws Exception {
+        // Given
+        DistanceGoogleMatrix matrix = matrix(new int[][]{{0, -1}, {31000, 0}});
+        when(routeService.getDistanceMatrix(List.of(OFFICE, CUSTOMER_A))).thenReturn(Optional.of(matrix));
+
+        // When
+        Optional<DayRoute> route = routePlanner.planDay(OFFICE, LocalDate.of(2025, 1, 14),
+                List.of(new Visit("event-a", CUSTOMER_A, OffsetDateTime.parse("2025-01-14T13:00:00-05:00"))));
+
+        // Then
+        assertTrue(route.isPresent());
+        assertFalse(route.get().isComplete());
+        assertEquals(31000, route.get().totalMeters());
+    }
+
+    /**
+     * Builds a square matrix; a negative distance stands for a NOT_FOUND element.
+     */
+    private static DistanceGoogleMatrix matrix(int[][] meters) {
+        GoogleMatrixRow[] rows = new GoogleMatrixRow[meters.length];
+        for (int i = 0; i < meters.length; i++) {
+            RouteMatrixElement[] elements = new RouteMatrixElement[meters[i].length];
+            for (int j = 0; j < meters[i].length; j++) {
+                elements[j] = new RouteMatrixElement();
+                if (meters[i][j] < 0) {
+                    elements[j].setStatus("NOT_FOUND");
+                    continue;
+                }
+                RouteMatrixElement.ResultRepresentation distance = new RouteMatrixElement.ResultRepresentation();
+                distance.setValue(meters[i][j]);
+                RouteMatrixElement.ResultRepresentation duration = new RouteMatrixElement.ResultRepresentation();
+                duration.setValue(meters[i][j] / 10);
+                elements[j].setDistance(distance);
+                elements[j].setDuration(duration);
+                elements[j].setStatus("OK");
+            }
+            rows[i] = new GoogleMatrixRow();
+            rows[i].setElements(elements);
+        }
+        DistanceGoogleMatrix matrix = new DistanceGoogleMatrix();
+        matrix.setRows(rows);
+        matrix.setStatus("OK");
+        return matrix;
+    }
+}
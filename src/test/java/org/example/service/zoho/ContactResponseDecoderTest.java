@@ -0,0 +1,66 @@
+package org.example.service.zoho;
+
+import org.example.entity.zoho.contacts.ZohoContactResponse;
+import org.example.utils.JsonBody;
+import org.example.utils.JsonUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ContactResponseDecoderTest {
+    private static final String RESPONSE = """
+            {
+                "code": 0,
+                "message": "The contact has been added.",
+                "contact": {
+                    "contact_name": "Bowman and Co",
+                    "company_name": "Bowman and Co",
+                    "billing_address": {"attention": "Mr.John", "address": "4900 Hopyard Rd", "city": "Pleasanton"},
+                    "contact_persons": [{"first_name": "Will", "email": "willsmith@bowmanfurniture.com", "is_primary_contact": true}],
+                    "custom_fields": [{"index": 1, "value": "GBGD078"}],
+                    "contact_id": 460000000026049,
+                    "website": "www.bowmanfurniture.com"
+                },
+                "instrumentation": {"response_write_time": 12}
+            }
+            """;
+
+    @Test
+    void decode_ReadsCodeMessageAndContactId() throws Exception {
+        // When
+        ZohoContactResponse decoded = decode(RESPONSE);
+        ZohoContactResponse bound = JsonUtils.CODECS.reader(ZohoContactResponse.class).readValue(RESPONSE);
+
+        // Then
+        assertEquals(bound.getCode(), decoded.getCode());
+        assertEquals(bound.getMessage(), decoded.getMessage());
+        assertEquals(bound.getContact().getContactId(), decoded.getContact().getContactId());
+        assertEquals(460000000026049L, decoded.getContact().getContactId());
+        assertNull(decoded.getContact().getContactName());
+    }
+
+    @Test
+    void decode_ContactIdAsString_IsParsed() throws Exception {
+        // When
+        ZohoContactResponse decoded = decode("{\"code\": 0, \"contact\": {\"contact_id\": \"460000000026049\"}}");
+
+        // Then
+        assertEquals(460000000026049L, decoded.getContact().getContactId());
+    }
+
+    @Test
+    void decode_WithoutContact_KeepsCodeAndMessage() throws Exception {
+        // When
+        ZohoContactResponse decoded = decode("{\"code\": 3062, \"message\": \"Contact already exists.\"}");
+
+        // Then
+        assertEquals(3062, decoded.getCode());
+        assertEquals("Contact already exists.", decoded.getMessage());
+        assertNull(decoded.getContact());
+    }
+
+    private static ZohoContactResponse decode(String json) throws Exception {
+        return JsonBody.of(json).decode(JsonUtils.CODECS.reader(ZohoContactResponse.class), ContactResponseDecoder::decode);
+    }
+}
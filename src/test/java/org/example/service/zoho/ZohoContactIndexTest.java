@@ -0,0 +1,135 @@
+package org.example.service.zoho;
+
+import org.example.entity.zoho.contacts.ZohoContact;
+import org.example.entity.zoho.contacts.ZohoContactListResponse;
+import org.example.utils.JsonUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ZohoContactIndexTest {
+    private static final String ORGANISATION_ID = "org-1";
+
+    @Mock
+    private ZohoContactService contactService;
+    @TempDir
+    Path tempDir;
+    private Path indexPath;
+
+    @BeforeEach
+    void setUp() {
+        indexPath = tempDir.resolve("zoho-contacts.json");
+    }
+
+    @Test
+    void refresh_ReadsAllPagesAndFindsByEmailPhoneAndName() {
+        // Given
+        when(contactService.getContactsPage(ORGANISATION_ID, 1)).thenReturn(page(true,
+                contact(1, "Anna Lee", "Anna.Lee@Example.com", "+1 (317) 555-0100", "2025-01-14T10:00:00-0500")));
+        when(contactService.getContactsPage(ORGANISATION_ID, 2)).thenReturn(page(false,
+                contact(2, "Bob Stone", null, "317.555.0199", "2025-01-13T10:00:00-0500")));
+        ZohoContactIndex index = new ZohoContactIndex(indexPath, JsonUtils.OBJECT_MAPPER);
+
+        // When
+        int read = index.refresh(contactService, ORGANISATION_ID);
+
+        // Then
+        assertEquals(2, read);
+        assertEquals(Optional.of(1L), index.find(" anna.lee@example.com", null, null));
+        assertEquals(Optional.of(2L), index.find("bob@example.com", "3175550199", null));
+        assertEquals(Optional.of(1L), index.find(null, null, "anna  lee"));
+        assertEquals(Optional.empty(), index.find("new@example.com", "3175550000", "New Customer"));
+    }
+
+    @Test
+    void refresh_AfterReload_StopsAtLastModifiedTime() {
+        // Given
+        when(contactService.getContactsPage(ORGANISATION_ID, 1))
+                .thenReturn(page(false, contact(1, "Anna Lee", "anna@example.com", null, "2025-01-14T10:00:00-0500")))
+                .thenReturn(page(true,
+                        contact(3, "Carl Moss", "carl@example.com", null, "2025-01-15T09:00:00-0500"),
+                        contact(1, "Anna Lee", "anna@example.com", null, "2025-01-14T10:00:00-0500"),
+                        contact(4, "Old Contact", "old@example.com", null, "2025-01-10T10:00:00-0500")));
+        new ZohoContactIndex(indexPath, JsonUtils.OBJECT_MAPPER).refresh(contactService, ORGANISATION_ID);
+
+        // When
+        ZohoContactIndex reloaded = new ZohoContactIndex(indexPath, JsonUtils.OBJECT_MAPPER);
+        int read = reloaded.refresh(contactService, ORGANISATION_ID);
+
+        // Then
+        assertEquals(2, read);
+        assertEquals(2, reloaded.size());
+        assertEquals(Optional.of(3L), reloaded.find("carl@example.com", null, null));
+        verify(contactService, never()).getContactsPage(ORGANISATION_ID, 2);
+    }
+
+    @Test
+    void find_SharedName_MatchesOnlyByEmail() {
+        // Given
+        ZohoContactIndex index = new ZohoContactIndex(indexPath, JsonUtils.OBJECT_MAPPER);
+        index.add(1, "john@example.com", null, "John Smith");
+        index.add(2, "john.smith@example.com", null, "John Smith");
+
+        // When & Then
+        assertEquals(Optional.empty(), index.find(null, null, "John Smith"));
+        assertEquals(Optional.of(2L), index.find("john.smith@example.com", null, "John Smith"));
+        assertEquals(Optional.of(1L), new ZohoContactIndex(indexPath, JsonUtils.OBJECT_MAPPER).find("JOHN@example.com", null, null));
+    }
+
+    @Test
+    void find_SameNameWithOtherEmailOrPhone_IsNotMatched() {
+        // Given
+        ZohoContactIndex index = new ZohoContactIndex(indexPath, JsonUtils.OBJECT_MAPPER);
+        index.add(1, "john@example.com", "317-555-0100", "John Smith");
+
+        // When & Then
+        assertEquals(Optional.empty(), index.find("other.john@example.com", null, "John Smith"));
+        assertEquals(Optional.empty(), index.find(null, "812-929-2381", "John Smith"));
+        assertEquals(Optional.of(1L), index.find(null, null, "John Smith"));
+    }
+
+    @Test
+    void add_ChangedContact_ClearsAmbiguousName() {
+        // Given
+        ZohoContactIndex index = new ZohoContactIndex(indexPath, JsonUtils.OBJECT_MAPPER);
+        index.add(1, "john@example.com", null, "John Smith");
+        index.add(2, "john.smith@example.com", null, "John Smith");
+
+        // When
+        index.add(2, "john.smith@example.com", null, "Johnny Smith");
+
+        // Then
+        assertEquals(Optional.of(1L), index.find(null, null, "John Smith"));
+        assertEquals(Optional.of(2L), index.find(null, null, "Johnny Smith"));
+    }
+
+    private static ZohoContactListResponse page(boolean hasMorePage, ZohoContact... contacts) {
+        ZohoContactListResponse.PageContext pageContext = new ZohoContactListResponse.PageContext();
+        pageContext.setHasMorePage(hasMorePage);
+        ZohoContactListResponse response = new ZohoContactListResponse();
+        response.setContacts(List.of(contacts));
+        response.setPageContext(pageContext);
+        return response;
+    }
+
+    private static ZohoContact contact(long contactId, String name, String email, String phone, String lastModifiedTime) {
+        ZohoContact contact = new ZohoContact();
+        contact.setContactId(contactId);
+        contact.setContactName(name);
+        contact.setEmail(email);
+        contact.setPhone(phone);
+        contact.setLastModifiedTime(lastModifiedTime);
+        return contact;
+    }
+}
@@ -32,6 +32,7 @@ class ZohoContactServiceIntegrationTest {
         String accessToken = tokenManager.getZOHOInvoiceAccessToken();
         String ORG_ID = tokenManager.getZOHOInvoiceOrganisationId();
         ZohoContactService contactService = new ZohoContactService(accessToken, httpClient, objectMapper);
+        contactService.setFullBinding(true);
         String jsonRequest = """
                 {
                   "contact_name": "Test Contact",
@@ -2,24 +2,31 @@ package org.example.service.zoho;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.example.entity.zoho.ZohoErrorResponse;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.example.entity.zoho.contacts.ZohoContactRequest;
 import org.example.entity.zoho.contacts.ZohoContactResponse;
 import org.example.exception.AuthenticationError;
 import org.example.exception.ZohoServiceException;
+import org.example.utils.JsonUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.IOException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
+import static org.example.MockHttpResponse.respond;
+import static org.example.MockHttpResponse.respondAsync;
+import static org.example.service.zoho.ZohoContactService.CONTACT_ALREADY_EXISTS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,11 +40,9 @@ class ZohoContactServiceTest {
     public static final String INVALID_TOKEN_MESSAGE = "Invalid token";
     @Mock
     private HttpClient httpClient;
-    @Mock
-    private ObjectMapper objectMapper;
+    private final ObjectMapper objectMapper = JsonUtils.OBJECT_MAPPER;
     @Mock
     HttpResponse<String> httpResponse;
-    @InjectMocks
     private ZohoContactService contactService;
     private final String accessToken = "test_token";
     private final String organisationId = "test_org_id";
@@ -51,18 +56,15 @@ class ZohoContactServiceTest {
     void testAddNewContactSuccess() throws Exception {
         //given
         ZohoContactRequest request = new ZohoContactRequest();
-        ZohoContactResponse expectedResponse = new ZohoContactResponse();
 
         // when
-        when(objectMapper.writeValueAsString(request)).thenReturn(EMPTY_JSON);
         when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
-                .thenReturn(httpResponse);
+                .thenAnswer(respond(httpResponse));
         when(httpResponse.statusCode()).thenReturn(200);
         when(httpResponse.body()).thenReturn("{ \"code\": 0 }");
-        when(objectMapper.readValue(anyString(), eq(ZohoContactResponse.class))).thenReturn(expectedResponse);
         ZohoContactResponse result = contactService.addNewContact(request, organisationId);
         // then
-        assertEquals(expectedResponse, result);
+        assertEquals(0, result.getCode());
         // verify
         verify(httpClient, times(1)).send(any(), any());
         verifyNoMoreInteractions(httpClient);
@@ -77,13 +79,15 @@ class ZohoContactServiceTest {
         // Given
         ZohoContactRequest request = new ZohoContactRequest();
         String organisationId = "some-org-id";
-        // Mock the behavior separately before assertThrows
+        ObjectMapper failingMapper = mock(ObjectMapper.class);
+        ZohoContactService failingService = new ZohoContactService(accessToken, httpClient, failingMapper);
+        ObjectWriter failingWriter = mock(ObjectWriter.class);
         // When
-        when(objectMapper.writeValueAsString(request))
-                .thenThrow(JsonProcessingException.class);
+        when(failingMapper.writerFor(ZohoContactRequest.class)).thenReturn(failingWriter);
+        when(failingWriter.writeValueAsString(request)).thenThrow(JsonProcessingException.class);
         // Then
         assertThrows(JsonProcessingException.class, () ->
-                contactService.addNewContact(request, organisationId)
+                failingService.addNewContact(request, organisationId)
         );
         // verify
         verify(httpClient, times(0)).send(any(), any());
@@ -96,12 +100,9 @@ class ZohoContactServiceTest {
         // Given
         ZohoContactRequest request = new ZohoContactRequest();
         // When
-        when(objectMapper.writeValueAsString(request)).thenReturn(EMPTY_JSON);
-        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class))).thenReturn(httpResponse);
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class))).thenAnswer(respond(httpResponse));
         when(httpResponse.statusCode()).thenReturn(401);
         when(httpResponse.body()).thenReturn(CODE_14_MESSAGE_INVALID_TOKEN);
-        when(objectMapper.readValue(anyString(), eq(ZohoErrorResponse.class)))
-                .thenReturn(new ZohoErrorResponse(14, INVALID_TOKEN_MESSAGE));
         // Then
         assertThrows(AuthenticationError.class, () -> contactService.addNewContact(request, organisationId));
     }
@@ -116,12 +117,9 @@ class ZohoContactServiceTest {
         // Given
         ZohoContactRequest request = new ZohoContactRequest();
         // When
-        when(objectMapper.writeValueAsString(request)).thenReturn(EMPTY_JSON);
-        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class))).thenReturn(httpResponse);
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class))).thenAnswer(respond(httpResponse));
         when(httpResponse.statusCode()).thenReturn(400);
         when(httpResponse.body()).thenReturn(CODE_1005_MESSAGE_CONTACT_ALREADY_EXISTS);
-        when(objectMapper.readValue(anyString(), eq(ZohoErrorResponse.class)))
-                .thenReturn(new ZohoErrorResponse(1005, MESSAGE_ALREADY_EXISTS));
         ZohoContactResponse result = contactService.addNewContact(request, organisationId);
         // Then
         assertEquals(1005, result.getCode());
@@ -138,14 +136,77 @@ class ZohoContactServiceTest {
         // Given
         ZohoContactRequest request = new ZohoContactRequest();
         // When
-        when(objectMapper.writeValueAsString(request)).thenReturn(EMPTY_JSON);
-        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class))).thenReturn(httpResponse);
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class))).thenAnswer(respond(httpResponse));
         when(httpResponse.statusCode()).thenReturn(500);
         when(httpResponse.body()).thenReturn(CODE_9999_MESSAGE_SOMETHING_WENT_WRONG);
-        when(objectMapper.readValue(anyString(), eq(ZohoErrorResponse.class)))
-                .thenReturn(new ZohoErrorResponse(9999, SOMETHING_WENT_WRONG));
         // Then
         assertThrows(ZohoServiceException.class, () -> contactService.addNewContact(request, organisationId));
     }
+
+    @Test
+    void addNewContactAsync_Success() throws Exception {
+        // Given
+        ZohoContactRequest request = new ZohoContactRequest();
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(respondAsync(httpResponse));
+        when(httpResponse.statusCode()).thenReturn(200);
+        when(httpResponse.body()).thenReturn("{ \"code\": 0 }");
+
+        // When
+        ZohoContactResponse result = contactService.addNewContactAsync(request, organisationId).get();
+
+        // Then
+        assertEquals(0, result.getCode());
+        verify(httpClient, never()).send(any(), any());
+    }
+
+    @Test
+    void addNewContactAsync_AuthenticationError_CompletesExceptionally() throws Exception {
+        // Given
+        ZohoContactRequest request = new ZohoContactRequest();
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(respondAsync(httpResponse));
+        when(httpResponse.statusCode()).thenReturn(401);
+        when(httpResponse.body()).thenReturn(CODE_14_MESSAGE_INVALID_TOKEN);
+
+        // When
+        CompletableFuture<ZohoContactResponse> result = contactService.addNewContactAsync(request, organisationId);
+
+        // Then
+        ExecutionException exception = assertThrows(ExecutionException.class, result::get);
+        assertTrue(exception.getCause() instanceof AuthenticationError);
+    }
+
+    @Test
+    void addNewContactAsync_ContactExists_ReturnsCode3062() throws Exception {
+        // Given
+        ZohoContactRequest request = new ZohoContactRequest();
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(respondAsync(httpResponse));
+        when(httpResponse.statusCode()).thenReturn(400);
+        when(httpResponse.body()).thenReturn("{ \"code\": 3062, \"message\": \"Already exists\" }");
+
+        // When
+        ZohoContactResponse result = contactService.addNewContactAsync(request, organisationId).get();
+
+        // Then
+        assertEquals(3062, result.getCode());
+        assertEquals(CONTACT_ALREADY_EXISTS, result.getMessage());
+    }
+
+    @Test
+    void addNewContactAsync_TransportFailure_CompletesWithZohoServiceException() throws Exception {
+        // Given
+        ZohoContactRequest request = new ZohoContactRequest();
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IOException("Connection reset")));
+
+        // When
+        CompletableFuture<ZohoContactResponse> result = contactService.addNewContactAsync(request, organisationId);
+
+        // Then
+        ExecutionException exception = assertThrows(ExecutionException.class, result::get);
+        assertTrue(exception.getCause() instanceof ZohoServiceException);
+    }
 }
 //Generated with love by TestMe :) Please report issues and submit feature requests at: http://weirddev.com/forum#!/testme
\ No newline at end of file
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.entity.zoho.estimate.LineItem;
 import org.example.entity.zoho.estimate.ZohoEstimateRequest;
 import org.example.entity.zoho.estimate.ZohoEstimateResponse;
+import org.example.MockHttpResponse;
+import org.example.service.AccessTokenProvider;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,12 +15,17 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
+import static org.example.MockHttpResponse.handle;
+import static org.example.MockHttpResponse.respond;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ZohoEstimateServiceTest {
@@ -65,7 +72,7 @@ class ZohoEstimateServiceTest {
                 }
                 """.formatted(CUSTOMER_ID);
 
-        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class))).thenReturn(httpResponse);
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class))).thenAnswer(respond(httpResponse));
         when(httpResponse.body()).thenReturn(jsonResponse);
         when(httpResponse.statusCode()).thenReturn(201);
         // Act
@@ -79,4 +86,58 @@ class ZohoEstimateServiceTest {
         assertEquals("Diagnostic visit", response.getEstimate().getLineItems().get(0).getName());
         assertEquals(70.00, response.getEstimate().getLineItems().get(0).getRate());
     }
+
+    @Test
+    void createEstimate_shouldReplayWithRefreshedToken_whenTokenRejected() throws Exception {
+        // Given
+        AccessTokenProvider tokenProvider = mock(AccessTokenProvider.class);
+        when(tokenProvider.getAccessToken()).thenReturn("expired");
+        when(tokenProvider.refreshAccessToken("expired")).thenReturn(Optional.of("fresh"));
+        ZohoEstimateService service = new ZohoEstimateService(tokenProvider, httpClient, new ObjectMapper(), null);
+        ZohoEstimateRequest request = new ZohoEstimateRequest();
+        request.setCustomerId(CUSTOMER_ID);
+        List<HttpRequest> sent = new ArrayList<>();
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class))).thenAnswer(invocation -> {
+            sent.add(invocation.getArgument(0));
+            return handle(invocation.getArgument(1), sent.size() == 1
+                    ? new MockHttpResponse(401, "{\"code\": 57, \"message\": \"You are not authorized\"}")
+                    : new MockHttpResponse(201, "{\"code\": 0, \"estimate\": {\"estimate_id\": \"987654321\"}}"));
+        });
+
+        // When
+        ZohoEstimateResponse response = service.createEstimate(request, ORGANIZATION_ID);
+
+        // Then
+        assertEquals("987654321", response.getEstimate().getEstimateId());
+        assertEquals(2, sent.size());
+        assertEquals("Zoho-oauthtoken expired", sent.get(0).headers().firstValue("Authorization").orElse(null));
+        assertEquals("Zoho-oauthtoken fresh", sent.get(1).headers().firstValue("Authorization").orElse(null));
+        verify(tokenProvider, times(1)).refreshAccessToken("expired");
+    }
+
+    @Test
+    void createEstimateAsync_shouldReplayWithAsyncRefreshedToken_whenTokenRejected() throws Exception {
+        // Given
+        AccessTokenProvider tokenProvider = mock(AccessTokenProvider.class);
+        when(tokenProvider.getAccessToken()).thenReturn("expired");
+        when(tokenProvider.refreshAccessTokenAsync("expired")).thenReturn(CompletableFuture.completedFuture(Optional.of("fresh")));
+        ZohoEstimateService service = new ZohoEstimateService(tokenProvider, httpClient, new ObjectMapper(), null);
+        ZohoEstimateRequest request = new ZohoEstimateRequest();
+        request.setCustomerId(CUSTOMER_ID);
+        List<HttpRequest> sent = new ArrayList<>();
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class))).thenAnswer(invocation -> {
+            sent.add(invocation.getArgument(0));
+            return CompletableFuture.completedFuture(handle(invocation.getArgument(1), sent.size() == 1
+                    ? new MockHttpResponse(401, "{\"code\": 57, \"message\": \"You are not authorized\"}")
+                    : new MockHttpResponse(201, "{\"code\": 0, \"estimate\": {\"estimate_id\": \"987654321\"}}")));
+        });
+
+        // When
+        ZohoEstimateResponse response = service.createEstimateAsync(request, ORGANIZATION_ID).get();
+
+        // Then
+        assertEquals("987654321", response.getEstimate().getEstimateId());
+        assertEquals("Zoho-oauthtoken fresh", sent.get(1).headers().firstValue("Authorization").orElse(null));
+        verify(tokenProvider, never()).refreshAccessToken(any());
+    }
 }
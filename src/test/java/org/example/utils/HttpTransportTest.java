@@ -0,0 +1,103 @@
+package org.example.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpTransportTest {
+    private static final String JSON = "{\"items\": [" + "{\"id\": \"event\", \"status\": \"confirmed\"},".repeat(200) + "{}]}";
+
+    @Test
+    void newRequestBuilder_AcceptsGzipWithGzipUserAgent() {
+        // When
+        HttpRequest request = HttpTransport.newRequestBuilder().uri(URI.create("https://example.com")).GET().build();
+
+        // Then
+        assertEquals("gzip", request.headers().firstValue(HttpTransport.ACCEPT_ENCODING).orElse(null));
+        assertEquals("ZohoGoogleApiPrototype (gzip)", request.headers().firstValue(HttpTransport.USER_AGENT).orElse(null));
+        assertEquals(1, request.headers().allValues(HttpTransport.USER_AGENT).size());
+    }
+
+    @Test
+    void decodeStream_GzipBody_IsDecompressedAndCounted() throws Exception {
+        // Given
+        byte[] compressed = gzip(JSON);
+        TransportStats before = HttpTransport.stats();
+
+        // When
+        String decoded;
+        try (InputStream body = HttpTransport.decode(headers(Map.of(HttpTransport.CONTENT_ENCODING, List.of("gzip"))),
+                new ByteArrayInputStream(compressed))) {
+            decoded = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        // Then
+        TransportStats after = HttpTransport.stats();
+        assertEquals(JSON, decoded);
+        assertEquals(1, after.gzipResponses() - before.gzipResponses());
+        assertEquals(compressed.length, after.wireBytes() - before.wireBytes());
+        assertEquals(JSON.length(), after.decodedBytes() - before.decodedBytes());
+        assertTrue(compressed.length < JSON.length());
+    }
+
+    @Test
+    void decodeBytes_IdentityBody_IsReturnedAsIs() throws Exception {
+        // Given
+        byte[] body = JSON.getBytes(StandardCharsets.UTF_8);
+        TransportStats before = HttpTransport.stats();
+
+        // When
+        byte[] decoded = HttpTransport.decode(headers(Map.of()), body);
+
+        // Then
+        TransportStats after = HttpTransport.stats();
+        assertArrayEquals(body, decoded);
+        assertEquals(0, after.gzipResponses() - before.gzipResponses());
+        assertEquals(body.length, after.wireBytes() - before.wireBytes());
+        assertEquals(body.length, after.decodedBytes() - before.decodedBytes());
+    }
+
+    @Test
+    void decodeBytes_GzipBody_IsDecompressed() throws Exception {
+        // When
+        byte[] decoded = HttpTransport.decode(headers(Map.of(HttpTransport.CONTENT_ENCODING, List.of("GZIP"))), gzip(JSON));
+
+        // Then
+        assertEquals(JSON, new String(decoded, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void charset_ReadsContentTypeParameter() {
+        assertEquals(StandardCharsets.ISO_8859_1,
+                HttpTransport.charset(headers(Map.of(HttpTransport.CONTENT_TYPE, List.of("application/json; charset=ISO-8859-1")))));
+        assertEquals(StandardCharsets.UTF_8,
+                HttpTransport.charset(headers(Map.of(HttpTransport.CONTENT_TYPE, List.of("application/json")))));
+        assertEquals(StandardCharsets.UTF_8, HttpTransport.charset(null));
+    }
+
+    private static HttpHeaders headers(Map<String, List<String>> values) {
+        return HttpHeaders.of(values, (name, value) -> true);
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.utils;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonBodyTest {
+    private static final String BODY = "{\"code\": 0}";
+
+    @Test
+    void capturingHandler_SuccessfulResponse_IsCapturedBeforeCompletion() {
+        // When
+        JsonBody body = receive(JsonBody.capturingHandler(), 200);
+
+        // Then
+        assertTrue(body.isCaptured());
+        assertEquals(BODY, body.text());
+    }
+
+    @Test
+    void handler_ErrorResponse_IsCaptured() {
+        // When
+        JsonBody body = receive(JsonBody.handler(LoggerFactory.getLogger(JsonBodyTest.class)), 404);
+
+        // Then
+        assertTrue(body.isCaptured());
+        assertEquals(BODY, body.text());
+    }
+
+    private static JsonBody receive(HttpResponse.BodyHandler<JsonBody> handler, int status) {
+        HttpResponse.BodySubscriber<JsonBody> subscriber = handler.apply(responseInfo(status));
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        subscriber.onNext(List.of(ByteBuffer.wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+        subscriber.onComplete();
+        return subscriber.getBody().toCompletableFuture().join();
+    }
+
+    private static HttpResponse.ResponseInfo responseInfo(int status) {
+        HttpHeaders headers = HttpHeaders.of(Map.of("Content-Type", List.of("application/json; charset=UTF-8")), (name, value) -> true);
+        return new HttpResponse.ResponseInfo() {
+            @Override
+            public int statusCode() {
+                return status;
+            }
+
+            @Override
+            public HttpHeaders headers() {
+                return headers;
+            }
+
+            @Override
+            public HttpClient.Version version() {
+                return HttpClient.Version.HTTP_1_1;
+            }
+        };
+    }
+}
@@ -0,0 +1,143 @@
+package org.example.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.entity.OAuthTokenResponse;
+import org.example.entity.google.CalendarEvent;
+import org.example.entity.zoho.contacts.ZohoContactResponse;
+import org.example.entity.zoho.estimate.LineItem;
+import org.example.entity.zoho.estimate.ZohoEstimateRequest;
+import org.example.service.google.GoogleCalendarService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-call {@link ObjectMapper} usage the services had with the readers and writers of
+ * {@link JsonCodecs}, with and without the Blackbird module. The {@code mapper_*} methods are the old code paths, the
+ * {@code codecs_*} methods the current ones.
+ * <p>
+ * Not a unit test; run it from the test classpath, e.g.
+ * {@code mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * -Dexec.args="-cp %classpath org.example.utils.JsonCodecsBenchmark"}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonCodecsBenchmark {
+    private static final int EVENTS_PER_PAGE = 50;
+
+    @Param({"false", "true"})
+    public boolean blackbird;
+
+    private ObjectMapper objectMapper;
+    private JsonCodecs codecs;
+    private GoogleCalendarService calendarService;
+    private String eventsPage;
+    private String contactResponse;
+    private String tokenResponse;
+    private ZohoEstimateRequest estimateRequest;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonUtils.newObjectMapper(blackbird);
+        codecs = new JsonCodecs(objectMapper);
+        calendarService = new GoogleCalendarService("token", null, objectMapper);
+        eventsPage = eventsPage();
+        contactResponse = "{\"code\": 0, \"message\": \"The contact has been added.\", \"contact\": {"
+                + "\"contact_id\": 460000000026049, \"contact_name\": \"Jane Doe\", \"company_name\": \"Doe Ltd\","
+                + "\"email\": \"jane@example.com\", \"phone\": \"+1 555 0100\", \"contact_type\": \"customer\","
+                + "\"is_taxable\": true, \"has_transaction\": false}}";
+        tokenResponse = "{\"access_token\": \"1000.8f7a2c1d\", \"expires_in\": 3600, \"api_domain\": \"https://www.zohoapis.com\","
+                + "\"token_type\": \"Bearer\"}";
+        LineItem lineItem = new LineItem();
+        lineItem.setItemId("460000000027009");
+        lineItem.setName("Tuning");
+        lineItem.setRate(120.0);
+        lineItem.setQuantity(1);
+        estimateRequest = new ZohoEstimateRequest();
+        estimateRequest.setCustomerId("460000000026049");
+        estimateRequest.setLineItems(List.of(lineItem, lineItem, lineItem));
+    }
+
+    @Benchmark
+    public List<CalendarEvent> mapper_EventsPage() throws IOException {
+        JsonNode root = objectMapper.readTree(eventsPage);
+        return objectMapper.readerForListOf(CalendarEvent.class).readValue(root.get("items"));
+    }
+
+    @Benchmark
+    public List<CalendarEvent> codecs_EventsPage() throws IOException {
+        return calendarService.parseEvents(eventsPage);
+    }
+
+    @Benchmark
+    public ZohoContactResponse mapper_ContactResponse() throws IOException {
+        return objectMapper.readValue(contactResponse, ZohoContactResponse.class);
+    }
+
+    @Benchmark
+    public ZohoContactResponse codecs_ContactResponse() throws IOException {
+        return codecs.reader(ZohoContactResponse.class).readValue(contactResponse);
+    }
+
+    @Benchmark
+    public Map<?, ?> mapper_TokenResponse() throws IOException {
+        return objectMapper.readValue(tokenResponse, Map.class);
+    }
+
+    @Benchmark
+    public OAuthTokenResponse codecs_TokenResponse() throws IOException {
+        return codecs.reader(OAuthTokenResponse.class).readValue(tokenResponse);
+    }
+
+    @Benchmark
+    public String mapper_EstimateRequest() throws IOException {
+        return objectMapper.writeValueAsString(estimateRequest);
+    }
+
+    @Benchmark
+    public String codecs_EstimateRequest() throws IOException {
+        return codecs.writer(ZohoEstimateRequest.class).writeValueAsString(estimateRequest);
+    }
+
+    private static String eventsPage() {
+        StringBuilder json = new StringBuilder("{\"kind\": \"calendar#events\", \"nextPageToken\": \"CigKGjRk\", \"items\": [");
+        for (int i = 0; i < EVENTS_PER_PAGE; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"kind\": \"calendar#event\", \"id\": \"event").append(i).append("\", \"status\": \"confirmed\",")
+                    .append("\"summary\": \"Piano tuning\", \"description\": \"Jane Doe\\n+1 555 0100\\njane@example.com\",")
+                    .append("\"location\": \"12 Main St, Springfield\",")
+                    .append("\"start\": {\"dateTime\": \"2024-05-0").append(i % 9 + 1).append("T09:00:00Z\"},")
+                    .append("\"end\": {\"dateTime\": \"2024-05-0").append(i % 9 + 1).append("T10:00:00Z\"},")
+                    .append("\"attendees\": [{\"email\": \"jane@example.com\", \"responseStatus\": \"accepted\"}],")
+                    .append("\"iCalUID\": \"event").append(i).append("@google.com\"}");
+        }
+        return json.append("]}").toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JsonCodecsBenchmark.class.getSimpleName()).build()).run();
+    }
+}
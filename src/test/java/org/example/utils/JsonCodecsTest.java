@@ -0,0 +1,71 @@
+package org.example.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.entity.AccessToken;
+import org.example.entity.OAuthTokenResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class JsonCodecsTest {
+
+    @Test
+    void of_SharedMapper_ReturnsSharedRegistry() {
+        assertSame(JsonUtils.CODECS, JsonCodecs.of(JsonUtils.OBJECT_MAPPER));
+    }
+
+    @Test
+    void of_OtherMapper_ReturnsNewRegistry() {
+        assertNotSame(JsonUtils.CODECS, JsonCodecs.of(new ObjectMapper()));
+    }
+
+    @Test
+    void readerAndWriter_AreBuiltOnce() {
+        // Given
+        JsonCodecs codecs = new JsonCodecs(JsonUtils.newObjectMapper(false));
+
+        // Then
+        assertSame(codecs.reader(AccessToken.class), codecs.reader(AccessToken.class));
+        assertSame(codecs.writer(AccessToken.class), codecs.writer(AccessToken.class));
+        assertSame(codecs.reader(JsonCodecsTest.class), codecs.reader(JsonCodecsTest.class));
+    }
+
+    @Test
+    void reader_IgnoresUnknownProperties() throws Exception {
+        // When
+        OAuthTokenResponse token = JsonUtils.CODECS.reader(OAuthTokenResponse.class)
+                .readValue("{\"access_token\": \"token\", \"token_type\": \"Bearer\"}");
+
+        // Then
+        assertEquals("token", token.accessToken());
+        assertNull(token.expiresIn());
+    }
+
+    @Test
+    void writerAndReader_RoundTripJavaTime() throws Exception {
+        // Given
+        AccessToken token = new AccessToken("token", Instant.parse("2024-05-01T09:00:00Z"));
+
+        // When
+        String json = JsonUtils.CODECS.writer(AccessToken.class).writeValueAsString(token);
+        AccessToken read = JsonUtils.CODECS.reader(AccessToken.class).readValue(json);
+
+        // Then
+        assertEquals(token, read);
+    }
+
+    @Test
+    void newObjectMapper_Blackbird_BindsLikeDefaultMapper() throws Exception {
+        // When
+        ObjectMapper objectMapper = JsonUtils.newObjectMapper(true);
+
+        // Then
+        OAuthTokenResponse token = objectMapper.readValue("{\"access_token\": \"token\", \"expires_in\": 3600}", OAuthTokenResponse.class);
+        assertEquals(Long.valueOf(3600), token.expiresIn());
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.utils;
+
+import org.example.entity.AppCredentials;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class WriteBehindCredentialsRetrieverTest {
+    private CredentialsRetriever delegate;
+    private WriteBehindCredentialsRetriever retriever;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(CredentialsRetriever.class);
+        // long delay, the tests flush explicitly
+        retriever = new WriteBehindCredentialsRetriever(delegate, JsonUtils.OBJECT_MAPPER, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        retriever.close();
+    }
+
+    @Test
+    void updateCredentials_SeveralUpdates_WritesLatestOnce() {
+        // Given
+        retriever.updateCredentials(credentials("token-1"));
+        retriever.updateCredentials(credentials("token-2"));
+        retriever.updateCredentials(credentials("token-3"));
+        verify(delegate, never()).updateCredentials(any());
+
+        // When
+        retriever.flush();
+
+        // Then
+        ArgumentCaptor<AppCredentials> written = ArgumentCaptor.forClass(AppCredentials.class);
+        verify(delegate, times(1)).updateCredentials(written.capture());
+        assertEquals("token-3", written.getValue().getZohoCredentials().getAccessToken());
+    }
+
+    @Test
+    void readCredentials_PendingUpdate_ReturnsPendingCredentials() throws Exception {
+        // Given
+        retriever.updateCredentials(credentials("token-new"));
+
+        // When
+        AppCredentials read = retriever.readCredentials();
+
+        // Then
+        assertEquals("token-new", read.getZohoCredentials().getAccessToken());
+        verify(delegate, never()).readCredentials();
+    }
+
+    @Test
+    void flush_UnchangedCredentials_SkipsWrite() throws Exception {
+        // Given
+        when(delegate.readCredentials()).thenReturn(credentials("token-1"));
+        retriever.readCredentials();
+        retriever.updateCredentials(credentials("token-1"));
+
+        // When
+        retriever.flush();
+
+        // Then
+        verify(delegate, never()).updateCredentials(any());
+    }
+
+    @Test
+    void flush_WriteFails_KeepsUpdatePending() {
+        // Given
+        doThrow(new RuntimeException("ParameterStore unavailable")).doNothing()
+                .when(delegate).updateCredentials(any());
+        retriever.updateCredentials(credentials("token-1"));
+
+        // When
+        retriever.flush();
+        retriever.flush();
+
+        // Then
+        verify(delegate, times(2)).updateCredentials(any());
+    }
+
+    @Test
+    void close_PendingUpdate_WritesIt() {
+        // Given
+        retriever.updateCredentials(credentials("token-1"));
+
+        // When
+        retriever.close();
+
+        // Then
+        verify(delegate, times(1)).updateCredentials(any());
+    }
+
+    private static AppCredentials credentials(String zohoAccessToken) {
+        AppCredentials.ZohoCredentials zohoCredentials = new AppCredentials.ZohoCredentials();
+        zohoCredentials.setAccessToken(zohoAccessToken);
+        zohoCredentials.setAccessTokenExpiry(Instant.parse("2025-01-14T13:00:00Z"));
+        return new AppCredentials(null, null, zohoCredentials);
+    }
+}